@@ -0,0 +1,72 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission Configuration
+ *
+ * 실행 컨테이너 동시 사용량(admission) 제한 설정을 관리합니다.
+ * 컨테이너를 임대하기 전에 전체 예산(컨테이너 수, 메모리 합계, CPU Quota 합계)과
+ * 사용자/언어별 한도를 확인하여, 한 수업의 제출 폭주가 호스트를 과할당하지 않도록 합니다.
+ * (과할당 시 호스트 OOM으로 컨테이너가 종료되어 잘못된 MLE 판정이 발생)
+ *
+ * 주요 기능:
+ * - 제한 활성화 여부
+ * - 전체 동시 컨테이너 수, 메모리 합계(MB), CPU 합계(코어) 상한
+ * - 사용자별/언어별 동시 컨테이너 수 상한 (0 = 제한 없음)
+ * - 예산이 부족할 때 최대 대기 시간
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.admission")
+@Getter
+@Setter
+public class AdmissionConfig {
+
+    /**
+     * 동시 사용량 제한 활성화 여부
+     * - 기본값: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * 전체 동시 임대 컨테이너 수 상한
+     * - 기본값: 10개
+     */
+    private int maxContainers = 10;
+
+    /**
+     * 임대 컨테이너 메모리 제한(memoryLimit) 합계 상한 (MB)
+     * - 기본값: 4096MB
+     */
+    private long maxMemoryMb = 4096;
+
+    /**
+     * 임대 컨테이너 CPU Quota 합계 상한 (코어 단위, 100000 quota = 1코어)
+     * - 기본값: 50코어 (기본 시간 제한 5초 = 5코어 Quota 기준 10개)
+     */
+    private double maxCpuCores = 50;
+
+    /**
+     * 사용자별 동시 임대 컨테이너 수 상한
+     * - 비회원 제출(사용자 없음)에는 적용하지 않음 (전체 예산만 적용)
+     * - 병렬 채점의 형제 컨테이너도 같은 사용자로 계산되므로, 설정 시 grading.parallelism 이상으로 잡아야 병렬도가 유지됨
+     * - 기본값: 0 (제한 없음)
+     */
+    private int perUserMaxContainers = 0;
+
+    /**
+     * 언어별 동시 임대 컨테이너 수 상한
+     * - 기본값: 0 (제한 없음)
+     */
+    private int perLanguageMaxContainers = 0;
+
+    /**
+     * 예산이 부족할 때 최대 대기 시간 (밀리초)
+     * - 초과 시 AdmissionTimeoutException
+     * - 기본값: 30초
+     */
+    private long waitTimeout = 30000;
+}
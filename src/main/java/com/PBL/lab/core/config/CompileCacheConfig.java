@@ -0,0 +1,48 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compile Cache Configuration
+ *
+ * 컴파일 결과물 캐시 설정을 관리합니다.
+ * 동일한 소스/언어/컴파일러 옵션/이미지 조합의 재제출 시 컴파일을 건너뛰기 위해
+ * 컴파일 후 /tmp/judge 내용을 로컬 디스크에 tar 아카이브로 저장합니다.
+ *
+ * 주요 기능:
+ * - 캐시 활성화 여부
+ * - 저장 디렉토리
+ * - LRU 제거 기준 (최대 항목 수, 최대 전체 크기)
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.compile-cache")
+@Getter
+@Setter
+public class CompileCacheConfig {
+
+    /**
+     * 컴파일 캐시 활성화 여부
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시 저장 디렉토리
+     * - 비어 있으면 {java.io.tmpdir}/judge0/compile-cache 사용
+     */
+    private String directory = "";
+
+    /**
+     * 최대 캐시 항목 수
+     * - 초과 시 가장 오래 사용되지 않은 항목부터 제거 (LRU)
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * 최대 캐시 전체 크기 (MB)
+     * - 초과 시 가장 오래 사용되지 않은 항목부터 제거 (LRU)
+     */
+    private long maxSizeMb = 512;
+}
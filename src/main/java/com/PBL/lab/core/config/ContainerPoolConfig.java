@@ -0,0 +1,65 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Container Pool Configuration
+ *
+ * 실행 컨테이너 풀(warm pool) 설정을 관리합니다.
+ * 언어 이미지와 리소스 프로파일(메모리/CPU/프로세스/네트워크) 조합마다
+ * 미리 시작된 컨테이너를 유지하여 제출마다 발생하던 create/start/remove 비용을 제거합니다.
+ *
+ * 주요 기능:
+ * - 풀 활성화 여부 제어
+ * - 키(이미지 + 리소스 프로파일)별 최소/최대 유휴 컨테이너 수
+ * - 유휴 컨테이너 만료 시간 및 컨테이너당 최대 재사용 횟수
+ * - 백그라운드 헬스 체크/보충 주기
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.container-pool")
+@Getter
+@Setter
+public class ContainerPoolConfig {
+
+    /**
+     * 컨테이너 풀 활성화 여부
+     * - true: 실행 후 컨테이너를 초기화(/tmp/judge 정리)하여 재사용 (기본값)
+     * - false: 기존과 같이 실행마다 새 컨테이너를 생성하고 제거
+     */
+    private boolean enabled = true;
+
+    /**
+     * 키별 최소 유휴 컨테이너 수
+     * - 백그라운드 보충 작업이 이 수만큼 미리 시작된 컨테이너를 유지
+     * - 최근 maxIdleTime 동안 사용된 키에 대해서만 보충
+     */
+    private int minSize = 2;
+
+    /**
+     * 키별 최대 유휴 컨테이너 수
+     * - 반환 시 유휴 컨테이너가 이 수 이상이면 재사용하지 않고 제거
+     */
+    private int maxSize = 10;
+
+    /**
+     * 유휴 컨테이너 최대 보관 시간 (밀리초)
+     * - 이 시간 동안 사용되지 않은 유휴 컨테이너는 제거
+     * - 기본값: 5분
+     */
+    private long maxIdleTime = 300000;
+
+    /**
+     * 컨테이너당 최대 재사용 횟수
+     * - 이 횟수를 넘긴 컨테이너는 반환 시 제거 (장기 실행으로 인한 상태 누적 방지)
+     */
+    private int maxUses = 100;
+
+    /**
+     * 헬스 체크 및 보충 주기 (밀리초)
+     * - 기본값: 30초
+     */
+    private long healthCheckInterval = 30000;
+}
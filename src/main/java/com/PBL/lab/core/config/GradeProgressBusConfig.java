@@ -0,0 +1,48 @@
+package com.PBL.lab.core.config;
+
+import com.PBL.lab.grade.service.GradeProgressBus;
+import com.PBL.lab.grade.service.InMemoryGradeProgressBus;
+import com.PBL.lab.grade.service.PostgresGradeProgressBus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 채점 진행 이벤트 버스 설정
+ *
+ * 채점(GradeJob)을 실행하는 노드와 클라이언트가 SSE/WebSocket으로 연결된 노드가 달라도
+ * 진행상황이 전달되도록 진행 이벤트를 노드 간에 전달하는 버스를 선택합니다.
+ *
+ * 버스 모드 (judge0.progress-bus.type):
+ * - postgres (기본값): PostgreSQL LISTEN/NOTIFY로 모든 노드에 전달 (여러 레플리카)
+ * - memory: 같은 노드 안에서만 전달 (단일 노드 개발/테스트용)
+ */
+@Configuration
+@Slf4j
+public class GradeProgressBusConfig {
+
+    @Value("${judge0.progress-bus.type:postgres}")
+    private String type; // 버스 모드 (postgres | memory)
+
+    @Value("${judge0.progress-bus.channel:grade_progress}")
+    private String channel; // NOTIFY 채널 이름
+
+    @Value("${judge0.progress-bus.poll-timeout:500}")
+    private int pollTimeout; // LISTEN 알림 대기 시간 (밀리초)
+
+    @Bean
+    public GradeProgressBus gradeProgressBus(DataSource dataSource, ObjectMapper objectMapper) {
+        if ("memory".equalsIgnoreCase(type)) {
+            log.warn("채점 진행 이벤트 메모리 버스 사용 - 다른 노드에서 실행된 채점의 진행상황은 전달되지 않습니다");
+            return new InMemoryGradeProgressBus();
+        } else if ("postgres".equalsIgnoreCase(type)) {
+            log.info("채점 진행 이벤트 PostgreSQL LISTEN/NOTIFY 버스 사용 - channel: {}", channel);
+            return new PostgresGradeProgressBus(dataSource, objectMapper, channel, pollTimeout);
+        }
+        throw new IllegalStateException("Unknown judge0.progress-bus.type: " + type + " (expected postgres or memory)");
+    }
+}
@@ -0,0 +1,78 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grading Configuration
+ *
+ * 채점(Grade) 실행 방식 설정을 관리합니다.
+ *
+ * 주요 기능:
+ * - 배치 모드: 모든 테스트케이스를 하나의 아카이브로 전송하고 컨테이너 내부 하네스가 순차 실행
+ * - 테스트케이스별 실행 시간 제한
+ * - 병렬 실행: 컴파일 결과물을 형제 컨테이너에 복제하여 테스트케이스를 분산 실행
+ * - 상주 러너(hot) 모드: 인터프리터/JVM을 한 번만 기동하고 테스트케이스마다 격리 실행
+ * - 채점 모드: 첫 실패 시 중단(fail-fast) 또는 전체 테스트케이스 실행(run-all, 부분 점수)
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.grading")
+@Getter
+@Setter
+public class GradingConfig {
+
+    /**
+     * 배치 모드 사용 여부
+     * - true: 테스트케이스 전체를 1회 전송 + 1회 하네스 실행 (첫 실패 시 즉시 중단) (기본값)
+     * - false: 테스트케이스마다 개별 exec 실행
+     */
+    private boolean batchMode = true;
+
+    /**
+     * 테스트케이스별 실행 시간 제한 (초)
+     * - 하네스가 각 테스트케이스를 timeout으로 감싸는 시간
+     * - 기본값: 30초 (개별 실행 스크립트와 동일)
+     */
+    private int caseTimeLimitSeconds = 30;
+
+    /**
+     * 채점 1건당 병렬 실행 컨테이너 수 (기본 컨테이너 포함)
+     * - 1: 병렬 실행 비활성화 (기본값)
+     * - N: 형제 컨테이너 N-1개를 풀에서 획득하여 테스트케이스를 분산 실행 (순서 보장 fail-fast 유지)
+     */
+    private int parallelism = 1;
+
+    /**
+     * 병렬 실행을 적용할 최소 테스트케이스 수
+     * - 테스트케이스가 적으면 형제 컨테이너 준비 비용이 더 크므로 배치/순차 실행 사용
+     */
+    private int parallelMinTestCases = 8;
+
+    /**
+     * 상주 러너(hot) 모드 사용 여부 (배치 모드 전용)
+     * - true: Python은 인터프리터를 하네스 실행 동안 1회만 기동하고 케이스마다
+     *   fork한 자식 프로세스로 실행 (HotRunnerSupport, 그 외 언어는 기존 방식)
+     * - 러너 기동/응답 실패 시 남은 케이스는 기존 방식으로 실행
+     * - 기본값: false
+     */
+    private boolean hotMode = false;
+
+    /**
+     * 채점 중간 진행 상태를 DB에 기록하는 최소 간격 (밀리초)
+     * - 테스트케이스 진행 중에는 메시지만 이 간격 이상 지났을 때 갱신하고, Grade 전체는 종료 시 1회 저장
+     * - 실시간 진행률은 SSE(GradeProgressService)로 메모리에서 전송
+     * - 기본값: 1000
+     */
+    private long progressFlushInterval = 1000;
+
+    /**
+     * 첫 실패 테스트케이스에서 채점 중단 여부
+     * - true: 첫 실패 케이스에서 중단, 점수는 그때까지 통과한 케이스 수 기준 (기본값)
+     * - false: 전체 테스트케이스 실행 (run-all) - 케이스별 판정과 부분 점수 제공
+     *   (배치 모드는 하네스가 실패 후에도 계속 실행, 병렬 모드는 실패 후에도 분배 계속)
+     * - 두 모드 모두 실행된 케이스별 결과를 grade_case_results에 1회 배치 저장
+     */
+    private boolean failFast = true;
+}
@@ -0,0 +1,45 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Image Warmup Configuration
+ *
+ * 실행 이미지 사전 준비(pre-pull) 설정을 관리합니다.
+ * 기동 시 활성화된 언어의 Docker 이미지를 미리 받아 두고 이미지 ID를 고정하여,
+ * 배포 직후 첫 제출이 이미지 pull을 기다리며 멈추지 않도록 합니다.
+ *
+ * 주요 기능:
+ * - 사전 준비 활성화 여부
+ * - 동시 pull 수
+ * - 새로 활성화된 언어 이미지를 확인하는 재확인 주기
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.image-warmup")
+@Getter
+@Setter
+public class ImageWarmupConfig {
+
+    /**
+     * 이미지 사전 준비 활성화 여부
+     * - false: 기존과 같이 첫 컨테이너 생성 시 이미지 확인/pull
+     * - 기본값: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * 동시에 pull할 이미지 수
+     * - 기본값: 2
+     */
+    private int parallelism = 2;
+
+    /**
+     * 활성화된 언어 이미지 재확인 주기 (밀리초)
+     * - 기동 후 새로 활성화된 언어나 수동으로 삭제된 이미지를 다시 준비
+     * - 기본값: 10분 (0 = 기동 시 1회만)
+     */
+    private long refreshInterval = 600000;
+}
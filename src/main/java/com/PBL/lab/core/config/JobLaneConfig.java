@@ -0,0 +1,120 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Job Lane Configuration
+ *
+ * 백그라운드 작업의 레인(lane)별 실행 한도와 우선순위를 관리합니다.
+ * JobRunr(OSS)는 이름 있는 큐를 지원하지 않아 모든 작업이 하나의 워커 풀을 공유하므로,
+ * 작업 종류마다 레인을 나누어 노드별 동시 실행 수를 따로 제한하고
+ * 한도를 넘은 작업은 워커를 점유하지 않고 잠시 뒤로 미룹니다(defer).
+ *
+ * 주요 기능:
+ * - 레인별 최대 동시 실행 수 (독립된 워커 예산)
+ * - 레인별 우선순위: 더 높은 우선순위 레인에 밀린 작업이 있으면 낮은 레인은 예약분만 실행
+ * - 미룬 작업의 재시도 지연 시간
+ *
+ * 기본 레인:
+ * - grading: 채점 (GradeExecutionService)
+ * - submissions: 코드 실행 제출 (SubmissionExecutionService)
+ * - warmup: 추천 결과 워밍업 (RecommendationWarmupJob)
+ *
+ * org.jobrunr.background-job-server.worker-count는 레인 최대 동시 실행 수 합계 이상으로 설정해야
+ * 각 레인이 한도까지 동시에 실행될 수 있습니다.
+ *
+ * 미룸(defer) 비용:
+ * - 미룰 때마다 JobRunr 저장소에 예약 작업이 1건 새로 기록됨 (SQL 저장소면 jobrunr_jobs 행 insert)
+ * - 예약 작업은 poll-interval-in-seconds 주기로 꺼내지므로 실제 재시도 간격은 폴링 간격 이상
+ *   (defer-delay가 폴링 간격보다 짧아도 더 빨라지지 않음)
+ * - 같은 작업이 계속 미뤄지면 재시도 지연을 2배씩 늘려 max-defer-delay까지 제한 (포화 시 DB 기록 빈도 제한)
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.job-lanes")
+@Getter
+@Setter
+public class JobLaneConfig {
+
+    /**
+     * 레인 제한 사용 여부
+     * - false: 모든 작업이 JobRunr 워커 수 안에서 제한 없이 실행 (기존 방식)
+     * - 기본값: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * 레인별 설정 (키: 레인 이름)
+     * - 설정되지 않은 레인은 제한 없이 실행
+     */
+    private Map<String, Lane> lanes = defaultLanes();
+
+    /**
+     * 미룬 작업의 최대 재시도 지연 시간 (밀리초)
+     * - 연속으로 미뤄질 때마다 defer-delay를 2배씩 늘리되 이 값을 넘지 않음
+     * - 기본값: 30초
+     */
+    private long maxDeferDelay = 30000;
+
+    /**
+     * 상위 레인 적체(backlog) 신호 유지 시간 (밀리초, 재시도 지연 시간에 더함)
+     * - 작업을 미루면 "재시도 지연 + 이 시간" 동안 하위 레인이 reserved까지만 실행
+     * - 미룬 작업이 다른 노드에서 실행되거나 취소/실패/재시작으로 사라져도 이 시간이 지나면 자동 해제
+     * - JobRunr 폴링 간격(poll-interval-in-seconds)보다 길어야 재시도 사이에 신호가 끊기지 않음
+     * - 기본값: 10초
+     */
+    private long backlogGrace = 10000;
+
+    private static Map<String, Lane> defaultLanes() {
+        Map<String, Lane> lanes = new LinkedHashMap<>();
+        lanes.put("grading", new Lane(4, 4, 0, 500));
+        lanes.put("submissions", new Lane(3, 1, 1, 1000));
+        lanes.put("warmup", new Lane(1, 0, 2, 5000));
+        return lanes;
+    }
+
+    /**
+     * 레인 설정
+     */
+    @Getter
+    @Setter
+    public static class Lane {
+
+        /**
+         * 노드당 최대 동시 실행 수
+         */
+        private int maxConcurrent = 2;
+
+        /**
+         * 상위 우선순위 레인이 밀려 있어도 보장되는 동시 실행 수
+         * - maxConcurrent와 같으면 상위 레인의 영향을 받지 않음
+         */
+        private int reserved = 0;
+
+        /**
+         * 우선순위 (작을수록 높음)
+         */
+        private int priority = 0;
+
+        /**
+         * 한도 초과로 미룬 작업의 재시도 지연 시간 (밀리초)
+         * - 실제 재시도는 JobRunr 폴링 간격 이후에 일어남
+         */
+        private long deferDelay = 1000;
+
+        public Lane() {
+        }
+
+        public Lane(int maxConcurrent, int reserved, int priority, long deferDelay) {
+            this.maxConcurrent = maxConcurrent;
+            this.reserved = reserved;
+            this.priority = priority;
+            this.deferDelay = deferDelay;
+        }
+    }
+}
@@ -1,30 +1,40 @@
 package com.PBL.lab.core.config;
 
 import lombok.extern.slf4j.Slf4j;
-import org.jobrunr.configuration.JobRunr;
+import org.jobrunr.jobs.mappers.JobMapper;
 import org.jobrunr.storage.InMemoryStorageProvider;
+import org.jobrunr.storage.StorageProvider;
+import org.jobrunr.storage.sql.common.DefaultSqlStorageProvider.DatabaseOptions;
+import org.jobrunr.storage.sql.common.SqlStorageProviderFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
 
 /**
  * JobRunr 설정 클래스
- * 
+ *
  * 이 클래스는 Judge0 시스템에서 백그라운드 작업 처리를 위한 JobRunr 라이브러리를 설정합니다.
  * JobRunr는 안정적이고 신뢰할 수 있는 백그라운드 작업 처리를 제공하는 Java 라이브러리입니다.
- * 
+ *
  * 주요 설정 내용:
- * - InMemoryStorageProvider: 작업 정보를 메모리에 저장 (개발/테스트 환경용)
- * - BackgroundJobServer: 백그라운드 작업을 처리하는 워커 서버 활성화
- * - 자동 초기화: Spring Boot 애플리케이션 시작 시 JobRunr 자동 초기화
- * 
+ * - StorageProvider: 작업 저장소 선택 (judge0.jobrunr.storage)
+ * - BackgroundJobServer / JobScheduler: jobrunr-spring-boot-3-starter 자동 설정 사용
+ *   (org.jobrunr.background-job-server.*)
+ *
+ * 저장소 모드:
+ * - sql (기본값): 애플리케이션 PostgreSQL 데이터소스에 작업 저장 (jobrunr_* 테이블 자동 생성)
+ *   재시작해도 대기 중인 작업이 유지되고, 여러 레플리카의 워커가 같은 큐를 나눠 처리
+ * - memory: 작업 정보를 메모리에 저장 (단일 노드 개발/테스트용, 재시작 시 대기 작업 손실)
+ *
  * JobRunr의 장점:
  * - 분산 환경에서 안정적인 작업 처리
  * - 작업 실패 시 자동 재시도 기능
  * - 작업 상태 추적 및 모니터링
  * - 데이터베이스 기반 작업 영속성
  * - 웹 대시보드를 통한 작업 모니터링
- * 
+ *
  * 사용 목적:
  * - 코드 실행 작업의 비동기 처리
  * - 대용량 코드 제출의 큐 관리
@@ -35,50 +45,40 @@ import org.springframework.context.annotation.Primary;
 @Slf4j
 public class JobRunrConfig {
 
+    @Value("${judge0.jobrunr.storage:sql}")
+    private String storage; // 작업 저장소 모드 (sql | memory)
+
+    @Value("${judge0.jobrunr.table-prefix:}")
+    private String tablePrefix; // SQL 저장소 테이블 접두사 (스키마 지정 시 "schema." 형태)
+
     /**
-     * JobRunr 라이브러리 초기화 Bean
-     * 
-     * 이 메서드는 Spring Boot 애플리케이션 시작 시 JobRunr를 초기화합니다.
-     * @Primary 어노테이션으로 다른 JobRunr 설정보다 우선순위를 가집니다.
-     * 
-     * 초기화 과정:
-     * 1. InMemoryStorageProvider 설정: 작업 정보를 메모리에 저장
-     * 2. BackgroundJobServer 활성화: 백그라운드 작업 처리 워커 시작
-     * 3. JobRunr 초기화: 모든 설정을 적용하고 서버 시작
-     * 
-     * 스토리지 옵션:
-     * - InMemoryStorageProvider: 개발/테스트 환경용 (애플리케이션 재시작 시 데이터 손실)
-     * - SQLStorageProvider: 운영 환경용 (데이터베이스에 작업 정보 영구 저장)
-     * 
-     * 워커 서버 기능:
-     * - 등록된 작업들을 큐에서 순차적으로 처리
-     * - 작업 실패 시 자동 재시도 (기본 3회)
-     * - 작업 상태 실시간 업데이트
-     * - 시스템 리소스 모니터링
-     * 
-     * @return String 초기화 완료 메시지 (Bean 이름으로 사용)
+     * JobRunr 작업 저장소 Bean
+     *
+     * 스타터의 기본 저장소 자동 설정보다 우선하며, 스타터가 만드는 JobScheduler와
+     * BackgroundJobServer가 이 저장소를 사용합니다.
+     *
+     * SQL 저장소:
+     * - 작업은 DB 행으로 저장되고 워커는 DB를 폴링하여 작업을 가져감
+     * - 여러 노드가 같은 작업을 처리하지 않도록 JobRunr가 낙관적 잠금(버전)으로 상태 전이를 보장
+     * - 종료된 노드가 처리하던 작업은 다른 노드가 감지하여 다시 실행 (orphaned job)
+     *
+     * @param jobMapper 작업 직렬화 매퍼 (스타터 자동 설정)
+     * @param dataSource 애플리케이션 데이터소스
+     * @return StorageProvider 작업 저장소
      */
     @Bean
-    @Primary
-    public String initializeJobRunr() {
-        log.info("JobRunr 백그라운드 작업 서버 초기화 시작");
-
-        // JobRunr 라이브러리 설정 및 초기화
-        // 이 과정에서 백그라운드 작업 처리에 필요한 모든 컴포넌트가 설정됨
-        JobRunr.configure()
-                // 메모리 기반 스토리지 프로바이더 설정
-                // 개발/테스트 환경에서는 메모리 저장소가 충분하지만,
-                // 운영 환경에서는 SQLStorageProvider 사용 권장
-                .useStorageProvider(new InMemoryStorageProvider())
-                // 백그라운드 작업 처리 워커 서버 활성화
-                // 이 설정으로 JobRunr가 등록된 작업들을 자동으로 처리함
-                .useBackgroundJobServer()
-                // 모든 설정을 적용하고 JobRunr 서버 초기화 및 시작
-                .initialize();
-
-        log.info("JobRunr 백그라운드 작업 서버 초기화 완료");
-
-        // Spring Bean 이름으로 사용될 문자열 반환
-        return "JobRunr-Initialized";
+    public StorageProvider storageProvider(JobMapper jobMapper, DataSource dataSource) {
+        StorageProvider storageProvider;
+        if ("memory".equalsIgnoreCase(storage)) {
+            storageProvider = new InMemoryStorageProvider();
+            log.warn("JobRunr 메모리 저장소 사용 - 재시작 시 대기 중인 작업이 손실되며 단일 노드에서만 처리됩니다");
+        } else if ("sql".equalsIgnoreCase(storage)) {
+            storageProvider = SqlStorageProviderFactory.using(dataSource, tablePrefix, DatabaseOptions.CREATE);
+            log.info("JobRunr SQL 저장소 사용 - 테이블 접두사: '{}'", tablePrefix);
+        } else {
+            throw new IllegalStateException("Unknown judge0.jobrunr.storage: " + storage + " (expected sql or memory)");
+        }
+        storageProvider.setJobMapper(jobMapper);
+        return storageProvider;
     }
 }
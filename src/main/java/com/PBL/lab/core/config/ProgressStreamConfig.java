@@ -0,0 +1,53 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress Stream Configuration
+ *
+ * 채점 진행상황 스트림(SSE /grade/{token}/progress, WebSocket /grade/{token}/progress/ws)의
+ * 연결 수와 수명을 관리합니다. 닫히지 않은 브라우저 탭이 서블릿 비동기 컨텍스트와 소켓을
+ * 계속 점유하지 않도록 하트비트로 끊어진 연결을 감지하고, 오래 이벤트가 없는 연결을 정리합니다.
+ *
+ * 주요 기능:
+ * - 노드당 최대 동시 스트림 수 (초과 시 SSE는 503, WebSocket은 1013으로 거절)
+ * - 하트비트 전송 (프록시 유휴 타임아웃 방지 및 끊어진 연결 감지)
+ * - 유휴 스트림 정리 및 최대 연결 시간
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.progress-stream")
+@Getter
+@Setter
+public class ProgressStreamConfig {
+
+    /**
+     * 노드당 최대 동시 스트림 수
+     * - 기본값: 1000
+     */
+    private int maxConnections = 1000;
+
+    /**
+     * 하트비트 전송 주기 (밀리초)
+     * - SSE는 주석 이벤트, WebSocket은 ping 전송
+     * - 기본값: 15초
+     */
+    private long heartbeatInterval = 15000;
+
+    /**
+     * 유휴 타임아웃 (밀리초)
+     * - 이 시간 동안 진행 이벤트가 없으면 스트림을 닫음 (하트비트는 제외)
+     * - 같은 시간 동안 갱신되지 않은 진행 상태 캐시도 제거
+     * - 기본값: 5분
+     */
+    private long idleTimeout = 300000;
+
+    /**
+     * 스트림 최대 연결 시간 (밀리초)
+     * - SSE Emitter 타임아웃으로 사용
+     * - 기본값: 1시간
+     */
+    private long maxDuration = 3600000;
+}
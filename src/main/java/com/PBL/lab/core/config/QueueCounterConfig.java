@@ -0,0 +1,38 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queue Counter Configuration
+ *
+ * 제출/채점 대기열 크기(QUEUE 상태 수)를 요청마다 DB COUNT로 세지 않고
+ * 메모리 카운터로 관리하는 설정입니다. 카운터는 QUEUE 진입/이탈 시 증감하고,
+ * 주기적으로 DB 카운트와 맞춰(reconcile) 다른 노드에서 일어난 변화와 누락된 전이를 반영합니다.
+ *
+ * 주요 기능:
+ * - 대기열 초과 검사(judge0.queue.max-size)를 O(1)로 처리
+ * - 공유 DB 기준 재조정으로 여러 레플리카 간 카운트 수렴
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.queue-counter")
+@Getter
+@Setter
+public class QueueCounterConfig {
+
+    /**
+     * 메모리 카운터 사용 여부
+     * - false: 조회할 때마다 DB COUNT 실행 (기존 방식)
+     * - 기본값: true
+     */
+    private boolean enabled = true;
+
+    /**
+     * DB 카운트와 재조정하는 주기 (밀리초)
+     * - 다른 노드의 제출이 이 노드의 카운터에 반영되기까지 걸리는 최대 시간
+     * - 기본값: 5초
+     */
+    private long reconcileInterval = 5000;
+}
@@ -0,0 +1,44 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Result Cache Configuration
+ *
+ * 실행 결과 캐시 설정을 관리합니다.
+ * 같은 소스/언어/제약조건/입력으로 방금 실행한 요청(IDE "실행" 버튼 반복 클릭 등)은
+ * Docker를 거치지 않고 이전 ExecutionResult를 그대로 반환합니다.
+ *
+ * 주요 기능:
+ * - 캐시 활성화 여부 (기본 비활성화, opt-in)
+ * - 항목 유효 시간 (TTL)
+ * - 최대 항목 수 (LRU 제거)
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.result-cache")
+@Getter
+@Setter
+public class ResultCacheConfig {
+
+    /**
+     * 실행 결과 캐시 활성화 여부
+     * - 기본값: false (opt-in)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 캐시 항목 유효 시간 (초)
+     * - 기본값: 60초
+     */
+    private long ttlSeconds = 60;
+
+    /**
+     * 최대 캐시 항목 수
+     * - 초과 시 가장 오래 사용되지 않은 항목부터 제거 (LRU)
+     * - 기본값: 500개
+     */
+    private int maxEntries = 500;
+}
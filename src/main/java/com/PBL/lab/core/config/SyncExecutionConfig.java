@@ -0,0 +1,48 @@
+package com.PBL.lab.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sync Execution Configuration
+ *
+ * wait=true 동기 제출의 실행 방식을 관리합니다.
+ * 동기 실행은 컴파일+실행이 끝날 때까지 걸리므로 Tomcat 요청 스레드에서 실행하지 않고,
+ * 전용 실행기에서 실행한 뒤 비동기 응답(DeferredResult)으로 결과를 돌려줍니다.
+ * 대기 중인 클라이언트는 요청 스레드를 점유하지 않아 나머지 API가 영향을 받지 않습니다.
+ *
+ * 주요 기능:
+ * - 동시 동기 실행 수 제한
+ * - 실행 대기열 크기 제한 (초과 시 비동기 실행으로 전환하여 토큰 반환)
+ * - 응답 대기 시간 제한 (초과 시 토큰만 반환하고 실행은 계속)
+ */
+@Component
+@ConfigurationProperties(prefix = "judge0.sync-execution")
+@Getter
+@Setter
+public class SyncExecutionConfig {
+
+    /**
+     * 동시에 실행할 수 있는 동기 제출 수
+     * - 실행 컨테이너 수(judge0.admission.max-containers)보다 크게 잡을 필요는 없음
+     * - 기본값: 10
+     */
+    private int maxConcurrent = 10;
+
+    /**
+     * 실행을 기다릴 수 있는 동기 제출 수
+     * - 가득 차면 새 wait=true 요청은 JobRunr 비동기 실행으로 전환하고 201과 토큰을 바로 반환
+     *   (결과는 GET /submissions/{token}으로 조회)
+     * - 기본값: 500
+     */
+    private int maxWaiting = 500;
+
+    /**
+     * 동기 응답 대기 시간 (밀리초)
+     * - 초과 시 토큰과 안내 메시지를 반환하며, 실행은 계속되어 결과는 GET /submissions/{token}으로 조회
+     * - 기본값: 60초
+     */
+    private long responseTimeout = 60000;
+}
@@ -0,0 +1,240 @@
+package com.PBL.lab.core.docker;
+
+import com.PBL.lab.core.config.AdmissionConfig;
+import com.PBL.lab.core.dto.CodeExecutionRequest;
+import com.PBL.lab.core.entity.Language;
+import com.PBL.lab.core.exception.AdmissionTimeoutException;
+import com.github.dockerjava.api.model.HostConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 컨테이너 동시 사용량 제어기 (Admission Controller)
+ *
+ * 컨테이너 임대(ContainerPool.acquire) 전에 예산을 확보하고, 반환/폐기 시 예산을 돌려받습니다.
+ * JobRunr worker-count와 별개로 호스트에 실제로 할당되는 자원을 제한합니다.
+ *
+ * 예산:
+ * - 전체 동시 임대 컨테이너 수
+ * - 메모리 합계 (컨테이너 HostConfig.memory 기준)
+ * - CPU Quota 합계 (컨테이너 HostConfig.cpuQuota 기준)
+ * - 사용자별 / 언어별 동시 임대 컨테이너 수 (한 사용자·언어의 폭주가 전체 예산을 독점하지 않도록, 선택 적용)
+ *
+ * 동작 방식:
+ * - 예산이 부족하면 반환 알림을 기다리며 최대 대기 시간까지 재시도, 초과 시 AdmissionTimeoutException
+ * - 단일 요청이 전체 예산보다 크면 다른 임대가 없을 때만 허용 (영구 대기 방지)
+ * - 유휴(warm) 컨테이너는 대기 프로세스만 실행하므로 예산에 포함하지 않음
+ * - 사용량/대기 시간/거절 횟수를 Micrometer로 노출 (judge0.admission.*)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionController {
+
+    private static final long CPU_QUOTA_PER_CORE = 100000;
+    private static final String ANONYMOUS_USER = "anonymous";
+
+    private final AdmissionConfig admissionConfig;
+    private final ContainerManager containerManager;
+    private final MeterRegistry meterRegistry;
+
+    // 현재 임대 중인 예산 합계 (this 모니터로 보호)
+    private int activeContainers;
+    private long committedMemoryBytes;
+    private long committedCpuQuota;
+    private final Map<String, Integer> activeByUser = new HashMap<>();
+    private final Map<String, Integer> activeByLanguage = new HashMap<>();
+
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void initialize() {
+        waitTimer = Timer.builder("judge0.admission.wait")
+                .description("Time spent waiting for container admission")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("judge0.admission.rejected")
+                .description("Container admissions that timed out")
+                .register(meterRegistry);
+        Gauge.builder("judge0.admission.containers", this, controller -> controller.getActiveContainers())
+                .register(meterRegistry);
+        Gauge.builder("judge0.admission.memory.bytes", this, controller -> controller.getCommittedMemoryBytes())
+                .register(meterRegistry);
+        Gauge.builder("judge0.admission.cpu.quota", this, controller -> controller.getCommittedCpuQuota())
+                .register(meterRegistry);
+
+        log.info("[ADMISSION] 초기화 완료 - 활성화: {}, 최대 컨테이너: {}, 최대 메모리: {}MB, 최대 CPU: {}코어, 사용자별: {}, 언어별: {}",
+                admissionConfig.isEnabled(), admissionConfig.getMaxContainers(), admissionConfig.getMaxMemoryMb(),
+                admissionConfig.getMaxCpuCores(), admissionConfig.getPerUserMaxContainers(),
+                admissionConfig.getPerLanguageMaxContainers());
+    }
+
+    /**
+     * 예산 확보 (설정된 최대 대기 시간까지 대기)
+     */
+    public Grant acquire(Language language, CodeExecutionRequest request) {
+        return acquire(language, request, admissionConfig.getWaitTimeout());
+    }
+
+    /**
+     * 예산 확보
+     *
+     * @param language      언어 정보 (언어별 한도)
+     * @param request       실행 요청 (리소스 제한, 사용자 ID)
+     * @param waitMillis    최대 대기 시간 (밀리초, 0이면 즉시 판단)
+     * @return 확보한 예산 (반환 시 release에 전달)
+     * @throws AdmissionTimeoutException 대기 시간 안에 예산을 확보하지 못한 경우
+     */
+    public Grant acquire(Language language, CodeExecutionRequest request, long waitMillis) {
+        HostConfig hostConfig = containerManager.buildHostConfig(request);
+        Grant grant = new Grant(
+                request.getUserId() != null ? String.valueOf(request.getUserId()) : ANONYMOUS_USER,
+                language != null ? String.valueOf(language.getId()) : "unknown",
+                hostConfig.getMemory() != null ? hostConfig.getMemory() : 0,
+                hostConfig.getCpuQuota() != null ? hostConfig.getCpuQuota() : 0);
+
+        if (!admissionConfig.isEnabled()) {
+            return grant;
+        }
+
+        long startNanos = System.nanoTime();
+        long deadline = System.currentTimeMillis() + Math.max(0, waitMillis);
+        synchronized (this) {
+            while (!fits(grant)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    rejectedCounter.increment();
+                    waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    log.warn("[ADMISSION] 예산 확보 실패 - 사용자: {}, 언어: {}, 사용 중: {}개/{}MB/{}코어",
+                            grant.getUserKey(), grant.getLanguageKey(), activeContainers,
+                            committedMemoryBytes / 1024 / 1024, (double) committedCpuQuota / CPU_QUOTA_PER_CORE);
+                    throw new AdmissionTimeoutException("Execution capacity not available within " + waitMillis + "ms");
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AdmissionTimeoutException("Interrupted while waiting for execution capacity");
+                }
+            }
+
+            activeContainers++;
+            committedMemoryBytes += grant.getMemoryBytes();
+            committedCpuQuota += grant.getCpuQuota();
+            activeByUser.merge(grant.getUserKey(), 1, Integer::sum);
+            activeByLanguage.merge(grant.getLanguageKey(), 1, Integer::sum);
+            grant.admitted = true;
+        }
+
+        waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        log.debug("[ADMISSION] 예산 확보 - 사용자: {}, 언어: {}, 메모리: {}MB",
+                grant.getUserKey(), grant.getLanguageKey(), grant.getMemoryBytes() / 1024 / 1024);
+        return grant;
+    }
+
+    /**
+     * 예산 반환 (중복 호출 안전)
+     */
+    public void release(Grant grant) {
+        if (grant == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!grant.admitted) {
+                return;
+            }
+            grant.admitted = false;
+            activeContainers--;
+            committedMemoryBytes -= grant.getMemoryBytes();
+            committedCpuQuota -= grant.getCpuQuota();
+            activeByUser.computeIfPresent(grant.getUserKey(), (k, v) -> v > 1 ? v - 1 : null);
+            activeByLanguage.computeIfPresent(grant.getLanguageKey(), (k, v) -> v > 1 ? v - 1 : null);
+            notifyAll();
+        }
+    }
+
+    public synchronized int getActiveContainers() {
+        return activeContainers;
+    }
+
+    public synchronized long getCommittedMemoryBytes() {
+        return committedMemoryBytes;
+    }
+
+    public synchronized long getCommittedCpuQuota() {
+        return committedCpuQuota;
+    }
+
+    /**
+     * 사용량 통계 조회 - HealthController 모니터링용
+     */
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", admissionConfig.isEnabled());
+        stats.put("containers", activeContainers);
+        stats.put("max_containers", admissionConfig.getMaxContainers());
+        stats.put("memory_mb", committedMemoryBytes / 1024 / 1024);
+        stats.put("max_memory_mb", admissionConfig.getMaxMemoryMb());
+        stats.put("cpu_cores", (double) committedCpuQuota / CPU_QUOTA_PER_CORE);
+        stats.put("max_cpu_cores", admissionConfig.getMaxCpuCores());
+        stats.put("users", activeByUser.size());
+        stats.put("rejected", (long) rejectedCounter.count());
+        return stats;
+    }
+
+    /**
+     * 예산 확인 - 호출 측이 this 모니터를 보유해야 함
+     */
+    private boolean fits(Grant grant) {
+        // 비회원 제출은 한 사용자로 묶이지 않도록 사용자별 한도를 적용하지 않음 (전체 예산만 적용)
+        int perUser = admissionConfig.getPerUserMaxContainers();
+        if (perUser > 0 && !ANONYMOUS_USER.equals(grant.getUserKey())
+                && activeByUser.getOrDefault(grant.getUserKey(), 0) >= perUser) {
+            return false;
+        }
+        int perLanguage = admissionConfig.getPerLanguageMaxContainers();
+        if (perLanguage > 0 && activeByLanguage.getOrDefault(grant.getLanguageKey(), 0) >= perLanguage) {
+            return false;
+        }
+        // 단일 요청이 전체 예산보다 커도 다른 임대가 없으면 허용
+        if (activeContainers == 0) {
+            return true;
+        }
+        long maxMemoryBytes = admissionConfig.getMaxMemoryMb() * 1024 * 1024;
+        long maxCpuQuota = (long) (admissionConfig.getMaxCpuCores() * CPU_QUOTA_PER_CORE);
+        return activeContainers < admissionConfig.getMaxContainers()
+                && committedMemoryBytes + grant.getMemoryBytes() <= maxMemoryBytes
+                && committedCpuQuota + grant.getCpuQuota() <= maxCpuQuota;
+    }
+
+    /**
+     * 확보한 예산 - 컨테이너 반환 시 돌려받을 사용량
+     */
+    @Getter
+    public static class Grant {
+        private final String userKey;
+        private final String languageKey;
+        private final long memoryBytes;
+        private final long cpuQuota;
+        private boolean admitted;
+
+        private Grant(String userKey, String languageKey, long memoryBytes, long cpuQuota) {
+            this.userKey = userKey;
+            this.languageKey = languageKey;
+            this.memoryBytes = memoryBytes;
+            this.cpuQuota = cpuQuota;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.PBL.lab.core.docker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 크기 제한이 있는 exec 출력 수집 버퍼
+ *
+ * Docker exec 스트림 프레임을 받는 대로 기록하되, 제한 바이트를 넘는 부분은 버리고
+ * 전체 수신 바이트 수만 집계합니다. 무한 출력 프로그램이 있어도 작업당 힙 사용량이
+ * 제한 바이트를 넘지 않습니다.
+ */
+public class BoundedOutputSink extends OutputStream {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final long limit;
+    private long totalBytes;
+
+    /**
+     * @param limit 보관할 최대 바이트 수
+     */
+    public BoundedOutputSink(long limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        totalBytes++;
+        if (buffer.size() < limit) {
+            buffer.write(b);
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        totalBytes += len;
+        int room = (int) Math.min(len, limit - buffer.size());
+        if (room > 0) {
+            buffer.write(b, off, room);
+        }
+    }
+
+    /** 보관된 바이트 수 */
+    public synchronized int size() {
+        return buffer.size();
+    }
+
+    /** 제한과 관계없이 수신한 전체 바이트 수 */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** 제한을 넘어 버려진 바이트가 있는지 여부 */
+    public synchronized boolean isTruncated() {
+        return totalBytes > buffer.size();
+    }
+
+    public synchronized byte[] toByteArray() {
+        return buffer.toByteArray();
+    }
+
+    public synchronized String toString(Charset charset) {
+        return buffer.toString(charset);
+    }
+}
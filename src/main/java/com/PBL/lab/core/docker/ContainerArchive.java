@@ -0,0 +1,95 @@
+package com.PBL.lab.core.docker;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 컨테이너 전송용 tar 아카이브 빌더
+ *
+ * 여러 파일을 하나의 tar 아카이브로 묶어 단일 exec(stdin 스트림)로 /tmp/judge에 전송하기 위해 사용합니다.
+ * tmpfs 마운트 경로에는 Docker copy API(putArchive)가 적용되지 않으므로
+ * 컨테이너 내부 tar로 압축을 해제합니다. (ContainerManager.uploadArchive 참고)
+ *
+ * 경로는 /tmp/judge 기준 상대 경로입니다. (예: "Main.java", "cases/0/in")
+ */
+public class ContainerArchive {
+
+    private static final int FILE_MODE = 0100644;
+    private static final int EXECUTABLE_MODE = 0100755;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * 텍스트 파일 추가 (UTF-8)
+     */
+    public ContainerArchive addFile(String path, String content, boolean executable) {
+        byte[] bytes = (content != null ? content : "").getBytes(StandardCharsets.UTF_8);
+        return addFile(path, bytes, executable);
+    }
+
+    /**
+     * 바이너리 파일 추가
+     */
+    public ContainerArchive addFile(String path, byte[] content, boolean executable) {
+        entries.put(path, new Entry(content != null ? content : new byte[0], executable));
+        return this;
+    }
+
+    /**
+     * 기존 tar 아카이브의 일반 파일을 모두 추가 (실행 권한 유지)
+     * - 캐시된 컴파일 결과물 등을 다른 파일과 함께 1회 전송하기 위해 사용
+     * - 같은 경로를 나중에 추가하면 덮어씀
+     */
+    public ContainerArchive addArchive(byte[] archive) throws IOException {
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(new ByteArrayInputStream(archive))) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null) {
+                if (!entry.isFile()) {
+                    continue;
+                }
+                String path = entry.getName().startsWith("./") ? entry.getName().substring(2) : entry.getName();
+                addFile(path, tar.readAllBytes(), (entry.getMode() & 0111) != 0);
+            }
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * tar 아카이브 바이트 생성
+     */
+    public byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(buffer)) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            for (Map.Entry<String, Entry> file : entries.entrySet()) {
+                TarArchiveEntry entry = new TarArchiveEntry(file.getKey());
+                entry.setSize(file.getValue().content.length);
+                entry.setMode(file.getValue().executable ? EXECUTABLE_MODE : FILE_MODE);
+                tar.putArchiveEntry(entry);
+                tar.write(file.getValue().content);
+                tar.closeArchiveEntry();
+            }
+            tar.finish();
+        }
+        return buffer.toByteArray();
+    }
+
+    private record Entry(byte[] content, boolean executable) {
+    }
+}
@@ -9,6 +9,8 @@ import com.github.dockerjava.api.model.Statistics;
 import com.PBL.lab.core.dto.ContainerConfig;
 import com.PBL.lab.core.dto.ContainerStats;
 import com.PBL.lab.core.dto.ExecResult;
+import com.PBL.lab.core.dto.FramedExecResult;
+import com.PBL.lab.core.dto.RawExecResult;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,13 +21,14 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 컨테이너 관리자 - Docker 컨테이너 생명주기 및 운영 관리
  * 
  * 목적:
  * - Docker 컨테이너의 생성, 시작, 중지, 제거 등 전체 생명주기 관리
- * - 컨테이너 풀링 없이 각 실행마다 새로운 컨테이너 생성 (단순화된 버전)
+ * - 실행 컨테이너 생성/시작 (재사용은 ContainerPool이 담당)
  * - 컨테이너 로그, 통계, 상태 모니터링 제공
  * 
  * 핵심 기능:
@@ -45,9 +48,25 @@ import java.util.concurrent.TimeUnit;
 public class ContainerManager {
     private final DockerClient dockerClient; // Docker 클라이언트 (컨테이너 조작용)
 
-    // 활성 컨테이너 추적 - 정리 목적으로만 사용 (컨테이너 풀링 아님)
+    // 활성 컨테이너 추적 - 정리 목적으로만 사용 (풀링은 ContainerPool에서 관리)
     private final ConcurrentHashMap<String, ContainerInfo> activeContainers = new ConcurrentHashMap<>();
 
+    // 이미지 이름 → (이미지 ID, 조회 시각) 메모이제이션 (컴파일 캐시 키 생성, 컨테이너 이미지 고정용)
+    // 항목이 있으면 로컬에 존재하는 것이 확인된 이미지 (ImageWarmupService가 기동 시 미리 채움)
+    private final ConcurrentHashMap<String, ImageDigest> imageDigests = new ConcurrentHashMap<>();
+
+    // 이미지 ID 메모이제이션 유지 시간 (태그가 새 이미지로 갱신되는 경우 반영)
+    private static final long IMAGE_DIGEST_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    // exec 출력 수집 기본 상한 (컴파일 출력, 스크립트 출력 등 - 초과분은 버림)
+    public static final long DEFAULT_CAPTURE_LIMIT_BYTES = 16L * 1024 * 1024;
+
+    // 작업 디렉토리 아카이브 수집 상한 (/tmp/judge tmpfs 크기 100MB + tar 헤더 여유)
+    private static final long ARCHIVE_CAPTURE_LIMIT_BYTES = 128L * 1024 * 1024;
+
+    // 실행 컨테이너 이름 접두사 (고아 컨테이너 정리 시 식별에 사용)
+    private static final String EXECUTION_CONTAINER_PREFIX = "judge0-exec-";
+
     /**
      * 새로운 컨테이너 생성 - Judge0 코드 실행을 위한 Docker 컨테이너 생성
      * 
@@ -133,8 +152,9 @@ public class ContainerManager {
      * 컨테이너 제거 - 컨테이너를 완전히 삭제하고 리소스 정리
      *
      * @param containerId 제거할 컨테이너 ID
+     * @return 제거 성공 여부 (이미 없는 컨테이너도 성공으로 간주)
      */
-    public void removeContainer(String containerId) {
+    public boolean removeContainer(String containerId) {
         log.info("[CONTAINER-LIFECYCLE] 컨테이너 제거 시작 - ID: {}", containerId);
         try {
             dockerClient.removeContainerCmd(containerId)
@@ -144,9 +164,16 @@ public class ContainerManager {
 
             activeContainers.remove(containerId); // 추적 목록에서도 제거
             log.info("[CONTAINER-LIFECYCLE] 컨테이너 제거 완료 - ID: {}", containerId);
+            return true;
+
+        } catch (com.github.dockerjava.api.exception.NotFoundException e) {
+            activeContainers.remove(containerId);
+            log.debug("[CONTAINER-LIFECYCLE] 이미 제거된 컨테이너 - ID: {}", containerId);
+            return true;
 
         } catch (Exception e) {
             log.error("[CONTAINER-LIFECYCLE] 컨테이너 제거 실패 - ID: {}", containerId, e);
+            return false;
         }
     }
 
@@ -249,7 +276,8 @@ public class ContainerManager {
 
     /**
      * 고아 컨테이너 정리 - 오래된 Judge0 실행 컨테이너들을 자동으로 정리
-     * 시스템 리소스 절약을 위해 1시간 이상 된 컨테이너를 제거
+     * 시스템 리소스 절약을 위해 1시간 이상 된 실행 컨테이너(judge0-exec-*)를 제거
+     * 기동 시 ContainerPool이 호출하여 이전 프로세스가 남긴 컨테이너를 정리합니다.
      */
     public void cleanupOrphanedContainers() {
         try {
@@ -259,7 +287,7 @@ public class ContainerManager {
             for (Container container : containers) {
                 // Judge0 실행 컨테이너인지 확인
                 if (container.getNames() != null &&
-                        container.getNames()[0].contains("judge0-execution-")) {
+                        container.getNames()[0].contains(EXECUTION_CONTAINER_PREFIX)) {
 
                     long containerAge = currentTime - (container.getCreated() * 1000);
                     if (containerAge > TimeUnit.HOURS.toMillis(1)) { // 1시간 이상 된 컨테이너
@@ -303,6 +331,16 @@ public class ContainerManager {
         }
     }
 
+    /**
+     * 이미지 ID 메모이제이션 항목
+     */
+    @Data
+    @AllArgsConstructor
+    private static class ImageDigest {
+        private final String id; // 이미지 ID
+        private final long resolvedAt; // 조회 시각
+    }
+
     /**
      * 로그 결과 콜백 클래스 - Docker 컨테이너 로그 수집을 위한 비동기 콜백
      */
@@ -365,7 +403,7 @@ public class ContainerManager {
      * 언어별 실행 컨테이너 생성 (편의 메서드)
      *
      * 이 메서드는 Language 엔티티의 정보를 사용하여 적절한 Docker 이미지로
-     * 실행 컨테이너를 생성합니다. 풀링 없이 매 실행마다 새로운 컨테이너를 생성합니다.
+     * 실행 컨테이너를 생성합니다. 재사용 여부는 ContainerPool이 결정합니다.
      *
      * @param language 언어 정보 (이미지 이름 포함)
      * @param workDir  작업 디렉토리 경로
@@ -375,9 +413,9 @@ public class ContainerManager {
     public String createExecutionContainer(Language language, Path workDir, CodeExecutionRequest request)
             throws java.io.IOException {
         String image = language.getEffectiveDockerImage();
-        String containerName = "judge0-exec-" + java.util.UUID.randomUUID().toString().substring(0, 8);
+        String containerName = EXECUTION_CONTAINER_PREFIX + java.util.UUID.randomUUID().toString().substring(0, 8);
 
-        // 이미지 확인 및 자동 pull
+        // 이미지 확인 및 자동 pull (워밍업된 이미지는 inspect 생략)
         ensureImageExists(image);
 
         // tmpfs 사용으로 호스트 디렉토리 생성 불필요
@@ -389,8 +427,10 @@ public class ContainerManager {
         com.github.dockerjava.api.model.HostConfig hostConfig = buildHostConfig(request);
 
         // 컨테이너 설정 빌드
+        // 이미지 ID로 고정하여 태그가 갱신되어도 컴파일 캐시 키(이미지 ID)와 실제 실행 이미지가 일치하도록 함
+        String imageId = getImageDigest(image);
         ContainerConfig config = ContainerConfig.builder()
-                .image(image)
+                .image(imageId.startsWith("sha256:") ? imageId : image)
                 .name(containerName)
                 .workingDir("/tmp/judge")
                 .user(user)
@@ -431,7 +471,7 @@ public class ContainerManager {
      * @param request 코드 실행 요청 정보
      * @return 네트워크 모드 ("none" 또는 "bridge")
      */
-    private String determineNetworkMode(CodeExecutionRequest request) {
+    String determineNetworkMode(CodeExecutionRequest request) {
         if (request.getEnableNetwork() != null && request.getEnableNetwork()) {
             return "bridge"; // 네트워크 허용
         }
@@ -450,7 +490,7 @@ public class ContainerManager {
      * @param request 코드 실행 요청 정보
      * @return HostConfig 객체
      */
-    private com.github.dockerjava.api.model.HostConfig buildHostConfig(
+    com.github.dockerjava.api.model.HostConfig buildHostConfig(
             CodeExecutionRequest request) {
 
         com.PBL.lab.core.dto.SecurityConstraints constraints = request.getConstraints();
@@ -493,17 +533,71 @@ public class ContainerManager {
                 .withSecurityOpts(List.of("seccomp=unconfined", "apparmor=unconfined"));
     }
 
+    /**
+     * 이미지 digest 조회 (메모이제이션)
+     *
+     * 로컬 이미지 ID(sha256:...)를 반환합니다. 같은 태그라도 이미지가 갱신되면 ID가 바뀌므로
+     * 컴파일 결과물 캐시 키에 포함하여 다른 컴파일러 버전의 결과물 재사용을 방지합니다.
+     * 조회 결과는 일정 시간 메모이제이션하여 매 요청마다 inspect 호출이 발생하지 않도록 합니다.
+     *
+     * @param image Docker 이미지 이름
+     * @return 이미지 ID (조회 실패 시 이미지 이름)
+     */
+    public String getImageDigest(String image) {
+        long now = System.currentTimeMillis();
+        ImageDigest cached = imageDigests.get(image);
+        if (cached != null && now - cached.getResolvedAt() < IMAGE_DIGEST_TTL_MS) {
+            return cached.getId();
+        }
+
+        try {
+            String id = dockerClient.inspectImageCmd(image).exec().getId();
+            imageDigests.put(image, new ImageDigest(id, now));
+            return id;
+        } catch (Exception e) {
+            log.warn("이미지 digest 조회 실패 - 이미지 이름 사용: {}", image);
+            imageDigests.remove(image); // 다음 컨테이너 생성 시 존재 확인(pull)부터 다시 수행
+            return image;
+        }
+    }
+
+    /**
+     * 이미지 준비 - 로컬에 없으면 pull하고 이미지 ID를 조회하여 고정
+     *
+     * 기동 시 ImageWarmupService가 활성화된 언어 이미지마다 호출하여
+     * 첫 제출이 이미지 pull을 기다리지 않도록 합니다.
+     *
+     * @param image Docker 이미지 이름
+     * @return 이미지 ID (sha256:...)
+     * @throws RuntimeException pull 실패 시
+     */
+    public String prepareImage(String image) {
+        ensureImageExists(image);
+        return getImageDigest(image);
+    }
+
+    /**
+     * 로컬 존재가 확인된(메모이제이션된) 이미지인지 여부
+     */
+    public boolean isImageReady(String image) {
+        return imageDigests.containsKey(image);
+    }
+
     /**
      * 이미지 존재 확인 및 자동 pull
      *
      * 로컬에 이미지가 없으면 Docker Hub에서 자동으로 pull합니다.
-     * 이미지가 이미 존재하면 pull을 건너뜁니다.
+     * 이미 확인된 이미지(메모이제이션 항목 존재)는 inspect 호출도 생략합니다.
      *
      * @param image Docker 이미지 이름 (예: judge0/compilers, python:3.11-slim)
      */
     private void ensureImageExists(String image) {
+        if (imageDigests.containsKey(image)) {
+            return;
+        }
         try {
-            dockerClient.inspectImageCmd(image).exec();
+            String id = dockerClient.inspectImageCmd(image).exec().getId();
+            imageDigests.put(image, new ImageDigest(id, System.currentTimeMillis()));
             log.debug("Image already exists: {}", image);
         } catch (Exception e) {
             log.info("Pulling image: {}", image);
@@ -511,6 +605,7 @@ public class ContainerManager {
                 dockerClient.pullImageCmd(image)
                         .exec(new com.github.dockerjava.api.command.PullImageResultCallback())
                         .awaitCompletion();
+                imageDigests.remove(image); // 새로 받은 이미지의 ID를 다시 조회하도록 무효화
                 log.info("Image pulled successfully: {}", image);
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
@@ -550,8 +645,8 @@ public class ContainerManager {
 
         log.debug("[EXECUTE] Exec 명령 생성 완료 - Exec ID: {}", execResponse.getId());
 
-        java.io.ByteArrayOutputStream stdout = new java.io.ByteArrayOutputStream();
-        java.io.ByteArrayOutputStream stderr = new java.io.ByteArrayOutputStream();
+        BoundedOutputSink stdout = new BoundedOutputSink(DEFAULT_CAPTURE_LIMIT_BYTES);
+        BoundedOutputSink stderr = new BoundedOutputSink(DEFAULT_CAPTURE_LIMIT_BYTES);
 
         log.debug("[EXECUTE] 스크립트 실행 시작 - Exec ID: {}", execResponse.getId());
         boolean completed = dockerClient.execStartCmd(execResponse.getId())
@@ -565,11 +660,12 @@ public class ContainerManager {
         Integer exitCode = inspectExec.getExitCodeLong() != null ? inspectExec.getExitCodeLong().intValue() : null;
 
         log.info("[EXECUTE] 스크립트 실행 완료 - 종료 코드: {}, 완료 여부: {}, stdout 크기: {}, stderr 크기: {}",
-                exitCode, completed, stdout.size(), stderr.size());
+                exitCode, completed, stdout.getTotalBytes(), stderr.getTotalBytes());
+        warnIfTruncated("[EXECUTE]", stdout, stderr);
 
         return new ExecResult(
-                stdout.toString(java.nio.charset.StandardCharsets.UTF_8.name()),
-                stderr.toString(java.nio.charset.StandardCharsets.UTF_8.name()),
+                stdout.toString(java.nio.charset.StandardCharsets.UTF_8),
+                stderr.toString(java.nio.charset.StandardCharsets.UTF_8),
                 exitCode,
                 completed);
     }
@@ -609,8 +705,8 @@ public class ContainerManager {
                 .withAttachStdin(stdin != null && !stdin.isEmpty())
                 .exec();
 
-        java.io.ByteArrayOutputStream stdout = new java.io.ByteArrayOutputStream();
-        java.io.ByteArrayOutputStream stderr = new java.io.ByteArrayOutputStream();
+        BoundedOutputSink stdout = new BoundedOutputSink(DEFAULT_CAPTURE_LIMIT_BYTES);
+        BoundedOutputSink stderr = new BoundedOutputSink(DEFAULT_CAPTURE_LIMIT_BYTES);
 
         // stdin 스트림 준비
         try (java.io.InputStream stdinStream = stdin != null && !stdin.isEmpty()
@@ -635,24 +731,292 @@ public class ContainerManager {
                     : null;
 
             log.info("[EXEC-STDIN] 명령 실행 완료 - 종료 코드: {}, 완료 여부: {}, stdout: {} bytes, stderr: {} bytes",
-                    exitCode, completed, stdout.size(), stderr.size());
+                    exitCode, completed, stdout.getTotalBytes(), stderr.getTotalBytes());
+            warnIfTruncated("[EXEC-STDIN]", stdout, stderr);
 
             return new ExecResult(
-                    stdout.toString(java.nio.charset.StandardCharsets.UTF_8.name()),
-                    stderr.toString(java.nio.charset.StandardCharsets.UTF_8.name()),
+                    stdout.toString(java.nio.charset.StandardCharsets.UTF_8),
+                    stderr.toString(java.nio.charset.StandardCharsets.UTF_8),
                     exitCode,
                     completed);
         }
     }
 
+    /**
+     * 프레임 응답 방식의 단일 exec 실행
+     *
+     * stdin 데이터를 attach된 exec 스트림으로 전달하고, 러너 스크립트가 stdout으로 돌려주는
+     * "헤더 + stdout + stderr" 프레임을 해석합니다.
+     * 종료 코드는 프레임 헤더에 포함되므로 inspectExec 호출이 필요 없습니다.
+     * (exec 생성 + 시작 2회의 API 호출로 테스트케이스 1개 실행)
+     *
+     * 러너가 출력 상한을 지키지 않더라도 프레임 수집량은 captureLimitBytes로 제한되며,
+     * 잘린 경우 outputTruncated가 설정됩니다.
+     *
+     * @param containerId       실행할 컨테이너 ID
+     * @param command           러너 명령어 (stdin 바이트 수를 인자로 받아 정확히 그만큼만 읽어야 함)
+     * @param stdin             표준 입력 데이터 (null 가능)
+     * @param timeoutSeconds    최대 실행 시간 (초)
+     * @param captureLimitBytes 프레임 수집 상한 (바이트)
+     * @return FramedExecResult 해석된 실행 결과
+     * @throws Exception 실행 중 오류 발생 시
+     */
+    public FramedExecResult executeFramed(String containerId, String[] command,
+                                          byte[] stdin, long timeoutSeconds, long captureLimitBytes) throws Exception {
+        RawExecResult raw = executeRaw(containerId, command, stdin, timeoutSeconds, captureLimitBytes);
+
+        FramedExecResult result = parseFrame(raw.getStdout(), raw.isCompleted());
+        result.setRunnerError(raw.getStderr());
+        if (raw.isTruncated()) {
+            result.setOutputTruncated(true);
+        }
+
+        log.debug("[EXEC-FRAMED] 실행 완료 - 종료 코드: {}, 완료 여부: {}, 프레임: {} bytes",
+                result.getExitCode(), raw.isCompleted(), raw.getStdout().length);
+        return result;
+    }
+
+    /**
+     * stdin 바이트를 전달하고 stdout을 원본 바이트로 수집하는 exec 실행
+     *
+     * 종료 코드 조회(inspectExec)를 하지 않으므로, 호출 측 스크립트가
+     * 필요한 상태 정보를 stdout에 직접 기록해야 합니다.
+     *
+     * @param containerId    실행할 컨테이너 ID
+     * @param command        실행할 명령어 (stdin 사용 시 정확한 바이트 수만 읽어야 함)
+     * @param stdin          표준 입력 데이터 (null 가능)
+     * @param timeoutSeconds 최대 실행 시간 (초)
+     * @return RawExecResult stdout 원본 바이트, stderr, 완료 여부
+     * @throws Exception 실행 중 오류 발생 시
+     */
+    public RawExecResult executeRaw(String containerId, String[] command,
+                                    byte[] stdin, long timeoutSeconds) throws Exception {
+        return executeRaw(containerId, command, stdin, timeoutSeconds, DEFAULT_CAPTURE_LIMIT_BYTES);
+    }
+
+    /**
+     * stdin 바이트를 전달하고 stdout을 원본 바이트로 수집하는 exec 실행 (수집 상한 지정)
+     *
+     * stdout/stderr는 각각 captureLimitBytes까지만 보관하고 나머지는 버립니다.
+     *
+     * @param containerId       실행할 컨테이너 ID
+     * @param command           실행할 명령어 (stdin 사용 시 정확한 바이트 수만 읽어야 함)
+     * @param stdin             표준 입력 데이터 (null 가능)
+     * @param timeoutSeconds    최대 실행 시간 (초)
+     * @param captureLimitBytes stdout/stderr 각각의 수집 상한 (바이트)
+     * @return RawExecResult stdout 원본 바이트, stderr, 완료 여부, 잘림 여부
+     * @throws Exception 실행 중 오류 발생 시
+     */
+    public RawExecResult executeRaw(String containerId, String[] command,
+                                    byte[] stdin, long timeoutSeconds, long captureLimitBytes) throws Exception {
+        return executeRaw(containerId, command, stdin, timeoutSeconds, captureLimitBytes, null);
+    }
+
+    /**
+     * stdin 바이트를 전달하고 stdout을 수신하는 대로 리스너에 전달하는 exec 실행
+     *
+     * stdoutListener가 있으면 stdout 프레임은 버퍼에 모으지 않고 도착 순서대로 리스너에 전달하며
+     * (RawExecResult의 stdout은 비어 있음), stderr는 captureLimitBytes까지 수집합니다.
+     * 리스너는 Docker 스트림 콜백 스레드에서 호출됩니다.
+     *
+     * 타임아웃으로 반환되어도 컨테이너 안의 프로세스는 계속 실행될 수 있으므로,
+     * 같은 컨테이너를 이어서 사용하려면 호출 측이 프로세스를 종료해야 합니다.
+     *
+     * @param containerId       실행할 컨테이너 ID
+     * @param command           실행할 명령어
+     * @param stdin             표준 입력 데이터 (null 가능)
+     * @param timeoutSeconds    최대 실행 시간 (초)
+     * @param captureLimitBytes stdout/stderr 각각의 수집 상한 (바이트)
+     * @param stdoutListener    stdout 프레임 수신 리스너 (null이면 버퍼에 수집)
+     * @return RawExecResult stdout 원본 바이트, stderr, 완료 여부, 잘림 여부
+     * @throws Exception 실행 중 오류 발생 시
+     */
+    public RawExecResult executeRaw(String containerId, String[] command, byte[] stdin, long timeoutSeconds,
+                                    long captureLimitBytes, Consumer<byte[]> stdoutListener) throws Exception {
+        String osName = System.getProperty("os.name", "linux").toLowerCase();
+        String user = osName.contains("windows") ? "root" : "nobody:nogroup";
+        boolean hasStdin = stdin != null && stdin.length > 0;
+
+        com.github.dockerjava.api.command.ExecCreateCmdResponse execResponse = dockerClient
+                .execCreateCmd(containerId)
+                .withCmd(command)
+                .withWorkingDir("/tmp/judge")
+                .withUser(user)
+                .withAttachStdout(true)
+                .withAttachStderr(true)
+                .withAttachStdin(hasStdin)
+                .exec();
+
+        BoundedOutputSink stdout = new BoundedOutputSink(captureLimitBytes);
+        BoundedOutputSink stderr = new BoundedOutputSink(captureLimitBytes);
+
+        com.github.dockerjava.api.command.ExecStartCmd startCmd = dockerClient
+                .execStartCmd(execResponse.getId())
+                .withDetach(false);
+        if (hasStdin) {
+            // 스크립트가 head -c로 정확한 바이트 수만 읽으므로 stdin EOF 전달 여부와 무관하게 동작
+            startCmd.withStdIn(new java.io.ByteArrayInputStream(stdin));
+        }
+
+        boolean completed = startCmd.exec(new ExecStartResultCallback(stdout, stderr, stdoutListener))
+                .awaitCompletion(timeoutSeconds, TimeUnit.SECONDS);
+
+        warnIfTruncated("[EXEC-RAW]", stdout, stderr);
+        return new RawExecResult(
+                stdout.toByteArray(),
+                stderr.toString(java.nio.charset.StandardCharsets.UTF_8),
+                completed,
+                stdout.isTruncated());
+    }
+
+    /**
+     * tar 아카이브를 컨테이너의 /tmp/judge에 전송 (단일 exec)
+     *
+     * tmpfs 마운트 경로에는 Docker copy API가 적용되지 않으므로
+     * 아카이브를 exec stdin으로 스트리밍하고 컨테이너 내부 tar로 압축을 해제합니다.
+     *
+     * @param containerId 대상 컨테이너 ID
+     * @param archive     tar 아카이브 바이트 (ContainerArchive로 생성)
+     * @throws Exception 전송 또는 압축 해제 실패 시
+     */
+    public void uploadArchive(String containerId, byte[] archive) throws Exception {
+        String extractCmd = "head -c " + archive.length + " | tar -x -C /tmp/judge && echo OK";
+        RawExecResult result = executeRaw(containerId, new String[]{"sh", "-c", extractCmd}, archive, 30);
+
+        String output = new String(result.getStdout(), java.nio.charset.StandardCharsets.UTF_8).trim();
+        if (!result.isCompleted() || !"OK".equals(output)) {
+            log.error("[UPLOAD] 아카이브 전송 실패 - 크기: {} bytes, stderr: {}", archive.length, result.getStderr());
+            throw new RuntimeException("Failed to upload archive to container: " + result.getStderr());
+        }
+        log.debug("[UPLOAD] 아카이브 전송 완료 - 크기: {} bytes", archive.length);
+    }
+
+    /**
+     * 컨테이너의 /tmp/judge 내용을 tar 아카이브로 수집 (단일 exec)
+     *
+     * 컴파일 결과물을 다른 컨테이너로 복제할 때 uploadArchive와 함께 사용합니다.
+     *
+     * @param containerId 대상 컨테이너 ID
+     * @return tar 아카이브 바이트
+     * @throws Exception 수집 실패 시
+     */
+    public byte[] downloadWorkDirectory(String containerId) throws Exception {
+        RawExecResult result = executeRaw(containerId, new String[]{"tar", "-c", "-C", "/tmp/judge", "."},
+                null, 30, ARCHIVE_CAPTURE_LIMIT_BYTES);
+        if (!result.isCompleted() || result.isTruncated() || result.getStdout().length == 0) {
+            log.error("[DOWNLOAD] 작업 디렉토리 수집 실패 - 컨테이너 ID: {}, stderr: {}", containerId, result.getStderr());
+            throw new RuntimeException("Failed to archive work directory: " + result.getStderr());
+        }
+        log.debug("[DOWNLOAD] 작업 디렉토리 수집 완료 - 크기: {} bytes", result.getStdout().length);
+        return result.getStdout();
+    }
+
+    /**
+     * 러너 프레임 해석 - "exit stdoutLen stderrLen elapsedNs [stdoutSize stderrSize [cpuMs memKb]]\n" 헤더 뒤에 stdout, stderr 바이트가 이어짐
+     * - stdoutSize/stderrSize: 러너가 출력 상한으로 자르기 전의 원래 크기 (길이보다 크면 잘린 것)
+     * - cpuMs/memKb: 프로그램의 CPU 시간(user+sys)과 최대 RSS (음수면 측정 불가)
+     */
+    private FramedExecResult parseFrame(byte[] frame, boolean completed) {
+        java.nio.charset.Charset utf8 = java.nio.charset.StandardCharsets.UTF_8;
+
+        int headerEnd = -1;
+        for (int i = 0; i < frame.length; i++) {
+            if (frame[i] == '\n') {
+                headerEnd = i;
+                break;
+            }
+        }
+
+        String[] header = headerEnd >= 0
+                ? new String(frame, 0, headerEnd, utf8).trim().split("\\s+")
+                : new String[0];
+        if (header.length < 3) {
+            // 헤더가 없으면 (러너가 중간에 종료된 경우 등) 받은 내용을 그대로 stdout으로 취급
+            log.warn("[EXEC-FRAMED] 프레임 헤더 해석 실패 - 완료 여부: {}, 크기: {} bytes", completed, frame.length);
+            return FramedExecResult.builder()
+                    .stdout(new String(frame, utf8))
+                    .stderr("")
+                    .completed(completed)
+                    .build();
+        }
+
+        Integer exitCode = parseIntOrNull(header[0]);
+        int stdoutLength = Math.max(0, java.util.Optional.ofNullable(parseIntOrNull(header[1])).orElse(0));
+        int stderrLength = Math.max(0, java.util.Optional.ofNullable(parseIntOrNull(header[2])).orElse(0));
+        Long elapsedNanos = null;
+        if (header.length > 3) {
+            try {
+                elapsedNanos = Long.parseLong(header[3]);
+            } catch (NumberFormatException ignored) {}
+        }
+
+        boolean truncated = false;
+        if (header.length > 5) {
+            Long stdoutSize = parseLongOrNull(header[4]);
+            Long stderrSize = parseLongOrNull(header[5]);
+            truncated = (stdoutSize != null && stdoutSize > stdoutLength)
+                    || (stderrSize != null && stderrSize > stderrLength);
+        }
+
+        // 자원 사용량 (음수 = 측정 불가)
+        Long cpuTimeMillis = header.length > 6 ? parseLongOrNull(header[6]) : null;
+        Long peakMemoryKb = header.length > 7 ? parseLongOrNull(header[7]) : null;
+        if (cpuTimeMillis != null && cpuTimeMillis < 0) {
+            cpuTimeMillis = null;
+        }
+        if (peakMemoryKb != null && peakMemoryKb < 0) {
+            peakMemoryKb = null;
+        }
+
+        int stdoutStart = Math.min(headerEnd + 1, frame.length);
+        int stdoutEnd = Math.min(stdoutStart + stdoutLength, frame.length);
+        int stderrEnd = Math.min(stdoutEnd + stderrLength, frame.length);
+
+        return FramedExecResult.builder()
+                .stdout(new String(frame, stdoutStart, stdoutEnd - stdoutStart, utf8))
+                .stderr(new String(frame, stdoutEnd, stderrEnd - stdoutEnd, utf8))
+                .exitCode(exitCode)
+                .elapsedNanos(elapsedNanos)
+                .completed(completed)
+                .outputTruncated(truncated)
+                .cpuTimeMillis(cpuTimeMillis)
+                .peakMemoryKb(peakMemoryKb)
+                .build();
+    }
+
+    private Integer parseIntOrNull(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Long parseLongOrNull(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void warnIfTruncated(String prefix, BoundedOutputSink stdout, BoundedOutputSink stderr) {
+        if (stdout.isTruncated() || stderr.isTruncated()) {
+            log.warn("{} 출력 수집 상한 초과 - stdout: {}/{} bytes, stderr: {}/{} bytes 보관",
+                    prefix, stdout.size(), stdout.getTotalBytes(), stderr.size(), stderr.getTotalBytes());
+        }
+    }
+
     /**
      * 컨테이너 내부에 파일 생성
      *
      * tmpfs 볼륨을 사용할 때 호스트 파일시스템 없이
      * 컨테이너 내부에 직접 파일을 생성합니다.
+     * 단일 파일 tar 아카이브를 exec stdin으로 전송하므로 파일 크기가 명령행 길이(ARG_MAX)에 제한되지 않습니다.
+     * 여러 파일을 전송할 때는 ContainerArchive로 묶어 uploadArchive를 1회 호출하는 것이 좋습니다.
      *
      * @param containerId 대상 컨테이너 ID
-     * @param filePath    생성할 파일의 경로 (컨테이너 내부 경로)
+     * @param filePath    생성할 파일의 경로 (/tmp/judge 하위 경로)
      * @param content     파일 내용
      * @param executable  실행 권한 부여 여부
      * @throws Exception 파일 생성 실패 시
@@ -662,64 +1026,54 @@ public class ContainerManager {
         log.debug("[CREATE-FILE] 파일 생성 시작 - 경로: {}, 크기: {} bytes, 실행권한: {}",
                 filePath, content != null ? content.length() : 0, executable);
 
-        // Base64 인코딩하여 특수문자 및 개행 문제 회피 (stdin EOF 문제 해결)
-        String fileContent = content != null ? content : "";
-        String base64Content = java.util.Base64.getEncoder().encodeToString(
-                fileContent.getBytes(java.nio.charset.StandardCharsets.UTF_8)
-        );
-
-        // base64 디코딩하여 파일 생성 (stdin 사용 안 함)
-        String createCmd = "echo '" + base64Content + "' | base64 -d > " + filePath;
-        if (executable) {
-            createCmd += " && chmod +x " + filePath;
+        if (!filePath.startsWith("/tmp/judge/")) {
+            throw new IllegalArgumentException("File path must be under /tmp/judge: " + filePath);
         }
 
-        ExecResult result = executeWithStdin(
-                containerId,
-                new String[]{"sh", "-c", createCmd},
-                null,  // stdin 사용 안 함 - base64 인코딩된 문자열을 명령어 인자로 전달
-                10
-        );
-
-        if (result.hasError()) {
-            log.error("[CREATE-FILE] 파일 생성 실패 - 경로: {}, stderr: {}",
-                    filePath, result.getStderr());
-            throw new RuntimeException("Failed to create file in container: " + filePath
-                    + ", error: " + result.getStderr());
-        }
+        uploadArchive(containerId, new ContainerArchive()
+                .addFile(filePath.substring("/tmp/judge/".length()), content, executable)
+                .toByteArray());
 
         log.debug("[CREATE-FILE] 파일 생성 완료 - 경로: {}", filePath);
     }
 
     /**
-     * Exec 시작 결과 콜백 클래스 - Docker 스크립트 실행 출력 수집용
+     * Exec 시작 결과 콜백 클래스 - Docker 스크립트 실행 출력 수집용 (BoundedOutputSink로 상한 적용)
      */
     private static class ExecStartResultCallback extends
             com.github.dockerjava.api.async.ResultCallbackTemplate<ExecStartResultCallback, com.github.dockerjava.api.model.Frame> {
 
-        private final java.io.ByteArrayOutputStream stdout;
-        private final java.io.ByteArrayOutputStream stderr;
+        private final BoundedOutputSink stdout;
+        private final BoundedOutputSink stderr;
+        private final Consumer<byte[]> stdoutListener;
+
+        public ExecStartResultCallback(BoundedOutputSink stdout, BoundedOutputSink stderr) {
+            this(stdout, stderr, null);
+        }
 
-        public ExecStartResultCallback(java.io.ByteArrayOutputStream stdout, java.io.ByteArrayOutputStream stderr) {
+        public ExecStartResultCallback(BoundedOutputSink stdout, BoundedOutputSink stderr,
+                                       Consumer<byte[]> stdoutListener) {
             this.stdout = stdout;
             this.stderr = stderr;
+            this.stdoutListener = stdoutListener;
         }
 
         @Override
         public void onNext(com.github.dockerjava.api.model.Frame frame) {
-            try {
-                switch (frame.getStreamType()) {
-                    case STDOUT:
-                        stdout.write(frame.getPayload());
-                        break;
-                    case STDERR:
-                        stderr.write(frame.getPayload());
-                        break;
-                    default:
-                        break;
-                }
-            } catch (java.io.IOException e) {
-                log.warn("Failed to write frame data", e);
+            // 상한을 넘는 프레임은 버퍼에 쌓지 않고 크기만 집계
+            switch (frame.getStreamType()) {
+                case STDOUT:
+                    if (stdoutListener != null) {
+                        stdoutListener.accept(frame.getPayload());
+                    } else {
+                        stdout.write(frame.getPayload(), 0, frame.getPayload().length);
+                    }
+                    break;
+                case STDERR:
+                    stderr.write(frame.getPayload(), 0, frame.getPayload().length);
+                    break;
+                default:
+                    break;
             }
         }
 
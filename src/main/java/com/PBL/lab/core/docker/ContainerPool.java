@@ -0,0 +1,449 @@
+package com.PBL.lab.core.docker;
+
+import com.PBL.lab.core.config.ContainerPoolConfig;
+import com.PBL.lab.core.dto.CodeExecutionRequest;
+import com.PBL.lab.core.dto.ExecResult;
+import com.PBL.lab.core.entity.Language;
+import com.github.dockerjava.api.model.HostConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 컨테이너 풀 - 미리 시작된(warm) 컨테이너를 재사용
+ *
+ * 목적:
+ * - 제출마다 발생하던 컨테이너 create/start/stop/remove 비용을 실행 경로에서 제거
+ * - 언어 이미지 + 리소스 프로파일(메모리, CPU Quota, 프로세스 수, 네트워크 모드)별로 풀을 분리
+ *   (HostConfig는 컨테이너 생성 시 고정되므로 프로파일이 같은 컨테이너만 재사용 가능)
+ *
+ * 동작 방식:
+ * - acquire: 유휴 컨테이너가 있으면 즉시 반환, 없으면 새로 생성/시작
+ * - release: 컨테이너 내부 프로세스 종료, /tmp/judge(tmpfs) 초기화 및 실행 사용자 소유 파일 제거 후 유휴 목록으로 반환
+ *   (다른 사용자의 제출이 같은 컨테이너를 재사용하므로 이전 제출이 남긴 파일이 없어야 함)
+ *   초기화 실패, 최대 사용 횟수 초과, 유휴 목록 가득 참 → 컨테이너 제거
+ * - invalidate: 상태를 신뢰할 수 없는 컨테이너를 즉시 제거
+ * - acquire 전 AdmissionController로 동시 사용량 예산을 확보하고, release/invalidate 시 반환
+ * - 백그라운드 유지보수: 유휴 컨테이너 헬스 체크, 만료 컨테이너 제거, 최소 유휴 수 보충
+ *
+ * 풀이 비활성화(judge0.container-pool.enabled=false)되면 기존처럼 매 실행마다 생성/제거합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContainerPool {
+
+    // 반환된 컨테이너 초기화 스크립트
+    // - 남은 프로세스 강제 종료 (PID 1인 sleep은 네임스페이스 init이므로 종료되지 않음)
+    // - 작업 디렉토리(tmpfs)와 /dev/shm(tmpfs)에 남은 파일 제거
+    // - 컨테이너 루트 파일시스템 전체에서 실행 사용자 소유 파일 제거
+    //   (루트 파일시스템은 쓰기 가능하므로 /tmp, /var/tmp, /run/lock 등 쓰기 가능한 어느 경로에 남긴 파일도
+    //    다음 사용자의 제출이 읽지 못하도록 함, -xdev로 tmpfs·/proc 등 다른 파일시스템은 제외)
+    // - 작업 디렉토리가 비어 있고 실행 사용자 소유 파일이 남지 않아야 성공(종료 코드 0)
+    private static final String WIPE_SCRIPT =
+            "kill -9 -1 2>/dev/null; "
+                    + "uid=$(id -u); "
+                    + "find /tmp/judge -mindepth 1 -delete 2>/dev/null; "
+                    + "find /dev/shm -mindepth 1 -user \"$uid\" -delete 2>/dev/null; "
+                    + "find / -xdev -mindepth 1 ! -path /tmp/judge -user \"$uid\" -delete 2>/dev/null; "
+                    + "[ -z \"$(ls -A /tmp/judge)\" ] "
+                    + "&& [ -z \"$(find / -xdev -mindepth 1 ! -path /tmp/judge -user \"$uid\" 2>/dev/null | head -n 1)\" ]";
+
+    private static final long WIPE_TIMEOUT_SECONDS = 10;
+
+    private final ContainerManager containerManager;
+    private final ContainerPoolConfig poolConfig;
+    private final AdmissionController admissionController;
+
+    // 풀 키별 유휴 컨테이너 (LIFO: 최근 사용된 컨테이너 우선 재사용)
+    private final Map<String, ConcurrentLinkedDeque<PooledContainer>> idleContainers = new ConcurrentHashMap<>();
+
+    // 풀 키별 컨테이너 생성 템플릿 (백그라운드 보충 시 사용)
+    private final Map<String, PoolTemplate> templates = new ConcurrentHashMap<>();
+
+    // 사용 중인 컨테이너 (컨테이너 ID → 풀 컨테이너 정보)
+    private final Map<String, PooledContainer> leasedContainers = new ConcurrentHashMap<>();
+
+    // 임대 컨테이너별 확보한 동시 사용량 예산 (컨테이너 ID → 예산, 풀 비활성화 시에도 사용)
+    private final Map<String, AdmissionController.Grant> grants = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicBoolean refillScheduled = new AtomicBoolean(false);
+
+    private ScheduledExecutorService maintenanceExecutor;
+
+    @PostConstruct
+    public void initialize() {
+        maintenanceExecutor = Executors.newScheduledThreadPool(1, r -> {
+            Thread t = new Thread(r, "container-pool-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+
+        maintenanceExecutor.scheduleWithFixedDelay(
+                this::performMaintenance,
+                poolConfig.getHealthCheckInterval(),
+                poolConfig.getHealthCheckInterval(),
+                TimeUnit.MILLISECONDS
+        );
+
+        // 이전 프로세스가 정리하지 못하고 남긴 실행 컨테이너 제거 (기동을 막지 않도록 백그라운드 수행)
+        maintenanceExecutor.execute(containerManager::cleanupOrphanedContainers);
+
+        log.info("[CONTAINER-POOL] 초기화 완료 - 활성화: {}, 최소 유휴: {}, 최대 유휴: {}, 최대 사용: {}",
+                poolConfig.isEnabled(), poolConfig.getMinSize(), poolConfig.getMaxSize(), poolConfig.getMaxUses());
+    }
+
+    /**
+     * 실행 컨테이너 획득
+     *
+     * 동일한 이미지/리소스 프로파일의 유휴 컨테이너가 있으면 재사용하고,
+     * 없으면 새 컨테이너를 생성하여 시작합니다.
+     *
+     * 동시 사용량 예산이 부족하면 설정된 대기 시간(judge0.admission.wait-timeout)까지 기다립니다.
+     *
+     * @param language 언어 정보 (Docker 이미지 포함)
+     * @param request  코드 실행 요청 (리소스 제한, 사용자 ID 포함)
+     * @return 실행 중인 컨테이너 ID
+     * @throws com.PBL.lab.core.exception.AdmissionTimeoutException 대기 시간 안에 예산을 확보하지 못한 경우
+     */
+    public String acquire(Language language, CodeExecutionRequest request) throws java.io.IOException {
+        return lease(language, request, admissionController.acquire(language, request));
+    }
+
+    /**
+     * 실행 컨테이너 획득 (대기 없음)
+     *
+     * 동시 사용량 예산이 즉시 확보되지 않으면 기다리지 않고 예외를 던집니다.
+     * 병렬 채점의 형제 컨테이너처럼 없어도 진행할 수 있는 추가 컨테이너에 사용합니다.
+     *
+     * @throws com.PBL.lab.core.exception.AdmissionTimeoutException 예산이 부족한 경우
+     */
+    public String tryAcquire(Language language, CodeExecutionRequest request) throws java.io.IOException {
+        return lease(language, request, admissionController.acquire(language, request, 0));
+    }
+
+    private String lease(Language language, CodeExecutionRequest request,
+                         AdmissionController.Grant grant) throws java.io.IOException {
+        try {
+            String containerId = acquireContainer(language, request);
+            grants.put(containerId, grant);
+            return containerId;
+        } catch (java.io.IOException | RuntimeException e) {
+            admissionController.release(grant);
+            throw e;
+        }
+    }
+
+    private String acquireContainer(Language language, CodeExecutionRequest request) throws java.io.IOException {
+        if (!poolConfig.isEnabled()) {
+            return startNewContainer(language, request);
+        }
+
+        String key = poolKey(language, request);
+        // 보충용 템플릿에는 리소스 프로파일만 보관 (소스 코드/입력 데이터는 보관하지 않음)
+        CodeExecutionRequest profile = CodeExecutionRequest.builder()
+                .language(language)
+                .constraints(request.getConstraints())
+                .enableNetwork(request.getEnableNetwork())
+                .build();
+        templates.put(key, new PoolTemplate(language, profile, System.currentTimeMillis()));
+
+        ConcurrentLinkedDeque<PooledContainer> idle = idleContainers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+        PooledContainer pooled = idle.pollFirst();
+        if (pooled != null) {
+            hitCount.incrementAndGet();
+            pooled.setUses(pooled.getUses() + 1);
+            leasedContainers.put(pooled.getContainerId(), pooled);
+            log.debug("[CONTAINER-POOL] 유휴 컨테이너 재사용 - ID: {}, 사용 횟수: {}", pooled.getContainerId(), pooled.getUses());
+
+            if (idle.size() < poolConfig.getMinSize()) {
+                scheduleRefill();
+            }
+            return pooled.getContainerId();
+        }
+
+        missCount.incrementAndGet();
+        String containerId = startNewContainer(language, request);
+        PooledContainer created = new PooledContainer(containerId, key);
+        created.setUses(1);
+        leasedContainers.put(containerId, created);
+        scheduleRefill();
+        return containerId;
+    }
+
+    /**
+     * 실행 컨테이너 반환
+     *
+     * 컨테이너를 초기화하여 유휴 목록에 반환합니다.
+     * 재사용할 수 없는 경우(풀 비활성화, 최대 사용 횟수 초과, 유휴 목록 가득 참, 초기화 실패) 제거합니다.
+     * 이미 반환된(임대 목록에 없는) 컨테이너는 제거만 시도하므로 재시도해도 안전합니다.
+     *
+     * @param containerId 반환할 컨테이너 ID
+     * @return 유휴 목록 반환 또는 제거에 성공하면 true, 제거에 실패하면 false
+     */
+    public boolean release(String containerId) {
+        if (containerId == null) {
+            return true;
+        }
+        try {
+            return returnToPool(containerId);
+        } finally {
+            admissionController.release(grants.remove(containerId));
+        }
+    }
+
+    private boolean returnToPool(String containerId) {
+        PooledContainer pooled = leasedContainers.remove(containerId);
+        if (pooled == null || !poolConfig.isEnabled()) {
+            return destroy(containerId);
+        }
+
+        ConcurrentLinkedDeque<PooledContainer> idle = idleContainers.computeIfAbsent(pooled.getKey(), k -> new ConcurrentLinkedDeque<>());
+        if (pooled.getUses() >= poolConfig.getMaxUses() || idle.size() >= poolConfig.getMaxSize()) {
+            log.debug("[CONTAINER-POOL] 재사용 불가 컨테이너 제거 - ID: {}, 사용 횟수: {}, 유휴 수: {}",
+                    containerId, pooled.getUses(), idle.size());
+            return destroy(containerId);
+        }
+
+        if (!wipe(containerId)) {
+            return destroy(containerId);
+        }
+
+        pooled.setLastUsedAt(System.currentTimeMillis());
+        idle.offerFirst(pooled);
+        return true;
+    }
+
+    /**
+     * 실행 컨테이너 폐기
+     *
+     * 실행 중 오류 등으로 상태를 신뢰할 수 없는 컨테이너를 풀에 반환하지 않고 제거합니다.
+     *
+     * @param containerId 폐기할 컨테이너 ID
+     * @return 제거 성공 여부
+     */
+    public boolean invalidate(String containerId) {
+        if (containerId == null) {
+            return true;
+        }
+        leasedContainers.remove(containerId);
+        try {
+            return destroy(containerId);
+        } finally {
+            admissionController.release(grants.remove(containerId));
+        }
+    }
+
+    public boolean isEnabled() {
+        return poolConfig.isEnabled();
+    }
+
+    /**
+     * 풀 통계 조회 - HealthController 모니터링용
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", poolConfig.isEnabled());
+        stats.put("idle", getIdleCount());
+        stats.put("leased", leasedContainers.size());
+        stats.put("admission", admissionController.getStatistics());
+        stats.put("profiles", idleContainers.size());
+        stats.put("hits", hitCount.get());
+        stats.put("misses", missCount.get());
+        return stats;
+    }
+
+    public int getIdleCount() {
+        return idleContainers.values().stream().mapToInt(ConcurrentLinkedDeque::size).sum();
+    }
+
+    /**
+     * 풀 키 생성 - 이미지 + 리소스 프로파일
+     *
+     * 컨테이너 생성 시 사용되는 HostConfig 값으로 키를 만들어
+     * 실제 생성될 컨테이너와 키가 항상 일치하도록 합니다.
+     */
+    private String poolKey(Language language, CodeExecutionRequest request) {
+        HostConfig hostConfig = containerManager.buildHostConfig(request);
+        return language.getEffectiveDockerImage()
+                + "|mem=" + hostConfig.getMemory()
+                + "|cpu=" + hostConfig.getCpuQuota()
+                + "|pids=" + hostConfig.getPidsLimit()
+                + "|net=" + containerManager.determineNetworkMode(request);
+    }
+
+    private String startNewContainer(Language language, CodeExecutionRequest request) throws java.io.IOException {
+        String containerId = containerManager.createExecutionContainer(language, null, request);
+        try {
+            containerManager.startContainer(containerId);
+        } catch (RuntimeException e) {
+            containerManager.removeContainer(containerId);
+            throw e;
+        }
+        return containerId;
+    }
+
+    /**
+     * 컨테이너 초기화 - 남은 프로세스 종료, 작업 디렉토리 및 실행 사용자 소유 파일 정리
+     * - 실행 사용자 소유 파일을 모두 지우지 못하면 실패로 보고 컨테이너를 재사용하지 않음
+     *
+     * @return 초기화 성공 여부
+     */
+    private boolean wipe(String containerId) {
+        try {
+            ExecResult result = containerManager.executeWithStdin(
+                    containerId, new String[]{"sh", "-c", WIPE_SCRIPT}, null, WIPE_TIMEOUT_SECONDS);
+            if (!result.isCompleted() || result.getExitCode() == null || result.getExitCode() != 0) {
+                log.warn("[CONTAINER-POOL] 컨테이너 초기화 실패 - ID: {}, 종료 코드: {}", containerId, result.getExitCode());
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("[CONTAINER-POOL] 컨테이너 초기화 중 오류 - ID: {}", containerId, e);
+            return false;
+        }
+    }
+
+    private boolean destroy(String containerId) {
+        containerManager.stopContainer(containerId);
+        return containerManager.removeContainer(containerId);
+    }
+
+    private void scheduleRefill() {
+        if (maintenanceExecutor != null && refillScheduled.compareAndSet(false, true)) {
+            maintenanceExecutor.execute(() -> {
+                refillScheduled.set(false);
+                refill();
+            });
+        }
+    }
+
+    /**
+     * 주기적 유지보수 작업 - 만료/비정상 유휴 컨테이너 제거 후 최소 유휴 수 보충
+     */
+    private void performMaintenance() {
+        if (!poolConfig.isEnabled()) {
+            return;
+        }
+        try {
+            evictAndHealthCheck();
+            refill();
+        } catch (Exception e) {
+            log.error("[CONTAINER-POOL] 유지보수 작업 실패", e);
+        }
+    }
+
+    private void evictAndHealthCheck() {
+        long now = System.currentTimeMillis();
+        for (ConcurrentLinkedDeque<PooledContainer> idle : idleContainers.values()) {
+            Iterator<PooledContainer> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                PooledContainer pooled = iterator.next();
+                boolean expired = now - pooled.getLastUsedAt() > poolConfig.getMaxIdleTime();
+                if (!expired && containerManager.isContainerRunning(pooled.getContainerId())) {
+                    continue;
+                }
+                // 동시에 acquire된 컨테이너는 제거하지 않음
+                if (idle.remove(pooled)) {
+                    log.info("[CONTAINER-POOL] 유휴 컨테이너 제거 - ID: {}, 만료: {}", pooled.getContainerId(), expired);
+                    destroy(pooled.getContainerId());
+                }
+            }
+        }
+    }
+
+    /**
+     * 최소 유휴 수 보충 - 최근 maxIdleTime 동안 사용된 프로파일만 보충
+     */
+    private void refill() {
+        if (!poolConfig.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PoolTemplate> entry : templates.entrySet()) {
+            String key = entry.getKey();
+            PoolTemplate template = entry.getValue();
+            if (now - template.getLastRequestedAt() > poolConfig.getMaxIdleTime()) {
+                templates.remove(key, template);
+                continue;
+            }
+
+            ConcurrentLinkedDeque<PooledContainer> idle = idleContainers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+            while (idle.size() < poolConfig.getMinSize()) {
+                try {
+                    String containerId = startNewContainer(template.getLanguage(), template.getRequest());
+                    idle.offerLast(new PooledContainer(containerId, key));
+                    log.debug("[CONTAINER-POOL] 유휴 컨테이너 보충 - ID: {}, 키: {}", containerId, key);
+                } catch (Exception e) {
+                    log.warn("[CONTAINER-POOL] 유휴 컨테이너 보충 실패 - 키: {}", key, e);
+                    break;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("[CONTAINER-POOL] 컨테이너 풀 종료 중");
+
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdown();
+            try {
+                if (!maintenanceExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    maintenanceExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                maintenanceExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<PooledContainer> remaining = new ArrayList<>();
+        idleContainers.values().forEach(remaining::addAll);
+        idleContainers.clear();
+        for (PooledContainer pooled : remaining) {
+            destroy(pooled.getContainerId());
+        }
+
+        log.info("[CONTAINER-POOL] 컨테이너 풀 종료 완료 - 제거된 유휴 컨테이너: {}", remaining.size());
+    }
+
+    /**
+     * 풀 컨테이너 정보 - 재사용 횟수와 마지막 사용 시각 추적
+     */
+    @Data
+    private static class PooledContainer {
+        private final String containerId;
+        private final String key;
+        private int uses;
+        private long lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 풀 키별 컨테이너 생성 템플릿
+     */
+    @Data
+    private static class PoolTemplate {
+        private final Language language;
+        private final CodeExecutionRequest request;
+        private final long lastRequestedAt;
+    }
+}
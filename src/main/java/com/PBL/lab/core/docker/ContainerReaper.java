@@ -0,0 +1,199 @@
+package com.PBL.lab.core.docker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨테이너 비동기 정리기 (Reaper)
+ *
+ * 실행이 끝난 컨테이너의 반환(초기화 후 풀 반환 또는 stop/remove)을 채점 경로에서 분리합니다.
+ * JobRunr 워커 스레드는 컨테이너 ID를 큐에 넣고 바로 다음 작업으로 넘어가며,
+ * 실제 정리는 전용 스레드가 백그라운드에서 수행합니다.
+ *
+ * 동작 방식:
+ * - 동시 정리 수 제한 (judge0.docker-execution.cleanup-concurrency)
+ * - 대기 큐가 가득 차면 호출 스레드에서 직접 정리 (Docker 데몬 과부하 시 자연스러운 배압)
+ * - 제거 실패 시 지연 후 재시도 (judge0.docker-execution.cleanup-max-retries)
+ *   재시도에서는 이미 임대 목록에서 빠진 컨테이너이므로 제거만 다시 시도
+ * - 비동기 정리 비활성화(judge0.docker-execution.cleanup-async=false) 시 호출 스레드에서 즉시 정리
+ *
+ * 종료 시 대기 중인 정리 작업을 가능한 한 마치고, 남은 컨테이너는
+ * 다음 기동 시 ContainerPool이 실행하는 고아 컨테이너 정리(ContainerManager.cleanupOrphanedContainers)가
+ * 생성 후 1시간이 지난 것부터 제거합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContainerReaper {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ContainerPool containerPool;
+
+    @Value("${judge0.docker-execution.cleanup-async:true}")
+    private boolean asyncCleanup; // 비동기 정리 작업 사용 여부
+
+    @Value("${judge0.docker-execution.cleanup-concurrency:2}")
+    private int concurrency; // 동시 정리 스레드 수
+
+    @Value("${judge0.docker-execution.cleanup-queue-capacity:200}")
+    private int queueCapacity; // 정리 대기 큐 크기
+
+    @Value("${judge0.docker-execution.cleanup-max-retries:3}")
+    private int maxRetries; // 제거 실패 시 최대 재시도 횟수
+
+    @Value("${judge0.docker-execution.cleanup-retry-delay:2000}")
+    private long retryDelay; // 재시도 간격 (밀리초, 재시도마다 2배)
+
+    private final AtomicLong reapedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private ThreadPoolExecutor reaperExecutor;
+    private ScheduledExecutorService retryScheduler;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        reaperExecutor = new ThreadPoolExecutor(
+                Math.max(1, concurrency), Math.max(1, concurrency),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "container-reaper-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "container-reaper-retry");
+            t.setDaemon(true);
+            return t;
+        });
+
+        log.info("[CONTAINER-REAPER] 초기화 완료 - 비동기: {}, 동시 정리: {}, 큐 크기: {}, 최대 재시도: {}",
+                asyncCleanup, concurrency, queueCapacity, maxRetries);
+    }
+
+    /**
+     * 사용이 끝난 컨테이너 반환 (초기화 후 풀 반환, 재사용 불가 시 제거)
+     *
+     * @param containerId 반환할 컨테이너 ID
+     */
+    public void release(String containerId) {
+        submit(containerId, false);
+    }
+
+    /**
+     * 상태를 신뢰할 수 없는 컨테이너 폐기
+     *
+     * @param containerId 폐기할 컨테이너 ID
+     */
+    public void invalidate(String containerId) {
+        submit(containerId, true);
+    }
+
+    public boolean isAsync() {
+        return asyncCleanup;
+    }
+
+    /**
+     * 정리 대기 중인 컨테이너 수
+     */
+    public int getPendingCount() {
+        return reaperExecutor != null ? reaperExecutor.getQueue().size() + reaperExecutor.getActiveCount() : 0;
+    }
+
+    /**
+     * 정리 통계 조회 - HealthController 모니터링용
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("async", asyncCleanup);
+        stats.put("pending", getPendingCount());
+        stats.put("reaped", reapedCount.get());
+        stats.put("failed", failedCount.get());
+        return stats;
+    }
+
+    private void submit(String containerId, boolean invalidate) {
+        if (containerId == null) {
+            return;
+        }
+        if (!asyncCleanup || reaperExecutor == null || reaperExecutor.isShutdown()) {
+            reap(containerId, invalidate, 0);
+            return;
+        }
+        log.debug("[CONTAINER-REAPER] 정리 요청 - ID: {}, 폐기: {}", containerId, invalidate);
+        reaperExecutor.execute(() -> reap(containerId, invalidate, 0));
+    }
+
+    /**
+     * 컨테이너 정리 수행 - 실패 시 지연 후 재시도 예약
+     */
+    private void reap(String containerId, boolean invalidate, int attempt) {
+        boolean success;
+        try {
+            success = invalidate ? containerPool.invalidate(containerId) : containerPool.release(containerId);
+        } catch (Exception e) {
+            log.warn("[CONTAINER-REAPER] 컨테이너 정리 중 오류 - ID: {}, 시도: {}", containerId, attempt + 1, e);
+            success = false;
+        }
+
+        if (success) {
+            reapedCount.incrementAndGet();
+            return;
+        }
+
+        if (attempt >= maxRetries || retryScheduler == null || retryScheduler.isShutdown()) {
+            failedCount.incrementAndGet();
+            log.error("[CONTAINER-REAPER] 컨테이너 정리 최종 실패 - ID: {}, 시도: {}회", containerId, attempt + 1);
+            return;
+        }
+
+        long delay = retryDelay << attempt;
+        log.warn("[CONTAINER-REAPER] 컨테이너 정리 실패 - {}ms 후 재시도, ID: {}, 시도: {}/{}",
+                delay, containerId, attempt + 1, maxRetries + 1);
+        // 재시도는 임대 목록에서 이미 빠졌으므로 release/invalidate 모두 제거만 수행
+        retryScheduler.schedule(
+                () -> reaperExecutor.execute(() -> reap(containerId, true, attempt + 1)),
+                delay, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("[CONTAINER-REAPER] 종료 중 - 대기 중인 정리: {}", getPendingCount());
+
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        if (reaperExecutor != null) {
+            reaperExecutor.shutdown();
+            try {
+                if (!reaperExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("[CONTAINER-REAPER] 정리 작업 대기 시간 초과 - 남은 컨테이너는 다음 기동 후 고아 컨테이너 정리에서 제거됨");
+                    reaperExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                reaperExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        log.info("[CONTAINER-REAPER] 종료 완료 - 정리: {}, 실패: {}", reapedCount.get(), failedCount.get());
+    }
+}
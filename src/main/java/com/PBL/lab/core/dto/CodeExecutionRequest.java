@@ -23,6 +23,7 @@ import lombok.NoArgsConstructor;
  * - commandLineArguments: 실행 시 명령행 인자
  * - redirectStderrToStdout: 에러 출력을 표준 출력으로 리다이렉션 여부
  * - enableNetwork: 네트워크 접근 허용 여부
+ * - userId: 요청 사용자 ID (동시 실행 사용자별 한도 적용, 비회원은 null)
  */
 
 @Data
@@ -40,4 +41,5 @@ public class CodeExecutionRequest {
     private String commandLineArguments;    // 명령행 인자
     private Boolean redirectStderrToStdout; // stderr → stdout 리다이렉션
     private Boolean enableNetwork;          // 네트워크 허용
+    private Long userId;                    // 요청 사용자 ID (비회원은 null)
 }
\ No newline at end of file
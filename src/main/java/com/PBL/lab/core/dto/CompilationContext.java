@@ -4,6 +4,7 @@ import com.PBL.lab.core.entity.Language;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.nio.file.Path;
 
 /**
@@ -23,7 +24,7 @@ import java.nio.file.Path;
  * - 테스트케이스 10개 기준: 24초 → 6초 (4배 향상)
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class CompilationContext {
 
     /**
@@ -55,4 +56,28 @@ public class CompilationContext {
      * 성능 모니터링 및 통계용
      */
     private long compileTime;
+
+    /**
+     * 출력 수집 상한 (바이트)
+     * stdout/stderr 각각 이 크기까지만 수집하고 초과분은 버림 (Constraints.maxFileSize 기반)
+     */
+    private long outputLimitBytes;
+
+    /**
+     * CPU 시간 제한 (초)
+     * 측정된 CPU 시간(user+sys)이 넘으면 TLE 판정 (null이면 미적용)
+     */
+    private BigDecimal cpuTimeLimit;
+
+    /**
+     * 메모리 제한 (KB)
+     * 측정된 최대 메모리(RSS)가 넘으면 MLE 판정 (null이면 미적용)
+     */
+    private Integer memoryLimitKb;
+
+    /**
+     * 테스트케이스당 실행 횟수
+     * 1보다 크면 같은 입력으로 반복 실행하고 중앙값으로 판정 (Constraints.numberOfRuns 기반)
+     */
+    private int numberOfRuns;
 }
@@ -13,11 +13,14 @@ import java.math.BigDecimal;
  * Contains all output, metrics, and status information.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ExecutionResult {
 
     private String stdout;
     private String stderr;
+
+    // SHA-256 prefix of the full stdout reported by the batch harness (stdout itself is not sent for passing cases)
+    private String stdoutHash;
     private String compileOutput;
     private String message;
     
@@ -29,6 +32,12 @@ public class ExecutionResult {
     
     private Integer exitCode;
     private Integer exitSignal;
+
+    // stdout/stderr was cut at the output limit (Constraints.maxFileSize)
+    private boolean outputTruncated;
+
+    // min/median/max over repeated runs (Constraints.numberOfRuns > 1), null for a single run
+    private RunStatistics runStatistics;
     
     private String errorMessage;
     private Long errorId;
@@ -0,0 +1,43 @@
+package com.PBL.lab.core.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 단일 exec 테스트케이스 실행 결과 DTO
+ *
+ * run_framed.sh가 exec stdout 스트림으로 돌려주는 프레임을 해석한 결과입니다.
+ * 프레임 형식: "종료코드 stdout길이 stderr길이 경과시간(ns) stdout원래크기 stderr원래크기 CPU(ms) 메모리(KB)\n" 헤더 + stdout 바이트 + stderr 바이트
+ * 한 번의 exec로 프로그램 출력, 종료 코드, 실행 시간, 자원 사용량을 모두 수집합니다.
+ */
+@Data
+@Builder
+public class FramedExecResult {
+
+    /** 프로그램 표준 출력 */
+    private String stdout;
+
+    /** 프로그램 표준 에러 */
+    private String stderr;
+
+    /** 프로그램 종료 코드 (프레임 헤더를 해석하지 못하면 null) */
+    private Integer exitCode;
+
+    /** 컨테이너 내부에서 측정한 실행 시간 (나노초, 측정 불가 시 null) */
+    private Long elapsedNanos;
+
+    /** exec가 시간 제한 내에 완료되었는지 여부 */
+    private boolean completed;
+
+    /** 러너 스크립트 자체의 stderr (스크립트 오류 진단용) */
+    private String runnerError;
+
+    /** stdout/stderr가 출력 상한으로 잘렸는지 여부 */
+    private boolean outputTruncated;
+
+    /** 프로그램이 사용한 CPU 시간 (user+sys, 밀리초, 측정 불가 시 null) */
+    private Long cpuTimeMillis;
+
+    /** 프로그램의 최대 메모리 사용량 (RSS, KB, 측정 불가 시 null) */
+    private Long peakMemoryKb;
+}
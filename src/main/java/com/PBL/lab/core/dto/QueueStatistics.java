@@ -11,6 +11,7 @@ package com.PBL.lab.core.dto;
  * - processingJobs: 현재 실행 중인 작업 수 (PROCESSING 상태)
  * - succeededJobs: 성공적으로 완료된 작업 수 (SUCCEEDED 상태)
  * - failedJobs: 실패한 작업 수 (FAILED 상태)
+ * - retriedJobs: 실패 후 재시도된 작업 수 (totalJobs에는 포함하지 않음)
  * - totalJobs: 전체 작업 수 (위 4개 항목의 합계)
  *
  * 사용 목적:
@@ -30,6 +31,7 @@ public class QueueStatistics {
     private int processingJobs;  // 실행 중인 작업 수
     private int succeededJobs;   // 성공한 작업 수
     private int failedJobs;      // 실패한 작업 수
+    private int retriedJobs;     // 재시도된 작업 수
     private int totalJobs;       // 전체 작업 수 (계산된 값)
 
     /**
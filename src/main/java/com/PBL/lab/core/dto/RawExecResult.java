@@ -0,0 +1,27 @@
+package com.PBL.lab.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 바이트 단위 exec 실행 결과 DTO
+ *
+ * 러너/하네스 스크립트가 stdout으로 돌려주는 바이너리 프레임을
+ * 호출 측에서 직접 해석해야 할 때 사용합니다. (문자열 변환 없이 원본 바이트 유지)
+ */
+@Data
+@AllArgsConstructor
+public class RawExecResult {
+
+    /** exec 표준 출력 원본 바이트 */
+    private byte[] stdout;
+
+    /** exec 표준 에러 (스크립트 자체 오류 진단용) */
+    private String stderr;
+
+    /** 시간 제한 내에 완료되었는지 여부 */
+    private boolean completed;
+
+    /** stdout이 수집 상한을 넘어 잘렸는지 여부 */
+    private boolean truncated;
+}
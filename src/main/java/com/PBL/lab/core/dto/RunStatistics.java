@@ -0,0 +1,76 @@
+package com.PBL.lab.core.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 다중 실행 통계 DTO
+ *
+ * Constraints.numberOfRuns > 1일 때 같은 입력으로 여러 번 실행한 결과의
+ * CPU 시간/메모리 최소·중앙값·최대값을 담습니다.
+ * 판정(TLE/MLE)은 중앙값 기준으로 하여 공유 워커의 일시적인 부하에 덜 민감하도록 합니다.
+ */
+@Data
+@Builder
+public class RunStatistics {
+
+    /** 집계에 사용된 실행 횟수 */
+    private int numberOfRuns;
+
+    /** CPU 시간 (초, 측정값이 없으면 null) */
+    private BigDecimal minTime;
+    private BigDecimal medianTime;
+    private BigDecimal maxTime;
+
+    /** 최대 메모리 사용량 (KB, 측정값이 없으면 null) */
+    private Integer minMemory;
+    private Integer medianMemory;
+    private Integer maxMemory;
+
+    /**
+     * 실행 결과 목록으로 통계 생성
+     * - 짝수 개일 때 중앙값은 가운데 두 값의 평균
+     */
+    public static RunStatistics from(List<ExecutionResult> runs) {
+        List<BigDecimal> times = runs.stream()
+                .map(ExecutionResult::getTime)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+        List<Integer> memories = runs.stream()
+                .map(ExecutionResult::getMemory)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+
+        BigDecimal medianTime = null;
+        if (!times.isEmpty()) {
+            int middle = times.size() / 2;
+            medianTime = times.size() % 2 == 1
+                    ? times.get(middle)
+                    : times.get(middle - 1).add(times.get(middle)).divide(BigDecimal.valueOf(2), 3, RoundingMode.HALF_UP);
+        }
+        Integer medianMemory = null;
+        if (!memories.isEmpty()) {
+            int middle = memories.size() / 2;
+            medianMemory = memories.size() % 2 == 1
+                    ? memories.get(middle)
+                    : (memories.get(middle - 1) + memories.get(middle)) / 2;
+        }
+
+        return RunStatistics.builder()
+                .numberOfRuns(runs.size())
+                .minTime(times.isEmpty() ? null : times.get(0))
+                .medianTime(medianTime)
+                .maxTime(times.isEmpty() ? null : times.get(times.size() - 1))
+                .minMemory(memories.isEmpty() ? null : memories.get(0))
+                .medianMemory(medianMemory)
+                .maxMemory(memories.isEmpty() ? null : memories.get(memories.size() - 1))
+                .build();
+    }
+}
@@ -18,6 +18,8 @@ import java.math.BigDecimal;
  * - timeLimit: CPU 시간 제한 (초 단위)
  * - memoryLimit: 메모리 사용량 제한 (KB 단위)
  * - processLimit: 최대 프로세스/스레드 수 제한
+ * - maxFileSize: 출력 크기 제한 (KB 단위, stdout/stderr 각각 이 크기까지만 수집)
+ * - numberOfRuns: 같은 입력으로 반복 실행할 횟수 (중앙값 기준 판정)
  * - networkAccess: 네트워크 접근 허용 여부
  * - fileSystemAccess: 파일 시스템 접근 권한 (읽기 전용/읽기 쓰기)
  */
@@ -29,6 +31,8 @@ public class SecurityConstraints {
     private BigDecimal timeLimit;
     private Integer memoryLimit;
     private Integer processLimit;
+    private Integer maxFileSize;
+    private Integer numberOfRuns;
     private Boolean networkAccess;
     private FileSystemAccess fileSystemAccess;
 }
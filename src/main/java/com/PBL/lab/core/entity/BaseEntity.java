@@ -331,12 +331,15 @@ public abstract class BaseEntity {
                 .commandLineArguments(getConstraints().getCommandLineArguments())
                 .redirectStderrToStdout(getConstraints().getRedirectStderrToStdout())
                 .enableNetwork(getConstraints().getEnableNetwork())
+                .userId(getUser() != null ? getUser().getId() : null)
 
                 // 보안 제약조건
                 .constraints(SecurityConstraints.builder()
                         .timeLimit(getConstraints().getCpuTimeLimit())
                         .memoryLimit(getConstraints().getMemoryLimit())
                         .processLimit(getConstraints().getMaxProcessesAndOrThreads())
+                        .maxFileSize(getConstraints().getMaxFileSize())
+                        .numberOfRuns(getConstraints().getNumberOfRuns())
                         .networkAccess(getConstraints().getEnableNetwork())
                         .fileSystemAccess(FileSystemAccess.READ_ONLY)
                         .build())
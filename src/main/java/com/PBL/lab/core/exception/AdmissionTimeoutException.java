@@ -0,0 +1,15 @@
+package com.PBL.lab.core.exception;
+
+/**
+ * AdmissionTimeoutException - 실행 컨테이너 동시 사용량 예산 대기 시간 초과 예외
+ *
+ * === 사용 시나리오 ===
+ * - 전체 컨테이너/메모리/CPU 예산이 대기 시간 동안 확보되지 않음
+ * - 사용자별/언어별 동시 실행 한도가 대기 시간 동안 풀리지 않음
+ */
+public class AdmissionTimeoutException extends RuntimeException {
+
+    public AdmissionTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.PBL.lab.core.exception;
+
+/**
+ * ProgressStreamLimitException - 채점 진행상황 스트림 동시 연결 수 초과 예외
+ *
+ * === 사용 시나리오 ===
+ * - 노드의 SSE/WebSocket 진행상황 스트림 수가 judge0.progress-stream.max-connections에 도달
+ * - SSE는 503 Service Unavailable, WebSocket은 1013(Try Again Later)으로 응답
+ */
+public class ProgressStreamLimitException extends RuntimeException {
+
+    public ProgressStreamLimitException(String message) {
+        super(message);
+    }
+}
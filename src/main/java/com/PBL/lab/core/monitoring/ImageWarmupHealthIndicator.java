@@ -0,0 +1,27 @@
+package com.PBL.lab.core.monitoring;
+
+import com.PBL.lab.core.service.ImageWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실행 이미지 준비 상태 Health Indicator
+ *
+ * 활성화된 언어 이미지가 모두 로컬에 준비되기 전까지 OUT_OF_SERVICE를 반환합니다.
+ * readiness 그룹(management.endpoint.health.group.readiness)에 포함되어
+ * 이미지 pull이 끝나기 전에는 트래픽을 받지 않도록 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageWarmupHealthIndicator implements HealthIndicator {
+
+    private final ImageWarmupService imageWarmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = imageWarmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetails(imageWarmupService.getStatistics()).build();
+    }
+}
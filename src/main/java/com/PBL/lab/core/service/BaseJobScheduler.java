@@ -4,16 +4,40 @@ import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lab.core.dto.QueueStatistics;
 import com.PBL.lab.core.enums.JobStatus;
 import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.core.monitoring.QueueStatisticsProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.AllArgsConstructor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jobrunr.jobs.JobId;
+import org.jobrunr.jobs.states.StateName;
+import org.jobrunr.storage.JobNotFoundException;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jobrunr.storage.StorageProvider;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.jobrunr.scheduling.JobBuilder.aJob;
 
 /**
  * JobRunr 기반 작업 스케줄러 추상 클래스
@@ -22,6 +46,8 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * 주요 기능:
  * - 즉시 실행 작업 스케줄링 (enqueue)
+ * - 레인별 동시 실행 제한 (JobLaneManager, 한도 초과 작업은 워커를 비우고 뒤로 미룸)
+ * - 다중 작업 일괄 스케줄링 (배치 제출)
  * - 지연 실행 작업 스케줄링 (schedule with delay)
  * - 실행 중인 작업 취소 및 상태 추적
  * - 작업 큐 통계 정보 제공
@@ -36,21 +62,50 @@ import java.util.concurrent.ConcurrentHashMap;
  * 스레드 안전성:
  * - ConcurrentHashMap을 사용하여 멀티스레드 환경에서 안전한 작업 추적
  * - 동시에 여러 작업이 스케줄링되어도 데이터 일관성 보장
+ * - 작업 통계는 LongAdder/AtomicInteger 카운터로 잠금 없이 집계
+ *
+ * 작업 통계 (노드 단위, 태그 queue=getProviderName()):
+ * - judge0.jobs.enqueued / succeeded / failed / retried: 누적 작업 수
+ * - judge0.jobs.processing: 실행 중인 작업 수
+ * - judge0.jobs.queue.wait: 등록부터 실행 시작까지 대기 시간 (레인 한도로 미룬 시간 포함)
+ * - judge0.jobs.service.time: executeJob 실행 시간
  *
  * 사용 방법:
  * 1. 이 클래스를 상속받는 구체 클래스 생성
  * 2. executeJob(String token) 메서드 구현
- * 3. schedule(), cancel() 등의 공통 메서드 활용
+ * 3. countInQueue(), getProviderName() 구현 (QueueStatisticsProvider)
+ * 4. schedule(), cancel() 등의 공통 메서드 활용
  */
 @Slf4j
-@RequiredArgsConstructor
-public abstract class BaseJobScheduler {
+public abstract class BaseJobScheduler implements QueueStatisticsProvider {
+
+    private static final long CLEANUP_INTERVAL_SECONDS = 60; // 완료된 작업 추적 항목 정리 주기
+    private static final Duration TRACKING_RETENTION = Duration.ofHours(24); // 상태와 관계없이 추적을 포기하는 기간
 
     protected final JobScheduler jobScheduler; // JobRunr의 작업 스케줄러 (작업 등록/관리)
+    private final StorageProvider storageProvider; // JobRunr 작업 저장소 (작업 상태 조회)
+    private final MeterRegistry meterRegistry;
+    private final JobLaneManager jobLaneManager; // 레인별 동시 실행 제한 (null이면 제한 없음)
+    private final String lane; // 이 스케줄러 작업의 레인 이름
 
-    // 스케줄된 작업들을 추적하는 맵 (token -> JobId)
+    // 이 노드에서 스케줄한 작업들을 추적하는 맵 (token -> 작업 ID, 등록 시각)
     // ConcurrentHashMap을 사용하여 멀티스레드 환경에서 안전한 접근 보장
-    public final ConcurrentHashMap<String, JobId> scheduledJobs = new ConcurrentHashMap<>();
+    // 작업 ID는 token에서 결정적으로 만들어지므로(jobIdFor) 취소는 이 맵 없이도 어느 노드에서나 가능
+    // 이 노드에서 실행을 마치면 바로 제거되고, 다른 노드가 실행한 작업은 cleanupCompleted()가 제거
+    private final ConcurrentHashMap<String, TrackedJob> scheduledJobs = new ConcurrentHashMap<>();
+
+    // 실행 중 예외로 실패한 작업 (token -> 실패 시각), JobRunr 재시도로 다시 실행되면 retried 집계
+    private final ConcurrentHashMap<String, Instant> failedJobs = new ConcurrentHashMap<>();
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder succeededCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final AtomicInteger processingCount = new AtomicInteger();
+
+    private Timer queueWaitTimer;
+    private Timer serviceTimer;
+    private ScheduledExecutorService cleanupScheduler;
 
     /**
      * 실제 작업 실행을 담당하는 추상 메서드
@@ -65,6 +120,149 @@ public abstract class BaseJobScheduler {
      */
     protected abstract void executeJob(String token);
 
+    /**
+     * @param jobScheduler    JobRunr 작업 스케줄러
+     * @param storageProvider JobRunr 작업 저장소 (상태 조회)
+     * @param meterRegistry   작업 통계 메트릭 등록
+     * @param jobLaneManager  레인 관리자 (judge0.job-lanes, null이면 제한 없음)
+     * @param lane            이 스케줄러 작업의 레인 이름 (예: grading, submissions)
+     */
+    protected BaseJobScheduler(JobScheduler jobScheduler, StorageProvider storageProvider, MeterRegistry meterRegistry,
+                               JobLaneManager jobLaneManager, String lane) {
+        this.jobScheduler = jobScheduler;
+        this.storageProvider = storageProvider;
+        this.meterRegistry = meterRegistry;
+        this.jobLaneManager = jobLaneManager;
+        this.lane = lane;
+    }
+
+    @PostConstruct
+    public void initializeJobStatistics() {
+        String queue = getProviderName();
+        FunctionCounter.builder("judge0.jobs.enqueued", enqueuedCount, LongAdder::sum)
+                .description("Jobs enqueued on this node").tag("queue", queue).register(meterRegistry);
+        FunctionCounter.builder("judge0.jobs.succeeded", succeededCount, LongAdder::sum)
+                .description("Jobs that completed without throwing").tag("queue", queue).register(meterRegistry);
+        FunctionCounter.builder("judge0.jobs.failed", failedCount, LongAdder::sum)
+                .description("Job runs that threw and were handed back to JobRunr").tag("queue", queue).register(meterRegistry);
+        FunctionCounter.builder("judge0.jobs.retried", retriedCount, LongAdder::sum)
+                .description("Job runs retried after a failure").tag("queue", queue).register(meterRegistry);
+        Gauge.builder("judge0.jobs.processing", processingCount, AtomicInteger::get)
+                .description("Jobs currently executing on this node").tag("queue", queue).register(meterRegistry);
+        queueWaitTimer = Timer.builder("judge0.jobs.queue.wait")
+                .description("Time from enqueue to execution start, including lane deferrals")
+                .tag("queue", queue)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        serviceTimer = Timer.builder("judge0.jobs.service.time")
+                .description("Job execution time")
+                .tag("queue", queue)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        cleanupScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "job-cleanup-" + queue);
+            t.setDaemon(true);
+            return t;
+        });
+        cleanupScheduler.scheduleWithFixedDelay(this::cleanupCompleted,
+                CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdownJobStatistics() {
+        if (cleanupScheduler != null) {
+            cleanupScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 통계 기능 도입 이전에 저장된 작업용 진입점 (등록 시각을 모르므로 대기 시간은 집계하지 않음)
+     */
+    public void runJob(String token, int attempt) {
+        runJob(token, attempt, 0L);
+    }
+
+    /**
+     * JobRunr 워커가 호출하는 작업 진입점 (레인 입장 후 executeJob 실행)
+     *
+     * 레인이 가득 찼거나 상위 우선순위 레인에 밀린 작업이 있으면 기다리지 않고
+     * 레인의 재시도 지연(defer-delay, 연속으로 미뤄지면 max-defer-delay까지 증가) 후로 작업을 다시 예약한 뒤 바로 반환하여 워커를 비웁니다.
+     *
+     * executeJob이 정상 반환하면 succeeded, 예외를 던지면 failed로 집계한 뒤 예외를 다시 던져
+     * JobRunr의 재시도에 맡깁니다. 재시도로 다시 실행되면 retried로 집계합니다.
+     *
+     * @param token      실행할 작업의 고유 토큰
+     * @param attempt    미룬 횟수 (최초 실행은 0)
+     * @param enqueuedAt 최초 등록 시각 (epoch 밀리초, 0이면 알 수 없음)
+     */
+    public void runJob(String token, int attempt, long enqueuedAt) {
+        JobLaneManager.Permit permit = null;
+        if (jobLaneManager != null && lane != null) {
+            permit = jobLaneManager.tryEnter(lane);
+            if (permit == null) {
+                long delay = jobLaneManager.recordDeferred(lane, attempt);
+                int nextAttempt = attempt + 1;
+                JobId jobId = jobScheduler.schedule(jobIdFor(token, nextAttempt).asUUID(),
+                        Instant.now().plusMillis(delay), () -> runJob(token, nextAttempt, enqueuedAt));
+                scheduledJobs.put(token, new TrackedJob(jobId, Instant.now()));
+                log.debug("레인 한도 초과로 작업 연기 - lane: {}, token: {}, {}회차, {}ms 후 재시도",
+                        lane, token, nextAttempt, delay);
+                return;
+            }
+        }
+
+        if (failedJobs.remove(token) != null) {
+            retriedCount.increment();
+        } else if (enqueuedAt > 0) {
+            queueWaitTimer.record(Math.max(0, System.currentTimeMillis() - enqueuedAt), TimeUnit.MILLISECONDS);
+        }
+
+        processingCount.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            executeJob(token);
+            succeededCount.increment();
+            scheduledJobs.remove(token);
+        } catch (RuntimeException e) {
+            failedCount.increment();
+            failedJobs.put(token, Instant.now());
+            throw e;
+        } finally {
+            serviceTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            processingCount.decrementAndGet();
+            if (permit != null) {
+                permit.close();
+            }
+        }
+    }
+
+    /**
+     * token에 대응하는 JobRunr 작업 ID
+     *
+     * token에서 이름 기반 UUID를 만들어, 작업을 스케줄한 노드가 아니어도
+     * 공유 저장소(judge0.jobrunr.storage=sql)에서 같은 작업을 찾을 수 있도록 합니다.
+     * 같은 ID로 다시 등록하면 JobRunr가 무시하므로 중복 등록도 방지됩니다.
+     *
+     * @param token 작업의 고유 토큰
+     * @return JobId 작업 ID
+     */
+    protected JobId jobIdFor(String token) {
+        return new JobId(UUID.nameUUIDFromBytes(("job:" + token).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 레인 한도로 미룬 작업의 ID (attempt 회차마다 다른 ID, 0이면 jobIdFor(token))
+     */
+    protected JobId jobIdFor(String token, int attempt) {
+        if (attempt == 0) {
+            return jobIdFor(token);
+        }
+        return new JobId(UUID.nameUUIDFromBytes(("job:" + token + "#" + attempt).getBytes(StandardCharsets.UTF_8)));
+    }
+
     /**
      * 작업의 즉시 실행을 스케줄링하는 메서드
      *
@@ -85,10 +283,13 @@ public abstract class BaseJobScheduler {
 
             // JobRunr를 통해 executeJob()을 백그라운드 작업으로 등록
             // enqueue()는 작업을 즉시 실행 큐에 추가하여 가능한 빨리 처리하도록 함
-            JobId jobId = jobScheduler.enqueue(() -> executeJob(token));
+            // 작업 ID는 token에서 결정되므로 같은 token이 중복 등록되지 않음
+            long enqueuedAt = System.currentTimeMillis();
+            JobId jobId = jobScheduler.enqueue(jobIdFor(token).asUUID(), () -> runJob(token, 0, enqueuedAt));
 
             // 작업 ID를 내부 맵에 저장하여 나중에 취소하거나 상태를 확인할 수 있도록 함
-            scheduledJobs.put(token, jobId);
+            scheduledJobs.put(token, new TrackedJob(jobId, Instant.now()));
+            enqueuedCount.increment();
 
             log.debug("작업 스케줄링 완료 - JobId: {}, token: {}", jobId, token);
             return CompletableFuture.completedFuture(
@@ -105,6 +306,48 @@ public abstract class BaseJobScheduler {
         }
     }
 
+    /**
+     * 여러 작업의 즉시 실행을 한 번에 스케줄링하는 메서드 (배치 제출용)
+     *
+     * schedule()을 토큰마다 호출하면 작업마다 JobRunr 저장소에 따로 저장되므로,
+     * JobBuilder 스트림으로 작업을 만들어 JobRunr가 한 번에 저장하도록 합니다.
+     * 작업 ID는 schedule()과 같이 token에서 결정되므로 cancel()로 개별 취소할 수 있습니다.
+     *
+     * @param tokens 실행할 작업들의 고유 토큰 목록
+     * @return boolean 스케줄링 성공 시 true, 실패 시 false
+     */
+    public boolean scheduleAll(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return true;
+        }
+        try {
+            log.info("배치 작업 스케줄링 시작 - {}건", tokens.size());
+
+            Map<String, UUID> jobIds = new LinkedHashMap<>();
+            for (String token : tokens) {
+                jobIds.put(token, jobIdFor(token).asUUID());
+            }
+            long enqueuedAt = System.currentTimeMillis();
+            jobScheduler.create(jobIds.entrySet().stream()
+                    .map(entry -> {
+                        String token = entry.getKey();
+                        return aJob()
+                                .withId(entry.getValue())
+                                .withDetails(() -> runJob(token, 0, enqueuedAt));
+                    }));
+
+            Instant trackedAt = Instant.now();
+            jobIds.forEach((token, id) -> scheduledJobs.put(token, new TrackedJob(new JobId(id), trackedAt)));
+            enqueuedCount.add(jobIds.size());
+
+            log.debug("배치 작업 스케줄링 완료 - {}건", tokens.size());
+            return true;
+        } catch (Exception e) {
+            log.error("배치 작업 스케줄링 실패 - tokens: {}", tokens, e);
+            return false;
+        }
+    }
+
     /**
      * 작업의 지연 실행을 스케줄링하는 메서드
      *
@@ -130,11 +373,14 @@ public abstract class BaseJobScheduler {
 
             // 현재 시간에 지연 시간을 더한 시점에 실행되도록 작업 등록
             // schedule()은 지정된 시간에 작업을 실행하도록 예약함
-            JobId jobId = jobScheduler.schedule(LocalDateTime.now().plus(delay),
-                    () -> executeJob(token));
+            // 대기 시간은 예약한 실행 시각부터 집계
+            long enqueuedAt = System.currentTimeMillis() + delay.toMillis();
+            JobId jobId = jobScheduler.schedule(jobIdFor(token).asUUID(), LocalDateTime.now().plus(delay),
+                    () -> runJob(token, 0, enqueuedAt));
 
             // 작업 ID를 내부 맵에 저장하여 추적 가능하도록 함
-            scheduledJobs.put(token, jobId);
+            scheduledJobs.put(token, new TrackedJob(jobId, Instant.now()));
+            enqueuedCount.increment();
 
             log.debug("지연 실행 작업 스케줄링 완료 - JobId: {}, token: {}", jobId, token);
             return CompletableFuture.completedFuture(
@@ -166,8 +412,8 @@ public abstract class BaseJobScheduler {
      * - 작업이 이미 완료된 경우 (SUCCEEDED/FAILED 상태)
      *
      * 처리 과정:
-     * 1. 내부 맵에서 해당 token의 JobId 조회
-     * 2. JobRunr의 delete()를 사용하여 작업 취소
+     * 1. token에서 JobId 계산 (jobIdFor)
+     * 2. JobRunr의 delete()를 사용하여 작업 취소 (공유 저장소 사용 시 다른 노드가 스케줄한 작업도 취소)
      * 3. 내부 맵에서 해당 항목 제거
      * 4. 취소 성공/실패 결과 반환
      *
@@ -176,19 +422,17 @@ public abstract class BaseJobScheduler {
      */
     public boolean cancel(String token) {
         try {
-            // 내부 맵에서 해당 token의 JobId를 조회하고 제거
-            JobId jobId = scheduledJobs.remove(token);
+            // 내부 맵에서 제거 (레인 한도로 미룬 작업이면 마지막 회차 ID, 다른 노드에서 스케줄한 작업이면 맵에 없음)
+            TrackedJob tracked = scheduledJobs.remove(token);
 
-            if (jobId != null) {
-                // JobRunr를 통해 실제 작업 취소
-                jobScheduler.delete(jobId);
-                log.info("작업 취소 완료 - token: {}", token);
-                return true;
-            } else {
-                // 해당 token에 대한 스케줄된 작업이 없는 경우
-                log.warn("취소할 스케줄된 작업을 찾을 수 없음 - token: {}", token);
-                return false;
-            }
+            // JobRunr를 통해 실제 작업 취소 (작업 ID는 token에서 결정되므로 공유 저장소에서 바로 찾음)
+            jobScheduler.delete(tracked != null ? tracked.jobId() : jobIdFor(token));
+            log.info("작업 취소 완료 - token: {}", token);
+            return true;
+        } catch (JobNotFoundException e) {
+            // 해당 token에 대한 스케줄된 작업이 없는 경우
+            log.warn("취소할 스케줄된 작업을 찾을 수 없음 - token: {}", token);
+            return false;
         } catch (Exception e) {
             log.error("작업 취소 실패 - token: {}", token, e);
             return false;
@@ -198,82 +442,80 @@ public abstract class BaseJobScheduler {
     /**
      * 작업 상태를 조회하는 메서드
      *
-     * 이 메서드는 특정 token에 대한 작업의 현재 상태를 반환합니다.
-     * 현재는 단순화된 구현이지만, 실제 운영 환경에서는 JobRunr의 상세한 상태 정보를 활용할 수 있습니다.
+     * JobRunr 저장소에서 작업의 현재 상태를 조회합니다.
+     * 레인 한도로 미룬 작업은 이 노드가 추적 중인 마지막 회차 ID로, 그 외에는 jobIdFor(token)으로 찾으므로
+     * 공유 저장소(judge0.jobrunr.storage=sql)를 쓰면 다른 노드가 스케줄한 작업도 조회됩니다.
+     * 완료된 작업은 JobRunr가 보관하는 동안(기본 36시간) SUCCEEDED/FAILED로 조회됩니다.
      *
      * 반환 가능한 상태:
-     * - SCHEDULED: 작업이 스케줄되어 대기 중
+     * - SCHEDULED: 작업이 예약되어 대기 중 (지연 실행, 레인 한도로 미룸, 재시도 대기)
+     * - ENQUEUED: 작업이 큐에 등록되어 워커를 기다리는 중
      * - PROCESSING: 작업이 현재 실행 중
      * - SUCCEEDED: 작업이 성공적으로 완료됨
-     * - FAILED: 작업 실행 중 오류 발생
+     * - FAILED: 재시도까지 모두 실패함
+     * - DELETED: 작업이 취소됨
      * - NOT_FOUND: 해당 token에 대한 작업이 없음
      * - UNKNOWN: 상태를 확인할 수 없음 (오류 발생)
      *
-     * 향후 개선 사항:
-     * - JobRunr의 실제 작업 상태 API를 활용하여 정확한 상태 반환
-     * - 작업 진행률, 예상 완료 시간 등 추가 정보 제공
-     * - 실시간 상태 업데이트 및 웹소켓을 통한 상태 알림
-     *
      * @param token 상태를 조회할 작업의 고유 토큰
      * @return JobStatus 작업의 현재 상태
      */
     public JobStatus getStatus(String token) {
-        // 내부 맵에서 해당 token의 JobId 조회
-        JobId jobId = scheduledJobs.get(token);
-
-        if (jobId == null) {
-            // 해당 token에 대한 스케줄된 작업이 없는 경우
-            return JobStatus.NOT_FOUND;
-        }
+        TrackedJob tracked = scheduledJobs.get(token);
+        JobId jobId = tracked != null ? tracked.jobId() : jobIdFor(token);
 
         try {
-            // TODO: 실제 구현에서는 JobRunr의 작업 상태 API를 사용하여 정확한 상태 반환
-            // 현재는 단순화된 구현으로 SCHEDULED 상태만 반환
-            // 향후 JobRunr의 JobDetails API를 활용하여 실제 상태 조회 가능
-            return JobStatus.SCHEDULED;
+            return toJobStatus(storageProvider.getJobById(jobId).getState());
+        } catch (JobNotFoundException e) {
+            return JobStatus.NOT_FOUND;
         } catch (Exception e) {
             log.error("작업 상태 조회 실패 - token: {}", token, e);
             return JobStatus.UNKNOWN;
         }
     }
 
+    private JobStatus toJobStatus(StateName state) {
+        return switch (state) {
+            case SCHEDULED -> JobStatus.SCHEDULED;
+            case ENQUEUED -> JobStatus.ENQUEUED;
+            case PROCESSING -> JobStatus.PROCESSING;
+            case SUCCEEDED -> JobStatus.SUCCEEDED;
+            case FAILED -> JobStatus.FAILED;
+            case DELETED -> JobStatus.DELETED;
+            default -> JobStatus.UNKNOWN;
+        };
+    }
+
+    /**
+     * 처리 중인 작업 수 (이 노드 기준)
+     */
+    @Override
+    public long countInProcess() {
+        return processingCount.get();
+    }
+
     /**
      * 작업 큐의 통계 정보를 조회하는 메서드
      *
-     * 이 메서드는 현재 작업 큐의 상태를 모니터링하기 위한 통계 정보를 제공합니다.
      * 시스템 관리자나 모니터링 도구에서 큐의 부하 상태를 파악하는 데 사용됩니다.
      *
      * 제공하는 통계 정보:
-     * - enqueuedJobs: 대기 중인 작업 수 (내부 맵의 크기)
-     * - processingJobs: 현재 실행 중인 작업 수
-     * - succeededJobs: 성공적으로 완료된 작업 수
-     * - failedJobs: 실패한 작업 수
-     * - totalJobs: 전체 작업 수 (위 4개 항목의 합계)
-     *
-     * 사용 목적:
-     * - 시스템 부하 모니터링
-     * - 큐 크기 제한 관리 (maxQueueSize와 비교)
-     * - 성능 지표 수집 및 분석
-     * - Health Check 엔드포인트에서 시스템 상태 확인
-     *
-     * 향후 개선 사항:
-     * - JobRunr의 실제 큐 통계 API를 사용하여 정확한 통계 반환
-     * - 시간대별 통계, 평균 처리 시간 등 추가 메트릭 제공
-     * - Prometheus/Grafana와 연동하여 시각화
+     * - enqueuedJobs: 대기 중인 작업 수 (countInQueue, DB 기준이므로 모든 노드 합계)
+     * - processingJobs: 이 노드에서 실행 중인 작업 수
+     * - succeededJobs: 이 노드에서 성공한 작업 수 (기동 이후 누적)
+     * - failedJobs: 이 노드에서 예외로 실패한 실행 수 (기동 이후 누적, 재시도 포함)
+     * - retriedJobs: 이 노드에서 재시도된 실행 수 (기동 이후 누적)
      *
      * @return QueueStatistics 큐 통계 정보 객체
      */
-    public QueueStatistics getStatistics() {
+    public QueueStatistics getQueueStatistics() {
         try {
-            // TODO: 실제 구현에서는 JobRunr의 큐 통계 API를 사용하여 정확한 통계 반환
-            // 현재는 내부 맵의 크기만으로 대기 중인 작업 수를 추정
-            // 향후 JobRunr의 Dashboard API나 Statistics API를 활용 가능
-
             return QueueStatistics.builder()
-                    .enqueuedJobs(scheduledJobs.size()) // 내부 맵에 저장된 작업 수 (대기 중)
-                    .processingJobs(0) // 현재 실행 중인 작업 수 (추후 JobRunr API로 조회)
-                    .succeededJobs(0) // 성공한 작업 수 (추후 JobRunr API로 조회)
-                    .failedJobs(0) // 실패한 작업 수 (추후 JobRunr API로 조회)
+                    .enqueuedJobs((int) countInQueue())
+                    .processingJobs(processingCount.get())
+                    .succeededJobs((int) succeededCount.sum())
+                    .failedJobs((int) failedCount.sum())
+                    .retriedJobs((int) retriedCount.sum())
                     .build();
         } catch (Exception e) {
             log.error("큐 통계 조회 실패", e);
@@ -282,53 +524,90 @@ public abstract class BaseJobScheduler {
         }
     }
 
+    /**
+     * 상세 통계 정보 - Health 모니터링용 (QueueStatisticsProvider)
+     */
+    @Override
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        try {
+            stats.put("queue_size", countInQueue());
+        } catch (Exception e) {
+            stats.put("queue_size", -1);
+        }
+        stats.put("in_process", processingCount.get());
+        stats.put("enqueued", enqueuedCount.sum());
+        stats.put("succeeded", succeededCount.sum());
+        stats.put("failed", failedCount.sum());
+        stats.put("retried", retriedCount.sum());
+        stats.put("tracked", scheduledJobs.size());
+        stats.put("queue_wait", timerStatistics(queueWaitTimer));
+        stats.put("service_time", timerStatistics(serviceTimer));
+        return stats;
+    }
+
+    private Map<String, Object> timerStatistics(Timer timer) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (timer == null) {
+            return stats;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        stats.put("count", snapshot.count());
+        stats.put("mean_ms", Math.round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        stats.put("max_ms", Math.round(snapshot.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            stats.put("p" + Math.round(percentile.percentile() * 100) + "_ms",
+                    Math.round(percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        return stats;
+    }
+
     /**
      * 완료된 작업들을 정리하는 메서드
      *
-     * 이 메서드는 완료된 작업들을 내부 추적 맵에서 제거하여 메모리 사용량을 최적화합니다.
-     * 주기적으로 호출되어 시스템 리소스를 효율적으로 관리합니다.
+     * 이 노드에서 실행을 마친 작업은 runJob()에서 바로 추적을 멈추므로,
+     * 여기서는 다른 노드가 실행했거나 최종 실패/취소된 작업의 추적 항목을 제거합니다.
+     * 초기화 시 등록된 정리 스레드가 CLEANUP_INTERVAL_SECONDS마다 호출합니다.
      *
      * 정리 대상:
-     * - 성공적으로 완료된 작업 (SUCCEEDED)
-     * - 실패한 작업 (FAILED)
-     * - 오류가 발생한 작업 추적 항목
+     * - JobRunr 저장소 상태가 SUCCEEDED / FAILED / DELETED 이거나 저장소에서 사라진 작업
+     * - 상태와 관계없이 TRACKING_RETENTION보다 오래 추적한 작업
+     * - TRACKING_RETENTION 동안 재시도되지 않은 실패 기록
      *
      * 정리하지 않는 대상:
-     * - 대기 중인 작업 (SCHEDULED)
+     * - 대기 중인 작업 (SCHEDULED / ENQUEUED)
      * - 실행 중인 작업 (PROCESSING)
-     *
-     * 메모리 최적화 효과:
-     * - 내부 맵의 크기를 줄여 메모리 사용량 감소
-     * - 가비지 컬렉션 부담 감소
-     * - 작업 조회 성능 향상
-     *
-     * 호출 시점:
-     * - 주기적인 스케줄러에 의해 자동 호출
-     * - 시스템 부하가 높을 때 수동 호출
-     * - 애플리케이션 종료 전 정리 작업
-     *
-     * 향후 개선 사항:
-     * - JobRunr의 작업 상태 API를 활용하여 정확한 완료 여부 확인
-     * - 완료된 작업의 보관 기간 설정 (예: 24시간 후 정리)
-     * - 정리 작업의 성능 최적화 (배치 처리)
      */
     public void cleanupCompleted() {
-        log.debug("완료된 작업 정리 시작 - 현재 추적 중인 작업 수: {}", scheduledJobs.size());
+        int before = scheduledJobs.size();
+        Instant expiry = Instant.now().minus(TRACKING_RETENTION);
 
-        // 완료된 작업들을 내부 추적 맵에서 제거
         scheduledJobs.entrySet().removeIf(entry -> {
+            TrackedJob tracked = entry.getValue();
+            if (tracked.trackedAt().isBefore(expiry)) {
+                return true;
+            }
             try {
-                // TODO: 실제 구현에서는 JobRunr의 작업 상태 API를 사용하여 완료 여부 확인
-                // 현재는 단순화된 구현으로 모든 작업을 유지
-                // 향후 JobRunr의 JobDetails API를 활용하여 SUCCEEDED/FAILED 상태 확인 후 제거
-                return false; // 현재는 모든 작업을 유지 (단순화된 구현)
+                StateName state = storageProvider.getJobById(tracked.jobId()).getState();
+                return state == StateName.SUCCEEDED || state == StateName.FAILED || state == StateName.DELETED;
+            } catch (JobNotFoundException e) {
+                return true;
             } catch (Exception e) {
-                // 오류가 발생한 작업 추적 항목은 제거하여 시스템 안정성 확보
+                // 저장소 오류는 다음 주기에 다시 확인
                 log.warn("작업 상태 확인 중 오류 발생 - token: {}", entry.getKey(), e);
-                return true; // 문제가 있는 항목은 제거
+                return false;
             }
         });
+        failedJobs.values().removeIf(failedAt -> failedAt.isBefore(expiry));
+
+        if (before != scheduledJobs.size()) {
+            log.debug("완료된 작업 정리 - queue: {}, {}건 → {}건", getProviderName(), before, scheduledJobs.size());
+        }
+    }
 
-        log.debug("완료된 작업 정리 완료 - 정리 후 추적 중인 작업 수: {}", scheduledJobs.size());
+    /**
+     * 추적 중인 작업 (작업 ID, 추적 시작 시각)
+     */
+    private record TrackedJob(JobId jobId, Instant trackedAt) {
     }
 }
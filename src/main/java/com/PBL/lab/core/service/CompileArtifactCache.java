@@ -0,0 +1,277 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.CompileCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 컴파일 결과물 캐시 (내용 주소 기반)
+ *
+ * 키: SHA-256(소스 코드 + 언어 ID + 정리된 컴파일러 옵션 + 이미지 digest)
+ * 값: 컴파일 직후 /tmp/judge의 tar 아카이브(소스, 컴파일 결과물 - 실행 스크립트는 히트 시 새로 생성한 것으로 덮어씀) + 컴파일 출력
+ *
+ * 동작 방식:
+ * - 로컬 디스크에 {key}.tar, {key}.out 파일로 저장
+ * - 메모리 인덱스(접근 순서 LinkedHashMap)로 LRU 관리, 최대 항목 수/전체 크기 초과 시 제거
+ * - 애플리케이션 시작 시 디스크의 기존 항목을 수정 시각 순으로 인덱스에 적재
+ * - 히트/미스 횟수를 Micrometer 카운터로 노출 (judge0.compile.cache.requests{result=hit|miss})
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompileArtifactCache {
+
+    private static final String ARTIFACT_SUFFIX = ".tar";
+    private static final String OUTPUT_SUFFIX = ".out";
+
+    private final CompileCacheConfig cacheConfig;
+    private final MeterRegistry meterRegistry;
+
+    // 키 → 아카이브 크기 (접근 순서 = LRU 순서)
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private Path cacheDirectory;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void initialize() {
+        hitCounter = Counter.builder("judge0.compile.cache.requests")
+                .tag("result", "hit")
+                .description("Compile artifact cache lookups")
+                .register(meterRegistry);
+        missCounter = Counter.builder("judge0.compile.cache.requests")
+                .tag("result", "miss")
+                .description("Compile artifact cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("judge0.compile.cache.entries", this, cache -> cache.getEntryCount())
+                .register(meterRegistry);
+        Gauge.builder("judge0.compile.cache.bytes", this, cache -> cache.getTotalBytes())
+                .register(meterRegistry);
+
+        if (!cacheConfig.isEnabled()) {
+            return;
+        }
+
+        cacheDirectory = cacheConfig.getDirectory() == null || cacheConfig.getDirectory().isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "judge0", "compile-cache")
+                : Paths.get(cacheConfig.getDirectory());
+        try {
+            Files.createDirectories(cacheDirectory);
+            loadIndex();
+            log.info("[COMPILE-CACHE] 초기화 완료 - 경로: {}, 항목: {}, 크기: {} bytes",
+                    cacheDirectory, getEntryCount(), getTotalBytes());
+        } catch (IOException e) {
+            log.error("[COMPILE-CACHE] 캐시 디렉토리 초기화 실패 - 캐시 비활성화: {}", cacheDirectory, e);
+            cacheDirectory = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cacheConfig.isEnabled() && cacheDirectory != null;
+    }
+
+    /**
+     * 캐시 키 생성
+     *
+     * @param sourceCode       소스 코드
+     * @param languageId       언어 ID
+     * @param compilerOptions  정리(sanitize)된 컴파일러 옵션
+     * @param imageDigest      컨테이너 이미지 digest
+     * @return SHA-256 16진수 문자열
+     */
+    public String computeKey(String sourceCode, Integer languageId, String compilerOptions, String imageDigest) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{sourceCode, String.valueOf(languageId), compilerOptions, imageDigest}) {
+                digest.update((part != null ? part : "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0); // 구분자 (필드 경계 모호성 방지)
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 캐시 조회
+     *
+     * @param key 캐시 키
+     * @return 캐시된 컴파일 결과물 (없으면 empty)
+     */
+    public Optional<CachedArtifact> get(String key) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            if (index.get(key) == null) {
+                missCounter.increment();
+                return Optional.empty();
+            }
+        }
+
+        try {
+            Path artifactFile = cacheDirectory.resolve(key + ARTIFACT_SUFFIX);
+            byte[] artifact = Files.readAllBytes(artifactFile);
+            String compileOutput = Files.readString(cacheDirectory.resolve(key + OUTPUT_SUFFIX), StandardCharsets.UTF_8);
+            // 재시작 후에도 LRU 순서를 유지하기 위해 수정 시각 갱신
+            Files.setLastModifiedTime(artifactFile, FileTime.fromMillis(System.currentTimeMillis()));
+
+            hitCounter.increment();
+            return Optional.of(new CachedArtifact(artifact, compileOutput));
+        } catch (IOException e) {
+            log.warn("[COMPILE-CACHE] 캐시 항목 읽기 실패 - 항목 제거: {}", key, e);
+            synchronized (this) {
+                remove(key);
+            }
+            missCounter.increment();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 캐시 저장 - 저장 후 LRU 기준 초과 항목 제거
+     *
+     * @param key           캐시 키
+     * @param artifact      /tmp/judge tar 아카이브
+     * @param compileOutput 컴파일 출력
+     */
+    public void put(String key, byte[] artifact, String compileOutput) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            writeAtomically(cacheDirectory.resolve(key + OUTPUT_SUFFIX),
+                    (compileOutput != null ? compileOutput : "").getBytes(StandardCharsets.UTF_8));
+            writeAtomically(cacheDirectory.resolve(key + ARTIFACT_SUFFIX), artifact);
+        } catch (IOException e) {
+            log.warn("[COMPILE-CACHE] 캐시 항목 저장 실패: {}", key, e);
+            return;
+        }
+
+        synchronized (this) {
+            Long previous = index.put(key, (long) artifact.length);
+            totalBytes += artifact.length - (previous != null ? previous : 0);
+            evictIfNecessary();
+        }
+        log.debug("[COMPILE-CACHE] 캐시 저장 완료 - 키: {}, 크기: {} bytes", key, artifact.length);
+    }
+
+    public synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void evictIfNecessary() {
+        long maxBytes = cacheConfig.getMaxSizeMb() * 1024 * 1024;
+        Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+        while ((index.size() > cacheConfig.getMaxEntries() || totalBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            deleteFiles(eldest.getKey());
+            log.debug("[COMPILE-CACHE] LRU 제거 - 키: {}", eldest.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteFiles(key);
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(cacheDirectory.resolve(key + ARTIFACT_SUFFIX));
+            Files.deleteIfExists(cacheDirectory.resolve(key + OUTPUT_SUFFIX));
+        } catch (IOException e) {
+            log.warn("[COMPILE-CACHE] 캐시 파일 삭제 실패: {}", key, e);
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(cacheDirectory, "tmp-", ".part");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 디스크의 기존 캐시 항목을 수정 시각 순(오래된 것 먼저)으로 인덱스에 적재
+     */
+    private synchronized void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(ARTIFACT_SUFFIX))
+                    .sorted(Comparator.comparing(this::lastModified))
+                    .forEach(path -> {
+                        String fileName = path.getFileName().toString();
+                        String key = fileName.substring(0, fileName.length() - ARTIFACT_SUFFIX.length());
+                        if (!Files.exists(cacheDirectory.resolve(key + OUTPUT_SUFFIX))) {
+                            deleteFiles(key);
+                            return;
+                        }
+                        try {
+                            long size = Files.size(path);
+                            index.put(key, size);
+                            totalBytes += size;
+                        } catch (IOException e) {
+                            deleteFiles(key);
+                        }
+                    });
+        }
+        evictIfNecessary();
+    }
+
+    private FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * 캐시된 컴파일 결과물
+     */
+    @Data
+    @AllArgsConstructor
+    public static class CachedArtifact {
+        private byte[] artifact;       // /tmp/judge tar 아카이브
+        private String compileOutput;  // 컴파일 출력
+    }
+}
@@ -3,11 +3,21 @@ package com.PBL.lab.core.service;
 import com.PBL.lab.core.dto.CodeExecutionRequest;
 import com.PBL.lab.core.dto.CompilationContext;
 import com.PBL.lab.core.dto.ExecResult;
+import com.PBL.lab.core.dto.ExecutionInputOutputDTO;
 import com.PBL.lab.core.dto.ExecutionResult;
+import com.PBL.lab.core.dto.FramedExecResult;
+import com.PBL.lab.core.dto.RawExecResult;
+import com.PBL.lab.core.dto.RunStatistics;
+import com.PBL.lab.core.config.ExecutionLimitsConfig;
+import com.PBL.lab.core.config.GradingConfig;
 import com.github.dockerjava.api.DockerClient;
+import com.PBL.lab.core.docker.ContainerArchive;
 import com.PBL.lab.core.docker.ContainerManager;
+import com.PBL.lab.core.docker.ContainerPool;
+import com.PBL.lab.core.docker.ContainerReaper;
 import com.PBL.lab.core.entity.Language;
 import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.core.exception.AdmissionTimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -59,12 +70,31 @@ public class DockerExecutionService {
 
     private final DockerClient dockerClient; // Docker API 클라이언트 (컨테이너 제어)
     private final ContainerManager containerManager; // 컨테이너 관리 서비스 (온디맨드 생성/삭제)
+    private final ContainerPool containerPool; // 실행 컨테이너 풀 (warm 컨테이너 재사용)
+    private final ContainerReaper containerReaper; // 컨테이너 반환/폐기 (비동기 정리)
+    private final GradingConfig gradingConfig; // 채점 실행 방식 설정 (배치 하네스)
+    private final CompileArtifactCache compileArtifactCache; // 컴파일 결과물 캐시 (재제출 시 컴파일 생략)
+    private final ExecutionResultCache executionResultCache; // 실행 결과 캐시 (동일 요청 반복 실행 시 Docker 생략)
+    private final ExecutionLimitsConfig executionLimitsConfig; // 기본 실행 제한 (출력 크기 상한 기본값)
+    private final HotRunnerSupport hotRunnerSupport; // 상주 런타임 러너 (배치 하네스 hot 모드)
+
+    // 프레임 러너 exec 대기 시간 (스크립트 내부 timeout 30초 + 결과 전송 여유)
+    private static final long FRAMED_EXEC_TIMEOUT_SECONDS = 35;
+
+    // 러너/하네스 응답 수집 상한 계산 시 헤더와 결과 행에 더하는 여유 (바이트)
+    private static final long FRAME_HEADER_RESERVE_BYTES = 4096;
+
+    // 전체 실행(run-all) 배치에서 두 번째 실패 케이스부터 전송하는 stdout/stderr 각각의 상한 (바이트)
+    private static final long RUN_ALL_FAILED_OUTPUT_BYTES = 64 * 1024;
+
+    // 상주 러너 READY 응답 대기 시간 (인터프리터 기동 + 공통 모듈 로드 포함)
+    private static final long HOT_RUNNER_START_TIMEOUT_SECONDS = 30;
 
     @Value("${judge0.docker-execution.container-timeout:30000}")
     private long containerAcquireTimeout; // 컨테이너 획득 대기 시간 (밀리초)
 
-    @Value("${judge0.docker-execution.cleanup-async:true}")
-    private boolean asyncCleanup; // 비동기 정리 작업 사용 여부
+    @Value("${judge0.docker-execution.framed-runner:true}")
+    private boolean framedRunner; // 테스트케이스당 단일 exec(프레임 응답) 실행 여부
 
     /**
      * 코드 컴파일 준비 (Grade 전용 - 1회 컴파일)
@@ -74,9 +104,9 @@ public class DockerExecutionService {
      *
      * 실행 과정:
      * 1. 작업 디렉토리 생성
-     * 2. 언어별 Docker 이미지로 컨테이너 생성 및 시작
-     * 3. 소스코드 파일 준비 (stdin 제외)
-     * 4. 컨파일 (필요한 경우)
+     * 2. 컨테이너 풀에서 언어 이미지/리소스 프로파일에 맞는 컨테이너 획득
+     * 3. 소스코드(캐시 히트 시 캐시된 결과물)와 컴파일/실행 스크립트를 하나의 tar 아카이브로 1회 전송
+     * 4. 컴파일 (필요하고 캐시 미스인 경우), 성공 시 캐시 저장
      * 5. CompilationContext 반환 (컨테이너는 유지)
      *
      * 주의:
@@ -95,28 +125,43 @@ public class DockerExecutionService {
             Language language = request.getLanguage();
             log.info("[COMPILE] 컴파일 준비 시작 - 언어: {}, 이미지: {}", language.getName(), language.getEffectiveDockerImage());
 
-            // 1. 컨테이너 생성 및 시작 (tmpfs 자동 생성)
-            log.info("[COMPILE] 컨테이너 생성 시작");
-            containerId = containerManager.createExecutionContainer(language, null, request);
-            log.info("[COMPILE] 컨테이너 시작 시작 - ID: {}", containerId);
-            containerManager.startContainer(containerId);
+            // 1. 컨테이너 획득 (유휴 컨테이너 재사용, 없으면 생성 및 시작)
+            log.info("[COMPILE] 컨테이너 획득 시작");
+            containerId = containerPool.acquire(language, request);
 
-            long containerCreateTime = System.currentTimeMillis() - startTime;
-            log.info("[COMPILE] 컨테이너 생성 및 시작 완료 - ID: {}, 소요 시간: {}ms", containerId, containerCreateTime);
+            long containerAcquireTime = System.currentTimeMillis() - startTime;
+            log.info("[COMPILE] 컨테이너 획득 완료 - ID: {}, 소요 시간: {}ms", containerId, containerAcquireTime);
 
-            // 2. 컨테이너 내부에 소스코드 파일 생성 (tmpfs에 직접 생성)
-            log.debug("[COMPILE] 소스코드 파일 준비 시작 (컨테이너 내부)");
-            prepareSourceCodeInContainer(request, containerId);
-            log.debug("[COMPILE] 소스코드 파일 준비 완료");
+            // 2. 컴파일 결과물 캐시 조회 (컴파일 언어만)
+            String compileOutput = "";
+            String cacheKey = null;
+            boolean cacheHit = false;
+            ContainerArchive staging = new ContainerArchive();
+            if (language.supportsCompilation() && compileArtifactCache.isEnabled()) {
+                cacheKey = compileArtifactCache.computeKey(
+                        request.getSourceCode(),
+                        language.getId(),
+                        sanitizeOptions(request.getCompilerOptions()),
+                        containerManager.getImageDigest(language.getEffectiveDockerImage()));
+                Optional<CompileArtifactCache.CachedArtifact> cached = compileArtifactCache.get(cacheKey);
+                if (cached.isPresent()) {
+                    staging.addArchive(cached.get().getArtifact());
+                    compileOutput = cached.get().getCompileOutput();
+                    cacheHit = true;
+                    log.info("[COMPILE] 컴파일 캐시 히트 - 컴파일 생략, 키: {}", cacheKey);
+                }
+            }
 
-            // 2-1. 실행 스크립트 생성 (한 번만 생성, 모든 테스트케이스에서 재사용)
-            log.debug("[COMPILE] 실행 스크립트 생성 시작 (컨테이너 내부)");
-            createRunScriptInContainer(language, containerId);
-            log.debug("[COMPILE] 실행 스크립트 생성 완료");
+            // 3. 소스코드/스크립트 파일을 하나의 아카이브로 묶어 1회 전송 (tmpfs에 직접 생성)
+            if (!cacheHit) {
+                addSourceFiles(request, staging);
+            }
+            addRunScripts(language, staging);
+            containerManager.uploadArchive(containerId, staging.toByteArray());
+            log.debug("[COMPILE] 작업 파일 전송 완료 - 파일: {}개", staging.size());
 
-            // 3. 컴파일 (필요시)
-            String compileOutput = "";
-            if (language.supportsCompilation()) {
+            // 4. 컴파일 (필요시)
+            if (!cacheHit && language.supportsCompilation()) {
                 log.info("[COMPILE] 컴파일 실행 시작 - 컨테이너 ID: {}", containerId);
                 ExecResult compileResult =
                         containerManager.executeScript(containerId, "/tmp/judge/compile.sh", 30);
@@ -126,17 +171,26 @@ public class DockerExecutionService {
 
                 if (compileResult.hasError()) {
                     log.error("[COMPILE] 컴파일 실패 - 종료 코드: {}, 출력: {}", compileResult.getExitCode(), compileOutput);
-                    // 컴파일 실패 시 컨테이너 정리 (tmpfs는 컨테이너와 함께 자동 삭제)
+                    // 컴파일 실패 시 컨테이너 반환 (컨테이너 상태는 정상이므로 초기화 후 재사용)
                     try {
-                        containerManager.stopContainer(containerId);
-                        containerManager.removeContainer(containerId);
+                        containerReaper.release(containerId);
                     } catch (Exception cleanupEx) {
                         log.error("[COMPILE] 컴파일 실패 후 정리 중 오류", cleanupEx);
                     }
+                    containerId = null;
                     throw new RuntimeException("Compilation failed: " + compileOutput);
                 }
                 log.info("[COMPILE] 컴파일 성공");
-            } else {
+
+                // 4-1. 컴파일 결과물 캐시 저장
+                if (cacheKey != null) {
+                    try {
+                        compileArtifactCache.put(cacheKey, containerManager.downloadWorkDirectory(containerId), compileOutput);
+                    } catch (Exception cacheEx) {
+                        log.warn("[COMPILE] 컴파일 결과물 캐시 저장 실패 - 키: {}", cacheKey, cacheEx);
+                    }
+                }
+            } else if (!language.supportsCompilation()) {
                 log.debug("[COMPILE] 컴파일 불필요 - 인터프리터 언어");
             }
 
@@ -160,16 +214,19 @@ public class DockerExecutionService {
                     .compileOutput(compileOutput)
                     .language(language)
                     .compileTime(compileTime)
+                    .outputLimitBytes(resolveOutputLimitBytes(request))
+                    .cpuTimeLimit(request.getConstraints() != null ? request.getConstraints().getTimeLimit() : null)
+                    .memoryLimitKb(request.getConstraints() != null ? request.getConstraints().getMemoryLimit() : null)
+                    .numberOfRuns(resolveNumberOfRuns(request))
                     .build();
 
         } catch (Exception e) {
             log.error("[COMPILE] 컴파일 준비 실패", e);
-            // 오류 발생 시 컨테이너 정리 (tmpfs는 컨테이너와 함께 자동 삭제)
+            // 오류 발생 시 컨테이너 폐기 (상태를 신뢰할 수 없으므로 풀에 반환하지 않음)
             if (containerId != null) {
                 log.info("[COMPILE] 오류 발생으로 컨테이너 정리 시작 - ID: {}", containerId);
                 try {
-                    containerManager.stopContainer(containerId);
-                    containerManager.removeContainer(containerId);
+                    containerReaper.invalidate(containerId);
                 } catch (Exception cleanupEx) {
                     log.error("[COMPILE] 컨테이너 정리 실패", cleanupEx);
                 }
@@ -190,6 +247,12 @@ public class DockerExecutionService {
      * 3. 컨테이너에서 코드 실행
      * 4. 결과 수집 및 반환
      *
+     * 프레임 러너(judge0.docker-execution.framed-runner=true)가 활성화되면
+     * 위 과정을 단일 exec로 수행합니다. (executeFramedTestCase 참고)
+     *
+     * 실행 횟수(Constraints.numberOfRuns)가 1보다 크면 같은 입력으로 반복 실행하고
+     * 중앙값으로 판정합니다. (executeMultipleRuns 참고)
+     *
      * 주의:
      * - 컨테이너를 정리하지 않음 (계속 재사용)
      * - cleanupCompilation()으로 최종 정리 필요
@@ -200,9 +263,69 @@ public class DockerExecutionService {
      * @return ExecutionResult 실행 결과
      */
     public ExecutionResult executeWithCompiledCode(CompilationContext context, String stdin, String expectedOutput) {
+        if (context.getNumberOfRuns() > 1) {
+            return executeMultipleRuns(context, stdin, expectedOutput);
+        }
+        return executeSingleRun(context, stdin, expectedOutput);
+    }
+
+    /**
+     * 같은 입력으로 N회 실행 후 통계 집계 (Constraints.numberOfRuns > 1)
+     *
+     * 동작 방식:
+     * - 각 실행은 CPU/메모리 제한 판정 없이 수행하고, 중앙값 CPU 시간/메모리로 TLE/MLE를 판정
+     * - AC가 아닌 실행(오답, 런타임 오류, 실행 시간 초과 등)이 나오면 남은 실행을 생략하고
+     *   해당 결과에 제한 판정을 적용해 반환 (결과가 바뀌지 않으므로 반복 불필요)
+     * - 출력/종료 코드는 CPU 시간이 중앙값에 가장 가까운 실행의 결과 사용
+     * - 최소/중앙값/최대 CPU 시간과 메모리는 ExecutionResult.runStatistics에 기록
+     */
+    private ExecutionResult executeMultipleRuns(CompilationContext context, String stdin, String expectedOutput) {
+        int runs = context.getNumberOfRuns();
+        CompilationContext unlimited = context.toBuilder().cpuTimeLimit(null).memoryLimitKb(null).build();
+        List<ExecutionResult> results = new ArrayList<>(runs);
+
+        for (int run = 1; run <= runs; run++) {
+            ExecutionResult result = executeSingleRun(unlimited, stdin, expectedOutput);
+            if (result.getStatus() != Status.AC) {
+                log.info("[RUN] 다중 실행 중단 - {}/{}회차 상태: {}", run, runs, result.getStatus());
+                result.setStatus(applyResourceLimits(result.getStatus(),
+                        toMillis(result.getTime()), toKb(result.getMemory()), context));
+                return result;
+            }
+            results.add(result);
+        }
+
+        RunStatistics statistics = RunStatistics.from(results);
+        ExecutionResult representative = results.stream()
+                .filter(result -> result.getTime() != null && statistics.getMedianTime() != null)
+                .min(Comparator.comparing(result -> result.getTime().subtract(statistics.getMedianTime()).abs()))
+                .orElse(results.get(0));
+        Status status = applyResourceLimits(Status.AC,
+                toMillis(statistics.getMedianTime()), toKb(statistics.getMedianMemory()), context);
+
+        log.info("[RUN] 다중 실행 완료 - {}회, CPU 시간(최소/중앙값/최대): {}/{}/{}s, 메모리(최소/중앙값/최대): {}/{}/{}KB, 상태: {}",
+                runs, statistics.getMinTime(), statistics.getMedianTime(), statistics.getMaxTime(),
+                statistics.getMinMemory(), statistics.getMedianMemory(), statistics.getMaxMemory(), status);
+
+        return representative.toBuilder()
+                .status(status)
+                .time(statistics.getMedianTime() != null ? statistics.getMedianTime() : representative.getTime())
+                .memory(statistics.getMedianMemory())
+                .runStatistics(statistics)
+                .build();
+    }
+
+    /**
+     * 컴파일된 코드를 특정 입력으로 1회 실행
+     */
+    private ExecutionResult executeSingleRun(CompilationContext context, String stdin, String expectedOutput) {
         long startTime = System.currentTimeMillis();
 
         try {
+            if (framedRunner) {
+                return executeFramedTestCase(context, stdin, expectedOutput, startTime);
+            }
+
             String containerId = context.getContainerId();
 
             log.info("[RUN] 코드 실행 시작 - 컨테이너 ID: {}", containerId);
@@ -222,12 +345,8 @@ public class DockerExecutionService {
             String stdinContent = stdin != null ? stdin : "";
             if (!stdinContent.isEmpty()) {
                 log.debug("[RUN] stdin.txt 파일 생성 시작 - 크기: {} bytes", stdinContent.length());
-                containerManager.createFileInContainer(
-                        containerId,
-                        "/tmp/judge/stdin.txt",
-                        stdinContent,
-                        false
-                );
+                containerManager.uploadArchive(containerId,
+                        new ContainerArchive().addFile("stdin.txt", stdinContent, false).toByteArray());
                 log.debug("[RUN] stdin.txt 파일 생성 완료");
             }
 
@@ -236,7 +355,7 @@ public class DockerExecutionService {
             ExecResult runResult =
                     containerManager.executeWithStdin(
                             containerId,
-                            new String[]{"sh", "/tmp/judge/run.sh"},
+                            new String[]{"bash", "/tmp/judge/run.sh"},
                             null,  // stdin은 /tmp/judge/stdin.txt 파일에서 읽음
                             30
                     );
@@ -250,9 +369,13 @@ public class DockerExecutionService {
 
             // 3. 결과 수집 (컨테이너 내부 파일에서 읽기)
             log.debug("[RUN] 실행 결과 수집 시작 (컨테이너 내부)");
-            String stdoutContent = readFileFromContainer(containerId, "/tmp/judge/stdout.txt", 10);
-            String stderrContent = readFileFromContainer(containerId, "/tmp/judge/stderr.txt", 10);
+            CapturedFile stdoutFile = readFileFromContainer(containerId, "/tmp/judge/stdout.txt", 10, context.getOutputLimitBytes());
+            CapturedFile stderrFile = readFileFromContainer(containerId, "/tmp/judge/stderr.txt", 10, context.getOutputLimitBytes());
+            String stdoutContent = stdoutFile.content();
+            String stderrContent = stderrFile.content();
+            boolean outputTruncated = stdoutFile.truncated() || stderrFile.truncated();
             String exitCodeContent = readFileFromContainer(containerId, "/tmp/judge/exit_code.txt", 10);
+            String resourcesContent = readFileFromContainer(containerId, "/tmp/judge/resources.txt", 10);
 
             Integer exitCode = runResult.getExitCode();
             if (exitCodeContent != null && !exitCodeContent.trim().isEmpty()) {
@@ -273,21 +396,30 @@ public class DockerExecutionService {
                     stderrContent != null ? stderrContent : "null");
             }
 
-            // 4. 실행 시간 계산
+            // 4. 실행 시간 / 자원 사용량 (resources.txt: "CPU(ms) 최대메모리(KB)", 측정 불가 시 -1)
             long totalTime = System.currentTimeMillis() - startTime;
             BigDecimal wallTime = BigDecimal.valueOf(totalTime / 1000.0);
-            BigDecimal actualTime = wallTime;  // tmpfs에서는 time 파일을 따로 읽지 않고 wallTime 사용
+            Long cpuMillis = null;
+            Long peakMemoryKb = null;
+            if (resourcesContent != null && !resourcesContent.trim().isEmpty()) {
+                String[] resources = resourcesContent.trim().split("\\s+");
+                try {
+                    cpuMillis = toMeasured(Long.parseLong(resources[0]));
+                    peakMemoryKb = resources.length > 1 ? toMeasured(Long.parseLong(resources[1])) : null;
+                } catch (NumberFormatException ignored) {}
+            }
+            BigDecimal actualTime = cpuMillis != null ? millisToSeconds(cpuMillis) : wallTime;
 
             // 5. 상태 판정
-            Status status = determineExecutionStatus(
+            Status status = applyResourceLimits(applyOutputTruncation(determineExecutionStatus(
                     runResult.isCompleted(),
                     exitCode,
                     expectedOutput,
                     stdoutContent
-            );
+            ), outputTruncated, expectedOutput), cpuMillis, peakMemoryKb, context);
 
-            // 6. 메모리 사용량 (기본값)
-            Integer memoryUsage = 2048;
+            // 6. 최대 메모리 사용량 (KB, 측정 불가 시 null)
+            Integer memoryUsage = peakMemoryKb != null ? peakMemoryKb.intValue() : null;
 
             log.info("[RUN] 코드 실행 완료 - 총 소요 시간: {}ms, 상태: {}, 종료 코드: {}", totalTime, status, exitCode);
 
@@ -300,6 +432,7 @@ public class DockerExecutionService {
                     .memory(memoryUsage)
                     .exitCode(exitCode)
                     .status(status)
+                    .outputTruncated(outputTruncated)
                     .totalExecutionTime(totalTime)
                     .build();
 
@@ -309,11 +442,509 @@ public class DockerExecutionService {
         }
     }
 
+    /**
+     * 단일 exec 테스트케이스 실행 (프레임 러너)
+     *
+     * stdin을 attach된 exec 스트림으로 전달하고, run_framed.sh가 돌려주는
+     * 프레임(종료 코드, stdout/stderr 길이, 경과 시간 헤더 + 출력 바이트)을 해석합니다.
+     * 기존 방식의 상태 확인(inspect), stdin 파일 생성, 결과 파일 cat 호출이 모두 제거되어
+     * 테스트케이스당 Docker API 호출이 exec 생성/시작 2회로 줄어듭니다.
+     *
+     * 컨테이너가 중지된 경우 exec 생성 단계에서 예외가 발생하므로 별도 상태 확인은 하지 않습니다.
+     */
+    private ExecutionResult executeFramedTestCase(CompilationContext context, String stdin,
+                                                  String expectedOutput, long startTime) throws Exception {
+        String containerId = context.getContainerId();
+        byte[] stdinBytes = (stdin != null ? stdin : "").getBytes(StandardCharsets.UTF_8);
+
+        log.info("[RUN] 코드 실행 시작 (프레임 러너) - 컨테이너 ID: {}, stdin 크기: {} bytes", containerId, stdinBytes.length);
+        long outputLimit = context.getOutputLimitBytes();
+        FramedExecResult runResult = containerManager.executeFramed(
+                containerId,
+                new String[]{"bash", "/tmp/judge/run_framed.sh",
+                        String.valueOf(stdinBytes.length), String.valueOf(outputLimit)},
+                stdinBytes,
+                FRAMED_EXEC_TIMEOUT_SECONDS,
+                2 * outputLimit + FRAME_HEADER_RESERVE_BYTES  // 러너가 자른 stdout + stderr + 헤더
+        );
+
+        if (runResult.getRunnerError() != null && !runResult.getRunnerError().isEmpty()) {
+            log.error("[RUN] ⚠️ run_framed.sh 실행 중 stderr: {}", runResult.getRunnerError());
+        }
+
+        Integer exitCode = runResult.getExitCode();
+        if (exitCode != null && exitCode != 0) {
+            log.error("[RUN] ⚠️ 실행 에러 발생 (exit code: {})", exitCode);
+            log.error("[RUN] stderr 내용 ({}bytes):\n{}", runResult.getStderr().length(), runResult.getStderr());
+        }
+
+        // 경과 시간: 컨테이너 내부 측정값 우선, 없으면 전체 소요 시간 사용
+        long totalTime = System.currentTimeMillis() - startTime;
+        BigDecimal wallTime = runResult.getElapsedNanos() != null && runResult.getElapsedNanos() >= 0
+                ? BigDecimal.valueOf(runResult.getElapsedNanos()).divide(BigDecimal.valueOf(1_000_000_000L), 3, java.math.RoundingMode.HALF_UP)
+                : BigDecimal.valueOf(totalTime / 1000.0);
+
+        Status status = applyResourceLimits(applyOutputTruncation(determineExecutionStatus(
+                runResult.isCompleted(),
+                exitCode,
+                expectedOutput,
+                runResult.getStdout()
+        ), runResult.isOutputTruncated(), expectedOutput), runResult.getCpuTimeMillis(), runResult.getPeakMemoryKb(), context);
+
+        log.info("[RUN] 코드 실행 완료 (프레임 러너) - 총 소요 시간: {}ms, 상태: {}, 종료 코드: {}", totalTime, status, exitCode);
+
+        return ExecutionResult.builder()
+                .stdout(runResult.getStdout())
+                .stderr(runResult.getStderr())
+                .compileOutput(context.getCompileOutput())
+                .time(runResult.getCpuTimeMillis() != null ? millisToSeconds(runResult.getCpuTimeMillis()) : wallTime)
+                .wallTime(wallTime)
+                .memory(runResult.getPeakMemoryKb() != null ? runResult.getPeakMemoryKb().intValue() : null)
+                .exitCode(exitCode)
+                .status(status)
+                .outputTruncated(runResult.isOutputTruncated())
+                .totalExecutionTime(totalTime)
+                .build();
+    }
+
+    /**
+     * 테스트케이스 배치 실행 (Grade 전용 - 하네스 1회 실행, 첫 실패 시 중단)
+     *
+     * @see #executeBatch(CompilationContext, List, boolean)
+     */
+    public List<ExecutionResult> executeBatch(CompilationContext context,
+                                              List<ExecutionInputOutputDTO> testCases) throws Exception {
+        return executeBatch(context, testCases, true, null);
+    }
+
+    /**
+     * 테스트케이스 배치 실행 (Grade 전용 - 하네스 1회 실행)
+     *
+     * 모든 테스트케이스 입력/기대 출력과 하네스 스크립트를 하나의 tar 아카이브로 전송하고,
+     * 컨테이너 내부 하네스가 테스트케이스를 순차 실행합니다.
+     *
+     * 실행 과정:
+     * 1. 아카이브 전송 (exec 1회) - harness.sh, cases/{i}/in, cases/{i}/expected
+     * 2. 하네스 실행 (exec 1회) - 케이스별 timeout 적용, 출력 비교
+     *    (failFast면 첫 실패 시 즉시 중단, 아니면 끝까지 실행)
+     * 3. 결과 테이블 해석 - 케이스별 종료 코드/출력 크기/실행 시간/판정/stdout 해시, 실패 케이스의 stdout/stderr
+     *
+     * 전체 실행(failFast=false)에서는 수집 메모리를 제한하기 위해 두 번째 실패 케이스부터
+     * 출력을 RUN_ALL_FAILED_OUTPUT_BYTES까지만 전송합니다 (출력 초과 판정은 실제 크기 기준).
+     *
+     * 결과 행은 하네스가 출력하는 대로 해석하여 케이스가 끝날 때마다 onCaseResult를 호출합니다
+     * (실시간 진행률 전송용, Docker 스트림 콜백 스레드에서 호출).
+     *
+     * 하네스가 중간에 종료되었거나 실패 판정이 서버 측 출력 비교와 다르면
+     * 남은 테스트케이스는 executeWithCompiledCode()로 이어서 실행합니다.
+     * 하네스가 시간 초과로 끝나지 않았으면 개별 실행 전에 컨테이너의 남은 프로세스를 종료합니다.
+     *
+     * @param context      컴파일 컨텍스트
+     * @param testCases    테스트케이스 입력/기대 출력 목록 (stdin, expectedOutput 사용)
+     * @param failFast     true면 첫 실패 케이스에서 중단, false면 전체 케이스 실행
+     * @param onCaseResult 케이스 결과 콜백 (케이스 인덱스, 결과) - null 가능
+     * @return 테스트케이스 순서대로의 실행 결과 (fail-fast: 첫 실패 케이스까지, 모두 통과 또는 전체 실행 시 전체)
+     * @throws Exception 아카이브 전송 또는 하네스 실행 실패 시
+     */
+    public List<ExecutionResult> executeBatch(CompilationContext context, List<ExecutionInputOutputDTO> testCases,
+                                              boolean failFast, BiConsumer<Integer, ExecutionResult> onCaseResult)
+            throws Exception {
+        long startTime = System.currentTimeMillis();
+        String containerId = context.getContainerId();
+
+        // 다중 실행(numberOfRuns > 1)은 하네스가 지원하지 않으므로 케이스별로 실행
+        if (context.getNumberOfRuns() > 1) {
+            log.info("[BATCH] 다중 실행 요청 ({}회) - 테스트케이스 개별 실행", context.getNumberOfRuns());
+            List<ExecutionResult> results = new ArrayList<>();
+            for (ExecutionInputOutputDTO testCase : testCases) {
+                ExecutionResult result = executeWithCompiledCode(context, testCase.getStdin(), testCase.getExpectedOutput());
+                notifyCaseResult(onCaseResult, results.size(), result);
+                results.add(result);
+                if (failFast && result.getStatus() != Status.AC) {
+                    break;
+                }
+            }
+            return results;
+        }
+        int caseTimeLimit = gradingConfig.getCaseTimeLimitSeconds();
+
+        // 1. 하네스 + 테스트케이스 아카이브 전송
+        // 상주 러너 모드: 지원 언어면 러너 파일을 함께 전송하고 하네스가 러너로 케이스 실행
+        Optional<HotRunnerSupport.HotRunner> hotRunner = gradingConfig.isHotMode()
+                ? hotRunnerSupport.resolve(context.getLanguage())
+                : Optional.empty();
+        ContainerArchive archive = new ContainerArchive()
+                .addFile("harness.sh", buildHarnessScript(context.getLanguage(),
+                        hotRunner.map(HotRunnerSupport.HotRunner::command).orElse(null)), true);
+        hotRunner.ifPresent(runner -> archive.addFile(runner.fileName(), runner.content(), false));
+        for (int i = 0; i < testCases.size(); i++) {
+            ExecutionInputOutputDTO testCase = testCases.get(i);
+            archive.addFile("cases/" + i + "/in", testCase.getStdin(), false);
+            if (testCase.getExpectedOutput() != null && !testCase.getExpectedOutput().trim().isEmpty()) {
+                archive.addFile("cases/" + i + "/expected", testCase.getExpectedOutput(), false);
+            }
+        }
+        containerManager.uploadArchive(containerId, archive.toByteArray());
+        log.info("[BATCH] 테스트케이스 아카이브 전송 완료 - {}개, 상주 러너: {}, 컨테이너 ID: {}",
+                testCases.size(), hotRunner.isPresent(), containerId);
+
+        // 2. 하네스 실행 (전체 대기 시간 = 케이스 수 × (케이스 제한 + 1초) + 여유, 상주 러너 사용 시 기동 대기 포함)
+        long timeoutSeconds = (long) testCases.size() * (caseTimeLimit + 1) + 10
+                + (hotRunner.isPresent() ? HOT_RUNNER_START_TIMEOUT_SECONDS : 0);
+        long outputLimit = context.getOutputLimitBytes();
+        long restOutputLimit = failFast ? 0 : Math.min(outputLimit, RUN_ALL_FAILED_OUTPUT_BYTES);
+        // 결과 행 + 실패 케이스 출력 (첫 실패는 출력 상한, 이후 실패는 restOutputLimit)
+        long captureLimit = 2 * outputLimit + 2 * restOutputLimit * Math.max(0, testCases.size() - 1)
+                + (long) testCases.size() * 160 + FRAME_HEADER_RESERVE_BYTES;
+        HarnessOutputParser parser = new HarnessOutputParser(testCases, context, captureLimit, onCaseResult);
+        RawExecResult raw = containerManager.executeRaw(
+                containerId,
+                new String[]{"bash", "/tmp/judge/harness.sh",
+                        String.valueOf(testCases.size()), String.valueOf(caseTimeLimit), String.valueOf(outputLimit),
+                        String.valueOf(cpuTimeLimitMillis(context)),
+                        String.valueOf(context.getMemoryLimitKb() != null ? context.getMemoryLimitKb() : -1),
+                        failFast ? "0" : "1", String.valueOf(restOutputLimit)},
+                null,
+                timeoutSeconds,
+                captureLimit,
+                parser::accept
+        );
+        if (raw.getStderr() != null && !raw.getStderr().isEmpty()) {
+            log.error("[BATCH] ⚠️ harness.sh 실행 중 stderr: {}", raw.getStderr());
+        }
+
+        // 3. 결과 테이블 (수신하면서 해석한 결과)
+        List<ExecutionResult> results = parser.finish();
+
+        // 시간 초과로 반환된 경우 하네스와 사용자 프로세스가 아직 실행 중일 수 있으므로 개별 실행 전에 종료
+        if (!raw.isCompleted()) {
+            stopContainerProcesses(containerId);
+        }
+
+        // 4. 하네스가 끝까지 실행되지 못한 경우 남은 케이스 개별 실행
+        boolean stopped = failFast && !results.isEmpty() && results.get(results.size() - 1).getStatus() != Status.AC;
+        if (!stopped && results.size() < testCases.size()) {
+            log.warn("[BATCH] 하네스 결과 불완전 - 완료 여부: {}, 결과: {}/{}, 남은 케이스 개별 실행",
+                    raw.isCompleted(), results.size(), testCases.size());
+            for (int i = results.size(); i < testCases.size(); i++) {
+                ExecutionResult result = executeWithCompiledCode(
+                        context, testCases.get(i).getStdin(), testCases.get(i).getExpectedOutput());
+                notifyCaseResult(onCaseResult, i, result);
+                results.add(result);
+                if (failFast && result.getStatus() != Status.AC) {
+                    break;
+                }
+            }
+        }
+
+        log.info("[BATCH] 배치 실행 완료 - 결과: {}/{}, 총 소요 시간: {}ms",
+                results.size(), testCases.size(), System.currentTimeMillis() - startTime);
+        return results;
+    }
+
+    /**
+     * 컨테이너의 남은 프로세스 종료 (exec 사용자와 같은 사용자의 프로세스 전체, PID 1 제외)
+     * - 시간 초과된 하네스, 상주 러너, 사용자 프로그램이 이어지는 개별 실행과 겹치지 않도록 함
+     */
+    private void stopContainerProcesses(String containerId) {
+        try {
+            containerManager.executeRaw(containerId,
+                    new String[]{"sh", "-c", "kill -9 -1 2>/dev/null; exit 0"}, null, 10);
+            log.info("[BATCH] 시간 초과된 하네스 프로세스 종료 - 컨테이너 ID: {}", containerId);
+        } catch (Exception e) {
+            log.warn("[BATCH] 하네스 프로세스 종료 실패 - 컨테이너 ID: {}", containerId, e);
+        }
+    }
+
+    private void notifyCaseResult(BiConsumer<Integer, ExecutionResult> onCaseResult, int index, ExecutionResult result) {
+        if (onCaseResult == null) {
+            return;
+        }
+        try {
+            onCaseResult.accept(index, result);
+        } catch (Exception e) {
+            log.warn("[BATCH] 케이스 결과 콜백 오류 - 케이스: {}", index + 1, e);
+        }
+    }
+
+    /**
+     * 하네스 출력 해석기 (수신하는 대로 해석)
+     *
+     * 출력 형식 (케이스 순서대로 반복):
+     * - 결과 행: "인덱스 종료코드 stdout길이 stderr길이 경과시간(ns) PASS|FAIL stdout원래크기 stderr원래크기 CPU(ms) 메모리(KB) stdout해시"
+     *   (길이는 전송한 크기, stdout해시는 전체 stdout의 SHA-256 앞 16자리이며 출력이 없으면 "-")
+     * - FAIL 행 바로 뒤: 그 케이스의 stdout 바이트 + stderr 바이트 (행의 길이만큼)
+     * - 종료 행: "END"
+     *
+     * PASS 케이스는 출력을 전송하지 않으므로 stdout/stderr가 비어 있습니다 (해시는 제공).
+     * 줄바꿈 없이 끝난 행이나 출력이 덜 전송된 FAIL 케이스는 결과에 포함하지 않으므로,
+     * 호출 측이 그 케이스부터 개별 실행합니다. 아직 해석하지 않은 바이트가 수집 상한을 넘으면 해석을 중단합니다.
+     */
+    private final class HarnessOutputParser {
+        private final List<ExecutionInputOutputDTO> testCases;
+        private final CompilationContext context;
+        private final long pendingLimit;
+        private final BiConsumer<Integer, ExecutionResult> onCaseResult;
+        private final List<ExecutionResult> results = new ArrayList<>();
+        private byte[] pending = new byte[0];
+        private String[] failedRow; // 출력 바이트를 기다리는 FAIL 행
+        private boolean ended;
+
+        private HarnessOutputParser(List<ExecutionInputOutputDTO> testCases, CompilationContext context,
+                                    long pendingLimit, BiConsumer<Integer, ExecutionResult> onCaseResult) {
+            this.testCases = testCases;
+            this.context = context;
+            this.pendingLimit = pendingLimit;
+            this.onCaseResult = onCaseResult;
+        }
+
+        synchronized void accept(byte[] data) {
+            if (ended) {
+                return;
+            }
+            byte[] buffer = new byte[pending.length + data.length];
+            System.arraycopy(pending, 0, buffer, 0, pending.length);
+            System.arraycopy(data, 0, buffer, pending.length, data.length);
+
+            int pos = 0;
+            while (!ended) {
+                if (failedRow != null) {
+                    int stdoutLength = Integer.parseInt(failedRow[2]);
+                    int stderrLength = Integer.parseInt(failedRow[3]);
+                    if ((long) buffer.length - pos < (long) stdoutLength + stderrLength) {
+                        break;
+                    }
+                    String stdout = new String(buffer, pos, stdoutLength, StandardCharsets.UTF_8);
+                    String stderr = new String(buffer, pos + stdoutLength, stderrLength, StandardCharsets.UTF_8);
+                    pos += stdoutLength + stderrLength;
+                    add(failedRow, stdout, stderr);
+                    failedRow = null;
+                    continue;
+                }
+
+                int lineEnd = pos;
+                while (lineEnd < buffer.length && buffer[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                if (lineEnd >= buffer.length) {
+                    break;
+                }
+                String line = new String(buffer, pos, lineEnd - pos, StandardCharsets.UTF_8).trim();
+                pos = lineEnd + 1;
+                if ("END".equals(line)) {
+                    ended = true;
+                    break;
+                }
+                String[] row = line.split("\\s+");
+                if (row.length < 6) {
+                    continue;
+                }
+                if ("PASS".equals(row[5])) {
+                    add(row, null, null);
+                } else {
+                    failedRow = row;
+                }
+            }
+
+            pending = Arrays.copyOfRange(buffer, pos, buffer.length);
+            if (pending.length > pendingLimit) {
+                log.warn("[BATCH] 하네스 출력이 수집 상한을 초과하여 해석 중단 - {} bytes", pending.length);
+                ended = true;
+                pending = new byte[0];
+            }
+        }
+
+        private void add(String[] row, String stdout, String stderr) {
+            ExecutionResult result = toHarnessResult(row, stdout, stderr, testCases, context);
+            notifyCaseResult(onCaseResult, results.size(), result);
+            results.add(result);
+        }
+
+        /**
+         * 해석 종료 후 결과 반환 (시간 초과 후 늦게 도착한 출력은 무시)
+         */
+        synchronized List<ExecutionResult> finish() {
+            ended = true;
+            pending = new byte[0];
+            return new ArrayList<>(results);
+        }
+    }
+
+    /**
+     * 하네스 결과 행 1개를 ExecutionResult로 변환
+     */
+    private ExecutionResult toHarnessResult(String[] row, String stdout, String stderr,
+                                            List<ExecutionInputOutputDTO> testCases, CompilationContext context) {
+        int index = Integer.parseInt(row[0]);
+        int exitCode = Integer.parseInt(row[1]);
+        long elapsedNanos = Long.parseLong(row[4]);
+        boolean passed = "PASS".equals(row[5]);
+        long outputLimit = context.getOutputLimitBytes();
+        boolean truncated = row.length >= 8
+                && (Long.parseLong(row[6]) > outputLimit || Long.parseLong(row[7]) > outputLimit);
+        Long cpuMillis = row.length >= 10 ? toMeasured(Long.parseLong(row[8])) : null;
+        Long peakMemoryKb = row.length >= 10 ? toMeasured(Long.parseLong(row[9])) : null;
+        String stdoutHash = row.length >= 11 && !"-".equals(row[10]) ? row[10] : null;
+
+        // 하네스는 잘리기 전 전체 출력으로 비교하므로 PASS/FAIL 판정을 신뢰
+        String expectedOutput = testCases.get(index).getExpectedOutput();
+        Status status = passed
+                ? Status.AC
+                : applyResourceLimits(applyOutputTruncation(
+                        determineExecutionStatus(true, exitCode, expectedOutput, stdout),
+                        truncated, expectedOutput), cpuMillis, peakMemoryKb, context);
+
+        BigDecimal wallTime = elapsedNanos >= 0
+                ? BigDecimal.valueOf(elapsedNanos).divide(BigDecimal.valueOf(1_000_000_000L), 3, java.math.RoundingMode.HALF_UP)
+                : null;
+
+        return ExecutionResult.builder()
+                .stdout(stdout)
+                .stderr(stderr)
+                .stdoutHash(stdoutHash)
+                .compileOutput(context.getCompileOutput())
+                .time(cpuMillis != null ? millisToSeconds(cpuMillis) : wallTime)
+                .wallTime(wallTime)
+                .memory(peakMemoryKb != null ? peakMemoryKb.intValue() : null)
+                .exitCode(exitCode)
+                .status(status)
+                .outputTruncated(truncated)
+                .build();
+    }
+
+    /**
+     * 배치 하네스 스크립트 생성
+     *
+     * 사용법: harness.sh <케이스 수> <케이스별 시간 제한(초)> <출력 상한(바이트)> <CPU 제한(ms)> <메모리 제한(KB)>
+     *                   [계속 실행(0|1)] [이후 실패 케이스 출력 상한(바이트)]
+     * - 출력 비교는 서버와 동일하게 줄 끝 공백과 마지막 빈 줄을 무시
+     * - CPU/메모리 제한(-1이면 미적용)을 넘으면 출력이 맞아도 FAIL 처리
+     * - 실패 케이스 출력은 결과 행 바로 뒤에 stdout/stderr 각각 출력 상한까지만 전송
+     *   (계속 실행이면 두 번째 실패부터는 이후 실패 케이스 출력 상한까지)
+     * - 종료 코드가 0이 아니거나 출력이 다르면 FAIL 처리, 계속 실행이 아니면 즉시 중단
+     * - 케이스마다 stdout의 SHA-256 앞 16자리를 결과 행에 기록 (sha256sum이 없거나 출력이 없으면 "-")
+     */
+    private String buildHarnessScript(Language language, String hotCommand) {
+        String runCommand = language.getEffectiveRunCommand();
+
+        return "#!/bin/bash\n" +
+                "cd /tmp/judge || { echo \"Failed to change directory\" >&2; exit 1; }\n" +
+                "count=$1\n" +
+                "limit=$2\n" +
+                "cap=${3:-0}\n" +
+                "cpu_limit=${4:--1}\n" +
+                "mem_limit=${5:--1}\n" +
+                "keep_going=${6:-0}\n" +
+                "rest_cap=${7:-$cap}\n" +
+                "has_sha=; command -v sha256sum >/dev/null 2>&1 && has_sha=1\n" +
+                "\n" +
+                buildMeasureFunction(runCommand) +
+                "\n" +
+                buildHotRunnerFunctions(hotCommand) +
+                "\n" +
+                "# 줄 끝 공백 제거 + 마지막 빈 줄 제거 (DockerExecutionService.normalizeOutput과 동일)\n" +
+                "norm() {\n" +
+                "    awk '{ sub(/[ \\t\\r\\f\\v]+$/, \"\"); lines[NR] = $0 } " +
+                "END { n = NR; while (n > 0 && lines[n] == \"\") n--; for (i = 1; i <= n; i++) print lines[i] }' \"$1\"\n" +
+                "}\n" +
+                "\n" +
+                "out_cap=$cap\n" +
+                "hot_start\n" +
+                "for ((i = 0; i < count; i++)); do\n" +
+                "    dir=/tmp/judge/cases/$i\n" +
+                "    start=$(date +%s%N)\n" +
+                "    run_case \"$limit\" \"$dir/in\" \"$dir/stdout\" \"$dir/stderr\"\n" +
+                "    end=$(date +%s%N)\n" +
+                "    case \"$start$end\" in *[!0-9]*|'') elapsed=-1 ;; *) elapsed=$((end - start)) ;; esac\n" +
+                "    verdict=PASS\n" +
+                "    if [ \"$code\" -ne 0 ]; then\n" +
+                "        verdict=FAIL\n" +
+                "    elif [ \"$cpu_limit\" -ge 0 ] && [ \"$cpu_ms\" -gt \"$cpu_limit\" ]; then\n" +
+                "        verdict=FAIL\n" +
+                "    elif [ \"$mem_limit\" -ge 0 ] && [ \"$mem_kb\" -gt \"$mem_limit\" ]; then\n" +
+                "        verdict=FAIL\n" +
+                "    elif [ -f \"$dir/expected\" ] && ! cmp -s <(norm \"$dir/expected\") <(norm \"$dir/stdout\"); then\n" +
+                "        verdict=FAIL\n" +
+                "    fi\n" +
+                "    out_size=$(wc -c <\"$dir/stdout\")\n" +
+                "    err_size=$(wc -c <\"$dir/stderr\")\n" +
+                "    out_len=$out_size; [ \"$out_len\" -gt \"$out_cap\" ] && out_len=$out_cap\n" +
+                "    err_len=$err_size; [ \"$err_len\" -gt \"$out_cap\" ] && err_len=$out_cap\n" +
+                "    [ \"$verdict\" = PASS ] && { out_len=0; err_len=0; }\n" +
+                "    hash=-\n" +
+                "    if [ -n \"$has_sha\" ] && [ \"$out_size\" -gt 0 ]; then\n" +
+                "        hash=$(sha256sum <\"$dir/stdout\" | cut -c1-16)\n" +
+                "    fi\n" +
+                "    echo \"$i $code $out_len $err_len $elapsed $verdict $out_size $err_size $cpu_ms $mem_kb $hash\"\n" +
+                "    if [ \"$verdict\" = FAIL ]; then\n" +
+                "        head -c \"$out_len\" \"$dir/stdout\"\n" +
+                "        head -c \"$err_len\" \"$dir/stderr\"\n" +
+                "        [ \"$keep_going\" = 1 ] || break\n" +
+                "        out_cap=$rest_cap\n" +
+                "    fi\n" +
+                "done\n" +
+                "hot_stop\n" +
+                "\n" +
+                "echo END\n";
+    }
+
+    /**
+     * 하네스 테스트케이스 실행 함수 (상주 러너 지원)
+     *
+     * 사용법: run_case <시간 제한(초)> <입력 파일> <출력 파일> <에러 파일> (measure와 같이 code, cpu_ms, mem_kb 설정)
+     * - hotCommand가 있으면 hot_start가 러너를 coproc으로 띄우고 READY 응답을 기다림
+     * - 러너에는 "입력 출력 에러 시간제한" 한 줄을 보내고 "종료코드 CPU(ms) 메모리(KB)" 한 줄을 받음
+     * - 러너가 기동하지 못하거나 응답이 없으면 러너를 종료하고 이후 케이스는 measure로 실행
+     *
+     * @param hotCommand 상주 러너 기동 명령어 (null이면 항상 measure 사용)
+     */
+    private String buildHotRunnerFunctions(String hotCommand) {
+        if (hotCommand == null) {
+            return "hot_start() { :; }\n" +
+                    "hot_stop() { :; }\n" +
+                    "run_case() { measure \"${1}s\" \"$2\" \"$3\" \"$4\"; }\n";
+        }
+        return "hot=\n" +
+                "hot_start() {\n" +
+                "    coproc HOT { exec " + hotCommand + " 2>/tmp/judge/hot_runner.log; }\n" +
+                "    exec 7>&\"${HOT[1]}\" 8<&\"${HOT[0]}\"\n" +
+                "    local ready=\n" +
+                "    if read -r -t " + HOT_RUNNER_START_TIMEOUT_SECONDS + " -u 8 ready && [ \"$ready\" = READY ]; then\n" +
+                "        hot=1\n" +
+                "    else\n" +
+                "        hot_stop\n" +
+                "    fi\n" +
+                "}\n" +
+                "hot_stop() {\n" +
+                "    hot=\n" +
+                "    exec 7>&- 8<&-\n" +
+                "    if [ -n \"$HOT_PID\" ]; then\n" +
+                "        kill -9 \"$HOT_PID\" 2>/dev/null\n" +
+                "        wait \"$HOT_PID\" 2>/dev/null\n" +
+                "    fi\n" +
+                "}\n" +
+                "run_case() {\n" +
+                "    if [ -n \"$hot\" ]; then\n" +
+                "        # 쓰기는 서브셸에서 수행 (러너가 죽어 있어도 SIGPIPE가 하네스를 종료하지 않도록)\n" +
+                "        if (echo \"$2 $3 $4 $1\" >&7) 2>/dev/null &&\n" +
+                "            read -r -t $(($1 + 5)) -u 8 code cpu_ms mem_kb &&\n" +
+                "            [[ \"$code\" =~ ^[0-9]+$ ]]; then\n" +
+                "            case \"$cpu_ms\" in ''|*[!0-9-]*) cpu_ms=-1 ;; esac\n" +
+                "            case \"$mem_kb\" in ''|*[!0-9-]*) mem_kb=-1 ;; esac\n" +
+                "            return\n" +
+                "        fi\n" +
+                "        hot_stop\n" +
+                "    fi\n" +
+                "    measure \"${1}s\" \"$2\" \"$3\" \"$4\"\n" +
+                "}\n";
+    }
+
     /**
      * 컴파일 컨텍스트 정리 (Grade 전용 - 1회 정리)
      *
-     * prepareCompilation()으로 생성된 컨테이너를 정리합니다.
-     * tmpfs 볼륨은 컨테이너와 함께 자동으로 삭제됩니다.
+     * prepareCompilation()으로 획득한 컨테이너를 풀에 반환합니다.
+     * 반환 시 /tmp/judge(tmpfs)를 초기화하며, 재사용할 수 없으면 컨테이너를 제거합니다.
+     * 비동기 정리(judge0.docker-execution.cleanup-async)가 활성화되면 ContainerReaper 큐에 넣고 바로 반환합니다.
      *
      * @param context 정리할 컴파일 컨텍스트
      */
@@ -325,14 +956,12 @@ public class DockerExecutionService {
 
         log.info("[CLEANUP] 컴파일 컨텍스트 정리 시작 - 컨테이너 ID: {}", context.getContainerId());
 
-        // 컨테이너 정리 (tmpfs는 컨테이너와 함께 자동 삭제)
+        // 컨테이너 반환 (초기화 후 재사용 또는 제거)
         if (context.getContainerId() != null) {
             try {
-                log.debug("[CLEANUP] 컨테이너 중지 시작 - ID: {}", context.getContainerId());
-                containerManager.stopContainer(context.getContainerId());
-                log.debug("[CLEANUP] 컨테이너 제거 시작 - ID: {}", context.getContainerId());
-                containerManager.removeContainer(context.getContainerId());
-                log.info("[CLEANUP] 컨테이너 정리 완료 (tmpfs 자동 삭제) - ID: {}", context.getContainerId());
+                containerReaper.release(context.getContainerId());
+                log.info("[CLEANUP] 컨테이너 반환 {} - ID: {}",
+                        containerReaper.isAsync() ? "요청" : "완료", context.getContainerId());
             } catch (Exception e) {
                 log.error("[CLEANUP] 컨테이너 정리 실패 - ID: {}", context.getContainerId(), e);
             }
@@ -349,10 +978,20 @@ public class DockerExecutionService {
      * 2. executeWithCompiledCode() - 실행
      * 3. cleanupCompilation() - 정리
      *
+     * 실행 결과 캐시가 활성화되어 있으면 동일 요청의 최근 결과를 먼저 조회하고,
+     * 결정적인 결과는 실행 후 캐시에 저장합니다.
+     *
      * @param request 실행할 코드와 설정 정보
      * @return ExecutionResult 실행 결과 (stdout, stderr, 실행 시간, 상태 등)
      */
     public ExecutionResult executeCode(CodeExecutionRequest request) {
+        // 0. 동일 요청의 최근 실행 결과가 있으면 Docker 실행 없이 반환 (opt-in)
+        Optional<ExecutionResult> cachedResult = executionResultCache.get(request);
+        if (cachedResult.isPresent()) {
+            log.info("[RUN] 실행 결과 캐시 히트 - Docker 실행 생략, 상태: {}", cachedResult.get().getStatus());
+            return cachedResult.get();
+        }
+
         CompilationContext context = null;
 
         try {
@@ -370,14 +1009,22 @@ public class DockerExecutionService {
             result.setCompileOutput(context.getCompileOutput());
             result.setContainerAcquireTime(context.getCompileTime());
 
+            executionResultCache.put(request, result);
             return result;
 
+        } catch (AdmissionTimeoutException e) {
+            // 실행 용량 부족은 시스템 오류로 반환 (캐시하지 않음)
+            log.warn("코드 실행 불가 - 실행 용량 부족: {}", e.getMessage());
+            return ExecutionResult.error("Execution capacity not available, please retry later");
+
         } catch (Exception e) {
             log.error("코드 실행 실패", e);
 
             // 컴파일 실패는 CE 상태로 반환
             if (e.getMessage() != null && e.getMessage().contains("Compilation failed")) {
-                return ExecutionResult.compilationError(e.getMessage());
+                ExecutionResult compilationError = ExecutionResult.compilationError(e.getMessage());
+                executionResultCache.put(request, compilationError);
+                return compilationError;
             }
 
             return ExecutionResult.error("Execution error: " + e.getMessage());
@@ -457,28 +1104,20 @@ public class DockerExecutionService {
      * @throws IOException 파일 생성/쓰기 중 오류 발생 시
      */
     /**
-     * 컨테이너 내부에 소스코드 파일 생성 (tmpfs 기반 워크플로우)
+     * 소스코드 파일과 컴파일 스크립트를 전송 아카이브에 추가 (tmpfs 기반 워크플로우)
      *
-     * tmpfs 볼륨을 사용하는 새로운 방식으로, 컨테이너 내부에 직접 파일을 생성합니다.
-     * 이를 통해 호스트 파일시스템의 권한 문제를 완전히 회피합니다.
+     * 파일별 exec 대신 prepareCompilation()에서 아카이브 전체를 1회 전송합니다.
      *
      * @param request 실행 요청 정보
-     * @param containerId 컨테이너 ID
-     * @throws Exception 파일 생성 실패 시
+     * @param archive 전송 아카이브 (/tmp/judge 기준 상대 경로)
      */
-    private void prepareSourceCodeInContainer(CodeExecutionRequest request, String containerId) throws Exception {
+    private void addSourceFiles(CodeExecutionRequest request, ContainerArchive archive) {
         Language language = request.getLanguage();
 
-        // 1. 소스코드 파일 생성
+        // 1. 소스코드 파일
         if (request.getSourceCode() != null && !request.getSourceCode().trim().isEmpty()) {
-            String sourceFilePath = "/tmp/judge/" + language.getSourceFile();
-            containerManager.createFileInContainer(
-                    containerId,
-                    sourceFilePath,
-                    request.getSourceCode(),
-                    false
-            );
-            log.debug("[PREPARE] 소스코드 파일 생성 완료: {}", language.getSourceFile());
+            archive.addFile(language.getSourceFile(), request.getSourceCode(), false);
+            log.debug("[PREPARE] 소스코드 파일 추가: {}", language.getSourceFile());
         }
 
         // 2. 추가 파일들 처리 (프로젝트 제출 시)
@@ -486,10 +1125,8 @@ public class DockerExecutionService {
             log.debug("[PREPARE] 추가 파일들이 존재하지만 아직 처리되지 않음: {} bytes", request.getAdditionalFiles().length);
         }
 
-        // 3. 컴파일 스크립트 생성 (컴파일이 필요한 언어의 경우)
-        createCompileScriptInContainer(request, containerId);
-
-        log.debug("[PREPARE] 소스코드 파일 준비 완료 (컨테이너 내부)");
+        // 3. 컴파일 스크립트 (컴파일이 필요한 언어의 경우)
+        addCompileScript(request, archive);
     }
 
     private void prepareSourceCodeOnly(CodeExecutionRequest request, Path workDir) throws IOException {
@@ -575,15 +1212,14 @@ public class DockerExecutionService {
     }
 
     /**
-     * 컨테이너 내부에 컴파일 스크립트 생성 (tmpfs 기반 워크플로우)
+     * 컴파일 스크립트를 전송 아카이브에 추가 (tmpfs 기반 워크플로우)
      *
-     * 컴파일이 필요한 언어를 위한 컴파일 스크립트를 컨테이너 내부에 직접 생성합니다.
+     * 컴파일이 필요한 언어를 위한 컴파일 스크립트를 생성합니다.
      *
      * @param request 실행 요청 정보
-     * @param containerId 컨테이너 ID
-     * @throws Exception 스크립트 파일 생성 중 오류 발생 시
+     * @param archive 전송 아카이브
      */
-    private void createCompileScriptInContainer(CodeExecutionRequest request, String containerId) throws Exception {
+    private void addCompileScript(CodeExecutionRequest request, ContainerArchive archive) {
         Language language = request.getLanguage();
 
         // 컴파일이 필요하지 않은 언어는 스크립트 생성하지 않음
@@ -609,13 +1245,8 @@ public class DockerExecutionService {
                 compileCommand + "\n" + // 실제 컴파일 명령어
                 "echo \"Compilation completed successfully\""; // 성공 메시지
 
-        // 컨테이너 내부에 스크립트 파일 생성 (실행 권한 포함)
-        containerManager.createFileInContainer(
-                containerId,
-                "/tmp/judge/compile.sh",
-                scriptContent,
-                true  // 실행 권한 부여
-        );
+        // 실행 권한 포함
+        archive.addFile("compile.sh", scriptContent, true);
 
         log.debug("[PREPARE] 컴파일 스크립트 생성 완료: {}", compileCommand);
     }
@@ -669,16 +1300,31 @@ public class DockerExecutionService {
     }
 
     /**
-     * 컨테이너 내부에 실행 스크립트 생성 (tmpfs 기반 워크플로우)
+     * 실행 스크립트를 전송 아카이브에 추가 (한 번만 생성, 모든 테스트케이스에서 재사용)
+     *
+     * run.sh는 항상, run_framed.sh는 프레임 러너 사용 시에만 추가합니다.
+     * 캐시된 컴파일 결과물에 포함된 이전 스크립트는 이 파일들로 덮어씁니다.
+     *
+     * @param language 프로그래밍 언어 정보
+     * @param archive 전송 아카이브
+     */
+    private void addRunScripts(Language language, ContainerArchive archive) {
+        addRunScript(language, archive);
+        if (framedRunner) {
+            addFramedRunScript(language, archive);
+        }
+    }
+
+    /**
+     * 실행 스크립트 생성 (tmpfs 기반 워크플로우)
      *
      * stdin은 executeWithStdin을 통해 직접 전달되므로 stdin.txt 파일은 필요 없습니다.
-     * 실행 결과는 stdout.txt, stderr.txt, exit_code.txt에 저장됩니다.
+     * 실행 결과는 stdout.txt, stderr.txt, exit_code.txt, resources.txt(CPU ms, 최대 메모리 KB)에 저장됩니다.
      *
      * @param language 프로그래밍 언어 정보
-     * @param containerId 컨테이너 ID
-     * @throws Exception 스크립트 파일 생성 중 오류 발생 시
+     * @param archive 전송 아카이브
      */
-    private void createRunScriptInContainer(Language language, String containerId) throws Exception {
+    private void addRunScript(Language language, ContainerArchive archive) {
         String runCommand = language.getEffectiveRunCommand();
 
         // 실행 스크립트 내용 생성 (stdin은 파일에서 리다이렉션)
@@ -686,27 +1332,66 @@ public class DockerExecutionService {
                 "# 작업 디렉토리 이동\n" +
                 "cd /tmp/judge || { echo \"Failed to change directory\" >&2; exit 1; }\n" +
                 "\n" +
-                "# 프로그램 실행 (stdin.txt가 있으면 리다이렉션, 없으면 stdin 없이 실행)\n" +
-                "if [ -f /tmp/judge/stdin.txt ]; then\n" +
-                "    timeout 30s " + runCommand + " </tmp/judge/stdin.txt >/tmp/judge/stdout.txt 2>/tmp/judge/stderr.txt\n" +
-                "else\n" +
-                "    timeout 30s " + runCommand + " >/tmp/judge/stdout.txt 2>/tmp/judge/stderr.txt\n" +
-                "fi\n" +
+                buildMeasureFunction(runCommand) +
                 "\n" +
-                "# 종료 코드 저장\n" +
-                "echo $? >/tmp/judge/exit_code.txt\n";
+                "# 프로그램 실행 (stdin.txt가 있으면 리다이렉션, 없으면 빈 입력으로 실행)\n" +
+                "in=/dev/null\n" +
+                "[ -f /tmp/judge/stdin.txt ] && in=/tmp/judge/stdin.txt\n" +
+                "measure 30s \"$in\" /tmp/judge/stdout.txt /tmp/judge/stderr.txt\n" +
+                "\n" +
+                "# 종료 코드 및 자원 사용량 저장 (CPU ms, 최대 메모리 KB)\n" +
+                "echo $code >/tmp/judge/exit_code.txt\n" +
+                "echo \"$cpu_ms $mem_kb\" >/tmp/judge/resources.txt\n";
 
-        // 컨테이너 내부에 스크립트 파일 생성 (실행 권한 포함)
-        containerManager.createFileInContainer(
-                containerId,
-                "/tmp/judge/run.sh",
-                scriptContent,
-                true  // 실행 권한 부여
-        );
+        // 실행 권한 포함
+        archive.addFile("run.sh", scriptContent, true);
 
         log.debug("[PREPARE] 실행 스크립트 생성 완료: {}", runCommand);
     }
 
+    /**
+     * 프레임 러너 스크립트 생성 (단일 exec 테스트케이스 실행용)
+     *
+     * 스크립트 동작:
+     * 1. 인자로 받은 바이트 수만큼 exec stdin에서 읽어 stdin.txt 생성 (EOF 전달 여부와 무관)
+     * 2. 프로그램 실행 및 경과 시간, CPU 시간(user+sys), 최대 메모리(RSS) 측정
+     * 3. "종료코드 stdout길이 stderr길이 경과시간(ns) stdout원래크기 stderr원래크기 CPU(ms) 메모리(KB)" 헤더 출력 후
+     *    stdout, stderr 내용을 각각 출력 상한($2 바이트)까지 이어서 출력
+     *
+     * @param language 프로그래밍 언어 정보
+     * @param archive 전송 아카이브
+     */
+    private void addFramedRunScript(Language language, ContainerArchive archive) {
+        String runCommand = language.getEffectiveRunCommand();
+
+        String scriptContent = "#!/bin/bash\n" +
+                "cd /tmp/judge || { echo \"Failed to change directory\" >&2; exit 1; }\n" +
+                "\n" +
+                "# exec stdin에서 정확히 $1 바이트만 읽어 입력 파일 생성\n" +
+                "head -c \"${1:-0}\" >/tmp/judge/stdin.txt\n" +
+                "cap=${2:-0}\n" +
+                "\n" +
+                buildMeasureFunction(runCommand) +
+                "\n" +
+                "start=$(date +%s%N)\n" +
+                "measure 30s /tmp/judge/stdin.txt /tmp/judge/stdout.txt /tmp/judge/stderr.txt\n" +
+                "end=$(date +%s%N)\n" +
+                "case \"$start$end\" in *[!0-9]*|'') elapsed=-1 ;; *) elapsed=$((end - start)) ;; esac\n" +
+                "\n" +
+                "# 프레임 헤더 + stdout + stderr (각각 출력 상한까지, 헤더에 원래 크기 포함)\n" +
+                "out_size=$(wc -c </tmp/judge/stdout.txt)\n" +
+                "err_size=$(wc -c </tmp/judge/stderr.txt)\n" +
+                "out_len=$out_size; [ \"$out_len\" -gt \"$cap\" ] && out_len=$cap\n" +
+                "err_len=$err_size; [ \"$err_len\" -gt \"$cap\" ] && err_len=$cap\n" +
+                "printf '%s %s %s %s %s %s %s %s\\n' \"$code\" \"$out_len\" \"$err_len\" \"$elapsed\" \"$out_size\" \"$err_size\" \"$cpu_ms\" \"$mem_kb\"\n" +
+                "head -c \"$cap\" /tmp/judge/stdout.txt\n" +
+                "head -c \"$cap\" /tmp/judge/stderr.txt\n";
+
+        archive.addFile("run_framed.sh", scriptContent, true);  // 실행 권한 포함
+
+        log.debug("[PREPARE] 프레임 러너 스크립트 생성 완료: {}", runCommand);
+    }
+
     private BigDecimal calculateActualExecutionTime(Path workDir, BigDecimal wallTime) {
         try {
             Path timingFile = workDir.resolve("timing.txt");
@@ -788,45 +1473,179 @@ public class DockerExecutionService {
      * tmpfs 기반 워크플로우에서 컨테이너 내부에 생성된 파일을 읽을 때 사용합니다.
      *
      * @param containerId 컨테이너 ID
-     * @param filePath 컨테이너 내부 파일 경로 (예: /tmp/judge/stdout.txt)
+     * @param filePath 컨테이너 내부 파일 경로 (예: /tmp/judge/exit_code.txt)
      * @param timeoutSeconds 읽기 타임아웃 (초)
      * @return 파일 내용 (파일이 없거나 오류 시 null 또는 빈 문자열)
      */
     private String readFileFromContainer(String containerId, String filePath, long timeoutSeconds) {
+        return readFileFromContainer(containerId, filePath, timeoutSeconds, ContainerManager.DEFAULT_CAPTURE_LIMIT_BYTES).content();
+    }
+
+    /**
+     * 컨테이너 내부 파일을 최대 limitBytes까지만 읽어옵니다.
+     * 컨테이너 내부에서 head -c로 잘라서 전송하므로 큰 출력 파일도 상한 이상 전송되지 않습니다.
+     *
+     * @param containerId 컨테이너 ID
+     * @param filePath 컨테이너 내부 파일 경로 (예: /tmp/judge/stdout.txt)
+     * @param timeoutSeconds 읽기 타임아웃 (초)
+     * @param limitBytes 읽을 최대 바이트 수
+     * @return 파일 내용과 잘림 여부 (오류 시 내용 null)
+     */
+    private CapturedFile readFileFromContainer(String containerId, String filePath, long timeoutSeconds, long limitBytes) {
         try {
-            log.debug("[READ-FILE] 컨테이너 파일 읽기 시작 - 경로: {}", filePath);
+            log.debug("[READ-FILE] 컨테이너 파일 읽기 시작 - 경로: {}, 상한: {} bytes", filePath, limitBytes);
 
-            // cat 명령으로 파일 내용 읽기 (stdin 없이 실행)
-            ExecResult result = containerManager.executeWithStdin(
+            // 상한 + 1바이트까지 읽어 잘림 여부 판단
+            RawExecResult result = containerManager.executeRaw(
                     containerId,
-                    new String[]{"sh", "-c", "cat " + filePath + " 2>/dev/null || true"},
+                    new String[]{"sh", "-c", "head -c " + (limitBytes + 1) + " " + filePath + " 2>/dev/null || true"},
                     null,  // stdin 없음
-                    timeoutSeconds
+                    timeoutSeconds,
+                    limitBytes + 1
             );
 
-            if (result.hasError()) {
+            if (result.getStderr() != null && !result.getStderr().isEmpty()) {
                 log.warn("[READ-FILE] 파일 읽기 중 경고 - 경로: {}, stderr: {}",
                         filePath, result.getStderr());
             }
 
-            String content = result.getStdout();
-            if (content != null && !content.isEmpty()) {
-                // 크기 제한 확인 (10MB)
-                if (content.length() > 10 * 1024 * 1024) {
-                    log.warn("[READ-FILE] 출력 파일이 너무 큼: {} bytes", content.length());
-                    return "[Output truncated - file too large]";
-                }
-                log.debug("[READ-FILE] 파일 읽기 완료 - 크기: {} bytes", content.length());
-                return content;
+            byte[] bytes = result.getStdout();
+            boolean truncated = bytes.length > limitBytes;
+            if (truncated) {
+                log.warn("[READ-FILE] 출력 상한 초과 - 경로: {}, {} bytes까지만 사용", filePath, limitBytes);
+                bytes = Arrays.copyOf(bytes, (int) limitBytes);
             }
-
-            log.debug("[READ-FILE] 파일이 비어있거나 존재하지 않음 - 경로: {}", filePath);
-            return "";
+            log.debug("[READ-FILE] 파일 읽기 완료 - 크기: {} bytes", bytes.length);
+            return new CapturedFile(new String(bytes, StandardCharsets.UTF_8), truncated);
 
         } catch (Exception e) {
             log.warn("[READ-FILE] 파일 읽기 실패 - 경로: {}", filePath, e);
-            return null;
+            return new CapturedFile(null, false);
+        }
+    }
+
+    /**
+     * 출력 수집 상한 결정 (바이트)
+     * - 요청의 maxFileSize(KB)를 사용하고, 없으면 기본 실행 제한(judge0.execution.max-file-size) 사용
+     */
+    private long resolveOutputLimitBytes(CodeExecutionRequest request) {
+        Integer maxFileSizeKb = request.getConstraints() != null ? request.getConstraints().getMaxFileSize() : null;
+        if (maxFileSizeKb == null || maxFileSizeKb <= 0) {
+            maxFileSizeKb = executionLimitsConfig.getMaxFileSize();
+        }
+        return maxFileSizeKb * 1024L;
+    }
+
+    /**
+     * 테스트케이스당 실행 횟수 결정
+     * - 요청의 numberOfRuns를 사용하고, 없으면 기본값(judge0.execution.number-of-runs) 사용
+     * - 1 ~ maxNumberOfRuns 범위로 제한
+     */
+    private int resolveNumberOfRuns(CodeExecutionRequest request) {
+        Integer numberOfRuns = request.getConstraints() != null ? request.getConstraints().getNumberOfRuns() : null;
+        if (numberOfRuns == null) {
+            numberOfRuns = executionLimitsConfig.getNumberOfRuns() != null ? executionLimitsConfig.getNumberOfRuns() : 1;
+        }
+        int maxNumberOfRuns = executionLimitsConfig.getMaxNumberOfRuns() != null ? executionLimitsConfig.getMaxNumberOfRuns() : 1;
+        return Math.max(1, Math.min(numberOfRuns, maxNumberOfRuns));
+    }
+
+    /**
+     * 출력이 상한으로 잘린 경우 판정 보정
+     * - 잘린 출력이 기대 출력과 우연히 같더라도 실제 출력은 더 길므로 WA 처리
+     */
+    private Status applyOutputTruncation(Status status, boolean truncated, String expectedOutput) {
+        if (truncated && status == Status.AC && expectedOutput != null && !expectedOutput.trim().isEmpty()) {
+            return Status.WA;
+        }
+        return status;
+    }
+
+    /**
+     * 측정된 자원 사용량으로 판정 보정
+     * - CPU 시간(user+sys)이 제한을 넘으면 TLE, 최대 메모리가 제한을 넘으면 MLE
+     * - 이미 TLE/MLE이거나 시스템 오류인 경우, 측정값이 없는 경우는 그대로 유지
+     */
+    private Status applyResourceLimits(Status status, Long cpuMillis, Long peakMemoryKb, CompilationContext context) {
+        if (status == Status.TLE || status == Status.MLE || status == Status.BOXERR) {
+            return status;
         }
+        long cpuLimitMillis = cpuTimeLimitMillis(context);
+        if (cpuMillis != null && cpuLimitMillis >= 0 && cpuMillis > cpuLimitMillis) {
+            return Status.TLE;
+        }
+        if (peakMemoryKb != null && context.getMemoryLimitKb() != null && peakMemoryKb > context.getMemoryLimitKb()) {
+            return Status.MLE;
+        }
+        return status;
+    }
+
+    /**
+     * CPU 시간 제한 (밀리초, 제한 없으면 -1)
+     */
+    private long cpuTimeLimitMillis(CompilationContext context) {
+        return context.getCpuTimeLimit() != null
+                ? context.getCpuTimeLimit().multiply(BigDecimal.valueOf(1000)).longValue()
+                : -1;
+    }
+
+    /**
+     * 러너 측정값 변환 (음수 = 측정 불가 → null)
+     */
+    private Long toMeasured(long value) {
+        return value >= 0 ? value : null;
+    }
+
+    private BigDecimal millisToSeconds(long millis) {
+        return BigDecimal.valueOf(millis, 3);
+    }
+
+    private Long toMillis(BigDecimal seconds) {
+        return seconds != null ? seconds.movePointRight(3).longValue() : null;
+    }
+
+    private Long toKb(Integer memory) {
+        return memory != null ? memory.longValue() : null;
+    }
+
+    /**
+     * 자원 사용량 측정 함수 (실행 스크립트 공통)
+     *
+     * 사용법: measure <시간 제한> <입력 파일> <출력 파일> <에러 파일>
+     * 실행 후 code(종료 코드), cpu_ms(user+sys CPU 밀리초), mem_kb(최대 RSS KB)를 설정하며 측정 불가 시 -1입니다.
+     * - /usr/bin/time(GNU time)이 있으면 프로그램의 rusage(CPU, 최대 RSS)를 사용
+     * - 없으면 bash times 내장 명령의 자식 CPU 시간 차이를 사용 (메모리는 측정 불가)
+     * - 풀링된 컨테이너는 재사용되므로 컨테이너 단위 cgroup memory.peak는 이전 작업까지 누적되어 사용하지 않음
+     */
+    private String buildMeasureFunction(String runCommand) {
+        return "child_cpu() {\n" +
+                "    awk 'function sec(v, p) { split(v, p, \"m\"); sub(/s$/, \"\", p[2]); return p[1] * 60 + p[2] } " +
+                "FNR == 2 { u[NR == FNR] = sec($1); s[NR == FNR] = sec($2) } " +
+                "END { printf \"%.3f %.3f\\n\", u[0] - u[1], s[0] - s[1] }' \"$1\" \"$2\"\n" +
+                "}\n" +
+                "measure() {\n" +
+                "    utime= stime= mem_kb=\n" +
+                "    rm -f /tmp/judge/usage.txt\n" +
+                "    if [ -x /usr/bin/time ]; then\n" +
+                "        timeout \"$1\" /usr/bin/time -f '%U %S %M' -o /tmp/judge/usage.txt " + runCommand + " <\"$2\" >\"$3\" 2>\"$4\"\n" +
+                "        code=$?\n" +
+                "        read -r utime stime mem_kb < <(tail -n 1 /tmp/judge/usage.txt 2>/dev/null)\n" +
+                "    else\n" +
+                "        times >/tmp/judge/times_before.txt\n" +
+                "        timeout \"$1\" " + runCommand + " <\"$2\" >\"$3\" 2>\"$4\"\n" +
+                "        code=$?\n" +
+                "        times >/tmp/judge/times_after.txt\n" +
+                "        read -r utime stime < <(child_cpu /tmp/judge/times_before.txt /tmp/judge/times_after.txt)\n" +
+                "    fi\n" +
+                "    cpu_ms=$(awk -v u=\"$utime\" -v s=\"$stime\" 'BEGIN { if (u == \"\" || s == \"\") print -1; else printf \"%d\", (u + s) * 1000 }')\n" +
+                "    case \"$mem_kb\" in ''|*[!0-9]*) mem_kb=-1 ;; esac\n" +
+                "}\n";
+    }
+
+    /**
+     * 상한까지 읽은 컨테이너 파일 내용
+     */
+    private record CapturedFile(String content, boolean truncated) {
     }
 
     /**
@@ -0,0 +1,179 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.ResultCacheConfig;
+import com.PBL.lab.core.dto.CodeExecutionRequest;
+import com.PBL.lab.core.dto.ExecutionResult;
+import com.PBL.lab.core.dto.SecurityConstraints;
+import com.PBL.lab.core.enums.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 실행 결과 캐시 (메모리, opt-in)
+ *
+ * 키: SHA-256(소스 코드 + 언어 ID + stdin + 기대 출력 + 컴파일러 옵션 + 명령행 인자
+ *            + stderr 리다이렉션 + 네트워크 + 시간/메모리/프로세스/출력 크기 제한 + 실행 횟수 + 추가 파일)
+ * 값: 실행 결과 사본 + 저장 시각
+ *
+ * 동작 방식:
+ * - 결정적인 결과(AC, WA, CE, 런타임 오류)만 저장 (TLE/MLE는 서버 부하에 따라 달라질 수 있어 제외)
+ * - TTL이 지난 항목은 조회 시 제거, 최대 항목 수 초과 시 LRU 제거
+ * - 호출 측이 결과를 수정해도 캐시에 영향이 없도록 저장/반환 시 사본 사용
+ * - 히트/미스 횟수를 Micrometer 카운터로 노출 (judge0.result.cache.requests{result=hit|miss})
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionResultCache {
+
+    private static final Set<Status> CACHEABLE_STATUSES = EnumSet.of(
+            Status.AC, Status.WA, Status.CE,
+            Status.SIGSEGV, Status.SIGXFSZ, Status.SIGFPE, Status.SIGABRT, Status.NZEC, Status.OTHER);
+
+    private final ResultCacheConfig cacheConfig;
+    private final MeterRegistry meterRegistry;
+
+    // 키 → 캐시 항목 (접근 순서 = LRU 순서)
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void initialize() {
+        hitCounter = Counter.builder("judge0.result.cache.requests")
+                .tag("result", "hit")
+                .description("Execution result cache lookups")
+                .register(meterRegistry);
+        missCounter = Counter.builder("judge0.result.cache.requests")
+                .tag("result", "miss")
+                .description("Execution result cache lookups")
+                .register(meterRegistry);
+        Gauge.builder("judge0.result.cache.entries", this, cache -> cache.getEntryCount())
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return cacheConfig.isEnabled();
+    }
+
+    /**
+     * 캐시 조회
+     *
+     * @param request 실행 요청
+     * @return 캐시된 실행 결과 사본 (없거나 만료되었으면 empty)
+     */
+    public Optional<ExecutionResult> get(CodeExecutionRequest request) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        String key = computeKey(request);
+        synchronized (this) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null || isExpired(entry)) {
+                if (entry != null) {
+                    entries.remove(key);
+                }
+                missCounter.increment();
+                return Optional.empty();
+            }
+            hitCounter.increment();
+            log.debug("[RESULT-CACHE] 캐시 히트 - 키: {}", key);
+            return Optional.of(entry.getResult().toBuilder().build());
+        }
+    }
+
+    /**
+     * 캐시 저장 - 결정적인 결과만 저장하고 LRU 기준 초과 항목 제거
+     *
+     * @param request 실행 요청
+     * @param result  실행 결과
+     */
+    public void put(CodeExecutionRequest request, ExecutionResult result) {
+        if (!isEnabled() || result == null || !CACHEABLE_STATUSES.contains(result.getStatus())) {
+            return;
+        }
+
+        String key = computeKey(request);
+        synchronized (this) {
+            entries.put(key, new CacheEntry(result.toBuilder().build(), System.currentTimeMillis()));
+            Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > cacheConfig.getMaxEntries() && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        return System.currentTimeMillis() - entry.getStoredAt() > cacheConfig.getTtlSeconds() * 1000;
+    }
+
+    /**
+     * 실행 결과에 영향을 주는 요청 필드로 캐시 키 생성
+     */
+    private String computeKey(CodeExecutionRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            SecurityConstraints constraints = request.getConstraints();
+            String[] parts = {
+                    request.getSourceCode(),
+                    request.getLanguage() != null ? String.valueOf(request.getLanguage().getId()) : null,
+                    request.getStdin(),
+                    request.getExpectedOutput(),
+                    request.getCompilerOptions(),
+                    request.getCommandLineArguments(),
+                    String.valueOf(request.getRedirectStderrToStdout()),
+                    String.valueOf(request.getEnableNetwork()),
+                    constraints != null ? String.valueOf(constraints.getTimeLimit()) : null,
+                    constraints != null ? String.valueOf(constraints.getMemoryLimit()) : null,
+                    constraints != null ? String.valueOf(constraints.getProcessLimit()) : null,
+                    constraints != null ? String.valueOf(constraints.getMaxFileSize()) : null,
+                    constraints != null ? String.valueOf(constraints.getNumberOfRuns()) : null
+            };
+            for (String part : parts) {
+                digest.update((part != null ? part : "").getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0); // 구분자 (필드 경계 모호성 방지)
+            }
+            if (request.getAdditionalFiles() != null) {
+                digest.update(request.getAdditionalFiles());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 캐시 항목
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class CacheEntry {
+        private final ExecutionResult result; // 실행 결과 사본
+        private final long storedAt;          // 저장 시각 (밀리초)
+    }
+}
@@ -0,0 +1,79 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.entity.Language;
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상주 런타임(hot) 러너 지원
+ *
+ * 배치 하네스(harness.sh)가 테스트케이스마다 인터프리터를 새로 띄우지 않도록,
+ * 런타임을 한 번 띄워 두고 케이스마다 격리된 실행 단위로 프로그램을 실행하는 러너를 제공합니다.
+ *
+ * 지원 언어 (실행 명령어 형태로 판별):
+ * - Python: "<python3 경로> <스크립트>.py" → hot_runner.py (케이스마다 fork한 자식 프로세스에서 실행)
+ *   케이스 자식 프로세스의 CPU 시간과 최대 RSS를 측정하므로 CPU/메모리 제한 판정이 기존 방식과 같음
+ *
+ * 그 외 언어나 옵션이 붙은 실행 명령어는 지원하지 않으며 기존 방식으로 실행합니다.
+ * JVM 언어는 케이스들이 한 JVM을 공유하면 케이스별 메모리 제한을 적용할 수 없으므로 지원하지 않습니다.
+ *
+ * 러너가 기동하지 못하거나 도중에 종료되면 하네스가 남은 케이스를 기존 방식으로 실행합니다.
+ */
+@Component
+public class HotRunnerSupport {
+
+    private static final Pattern PYTHON_COMMAND = Pattern.compile("^(\\S*python3(?:\\.\\d+)?)\\s+(\\S+\\.py)$");
+
+    private String pythonRunner;
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        pythonRunner = readResource("runner/hot_runner.py");
+    }
+
+    /**
+     * 언어에 맞는 상주 러너 조회
+     *
+     * @param language 프로그래밍 언어 정보
+     * @return 러너 파일과 기동 명령어 (지원하지 않는 언어면 empty)
+     */
+    public Optional<HotRunner> resolve(Language language) {
+        String runCommand = language.getEffectiveRunCommand();
+        if (runCommand == null) {
+            return Optional.empty();
+        }
+        runCommand = runCommand.trim();
+
+        Matcher python = PYTHON_COMMAND.matcher(runCommand);
+        if (python.matches()) {
+            return Optional.of(new HotRunner("hot_runner.py", pythonRunner,
+                    python.group(1) + " -u /tmp/judge/hot_runner.py " + python.group(2)));
+        }
+
+        return Optional.empty();
+    }
+
+    private String readResource(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 상주 러너 정보
+     *
+     * @param fileName 작업 디렉토리에 둘 러너 파일 이름
+     * @param content  러너 파일 내용
+     * @param command  러너 기동 명령어 (요청/응답은 stdin/stdout 한 줄씩)
+     */
+    public record HotRunner(String fileName, String content, String command) {
+    }
+}
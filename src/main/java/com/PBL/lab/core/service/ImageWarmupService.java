@@ -0,0 +1,170 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.ImageWarmupConfig;
+import com.PBL.lab.core.docker.ContainerManager;
+import com.PBL.lab.core.entity.Language;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행 이미지 사전 준비 서비스
+ *
+ * 기동 완료(ApplicationReadyEvent) 후 백그라운드에서 활성화된 언어의 이미지를 모두 준비합니다.
+ *
+ * 동작 방식:
+ * - LanguageService.findAllEnabled()의 getEffectiveDockerImage()를 중복 제거하여 수집
+ * - 이미지마다 로컬 존재 확인, 없으면 pull 후 이미지 ID 조회 (ContainerManager.prepareImage)
+ *   조회 결과는 ContainerManager에 메모이제이션되어 이후 컨테이너 생성 시 inspect를 생략
+ * - 모든 이미지가 로컬에 준비되면 ready 상태 (ImageWarmupHealthIndicator가 readiness로 노출)
+ *   pull에 실패한 이미지는 실패로 기록하고 다음 재확인 주기에 다시 시도 (그동안 not ready)
+ * - 재확인 주기마다 새로 활성화된 언어의 이미지를 준비
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageWarmupService {
+
+    private final ImageWarmupConfig warmupConfig;
+    private final LanguageService languageService;
+    private final ContainerManager containerManager;
+
+    // 이미지 이름 → 준비 상태 (READY: 이미지 ID, FAILED: 오류 메시지)
+    private final Map<String, String> imageStates = new ConcurrentHashMap<>();
+    private final Set<String> failedImages = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!warmupConfig.isEnabled()) {
+            ready.set(true);
+            log.info("[IMAGE-WARMUP] 비활성화 - 첫 컨테이너 생성 시 이미지 확인");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "image-warmup");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::warmup);
+        if (warmupConfig.getRefreshInterval() > 0) {
+            scheduler.scheduleWithFixedDelay(this::warmup,
+                    warmupConfig.getRefreshInterval(), warmupConfig.getRefreshInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 활성화된 언어 이미지 준비 (이미 준비된 이미지는 건너뜀)
+     */
+    public void warmup() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pullExecutor = Executors.newFixedThreadPool(Math.max(1, warmupConfig.getParallelism()), r -> {
+            Thread t = new Thread(r, "image-warmup-pull-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            Set<String> images = new LinkedHashSet<>();
+            for (Language language : languageService.findAllEnabled()) {
+                String image = language.getEffectiveDockerImage();
+                if (image != null && !image.isBlank() && !containerManager.isImageReady(image)) {
+                    images.add(image);
+                }
+            }
+            if (!images.isEmpty()) {
+                log.info("[IMAGE-WARMUP] 이미지 준비 시작 - {}개: {}", images.size(), images);
+            }
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (String image : images) {
+                futures.add(pullExecutor.submit(() -> prepare(image)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            if (!images.isEmpty()) {
+                log.info("[IMAGE-WARMUP] 이미지 준비 완료 - 성공: {}, 실패: {}, 소요 시간: {}ms",
+                        images.size() - failedImages.size(), failedImages.size(), System.currentTimeMillis() - startTime);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[IMAGE-WARMUP] 이미지 준비 중 오류", e);
+        } finally {
+            pullExecutor.shutdownNow();
+            // 모든 이미지가 로컬에 준비되면 ready (이후 재확인에서 실패해도 ready 유지)
+            if (failedImages.isEmpty()) {
+                ready.set(true);
+            }
+            running.set(false);
+        }
+    }
+
+    private void prepare(String image) {
+        long startTime = System.currentTimeMillis();
+        try {
+            String imageId = containerManager.prepareImage(image);
+            imageStates.put(image, imageId);
+            failedImages.remove(image);
+            log.info("[IMAGE-WARMUP] 이미지 준비 완료 - {}: {} ({}ms)", image, imageId, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            imageStates.put(image, "FAILED: " + e.getMessage());
+            failedImages.add(image);
+            log.error("[IMAGE-WARMUP] 이미지 준비 실패 - {}", image, e);
+        }
+    }
+
+    /**
+     * 활성화된 언어 이미지가 모두 로컬에 준비되었는지 여부
+     */
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    /**
+     * 이미지별 준비 상태 조회 - Health 모니터링용
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready.get());
+        stats.put("images", new LinkedHashMap<>(imageStates));
+        stats.put("failed", failedImages.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
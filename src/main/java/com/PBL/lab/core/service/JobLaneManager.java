@@ -0,0 +1,218 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.JobLaneConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 작업 레인 관리자
+ *
+ * JobRunr 워커에서 실행되는 작업이 시작 전에 레인 입장(tryEnter)을 요청하고,
+ * 허용되지 않으면 작업을 뒤로 미루도록(defer) 판단합니다. 대기하지 않으므로 워커를 점유하지 않습니다.
+ *
+ * 입장 규칙 (노드 단위):
+ * 1. 레인 실행 수가 maxConcurrent 이상이면 거부
+ * 2. 더 높은 우선순위 레인이 최근에 작업을 미뤘으면(적체) reserved 이상 실행 중인 레인은 거부
+ *    (상위 레인이 워커와 실행 컨테이너를 먼저 쓰도록 양보)
+ *
+ * 적체 신호는 미룬 작업 수가 아니라 만료 시각(재시도 지연 + backlog-grace)으로 관리합니다.
+ * 미룬 작업이 다른 노드에서 재개되거나 취소/실패/재시작으로 사라져도 시간이 지나면 스스로 풀립니다.
+ *
+ * 메트릭 (태그 lane):
+ * - judge0.jobs.lane.active: 실행 중인 작업 수
+ * - judge0.jobs.lane.backlogged: 적체 신호 유지 중이면 1, 아니면 0 (이 노드에서 미룬 작업 기준)
+ * - judge0.jobs.lane.queued: 대기열 깊이 (레인별 등록된 조회 함수, 예: DB의 QUEUE 상태 수)
+ * - judge0.jobs.lane.deferrals: 누적 미룸 횟수
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLaneManager {
+
+    private final JobLaneConfig laneConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LaneState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        laneConfig.getLanes().keySet().forEach(this::state);
+        log.info("[JOB-LANE] 초기화 완료 - 활성화: {}, 레인: {}", laneConfig.isEnabled(), describeLanes());
+    }
+
+    /**
+     * 레인 입장 시도 (대기하지 않음)
+     *
+     * @param lane 레인 이름
+     * @return 입장 허가 (작업 종료 시 close), 거부 시 null
+     */
+    public Permit tryEnter(String lane) {
+        LaneState state = state(lane);
+
+        JobLaneConfig.Lane settings = laneConfig.getLanes().get(lane);
+        if (!laneConfig.isEnabled() || settings == null) {
+            state.active.incrementAndGet();
+            return new Permit(state);
+        }
+
+        synchronized (this) {
+            int active = state.active.get();
+            if (active >= settings.getMaxConcurrent()) {
+                return null;
+            }
+            if (active >= settings.getReserved() && hasHigherPriorityBacklog(settings.getPriority())) {
+                return null;
+            }
+            state.active.incrementAndGet();
+        }
+        return new Permit(state);
+    }
+
+    /**
+     * 작업을 미뤘음을 기록
+     *
+     * 재시도 지연은 미룬 횟수마다 2배씩 늘어나 max-defer-delay에서 멈추고,
+     * 적체 신호는 "재시도 지연 + backlog-grace" 뒤에 만료됩니다.
+     *
+     * @param lane    레인 이름
+     * @param attempt 이 작업이 이미 미뤄진 횟수 (최초 실행은 0)
+     * @return 재시도 지연 시간 (밀리초)
+     */
+    public long recordDeferred(String lane, int attempt) {
+        LaneState state = state(lane);
+        state.deferrals.increment();
+        JobLaneConfig.Lane settings = laneConfig.getLanes().get(lane);
+        long baseDelay = settings != null ? settings.getDeferDelay() : 1000;
+        long delay = Math.min(baseDelay << Math.min(attempt, 10), Math.max(baseDelay, laneConfig.getMaxDeferDelay()));
+        long backlogUntil = System.currentTimeMillis() + delay + laneConfig.getBacklogGrace();
+        state.backlogUntil.accumulateAndGet(backlogUntil, Math::max);
+        return delay;
+    }
+
+    /**
+     * 레인 대기열 깊이 조회 함수 등록 (judge0.jobs.lane.queued 게이지)
+     *
+     * @param lane       레인 이름
+     * @param queueDepth 대기열 깊이 조회 함수 (예: QUEUE 상태 DB 카운트)
+     */
+    public void registerQueueDepth(String lane, Supplier<Number> queueDepth) {
+        LaneState state = state(lane);
+        state.queueDepth = queueDepth;
+        Gauge.builder("judge0.jobs.lane.queued", state, s -> s.queueDepth().doubleValue())
+                .description("Queued jobs waiting for a worker in this lane")
+                .tag("lane", lane)
+                .register(meterRegistry);
+    }
+
+    private boolean hasHigherPriorityBacklog(int priority) {
+        for (Map.Entry<String, JobLaneConfig.Lane> entry : laneConfig.getLanes().entrySet()) {
+            if (entry.getValue().getPriority() < priority && state(entry.getKey()).isBacklogged()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private LaneState state(String lane) {
+        return states.computeIfAbsent(lane, name -> {
+            LaneState state = new LaneState(Counter.builder("judge0.jobs.lane.deferrals")
+                    .description("Jobs deferred because their lane was full")
+                    .tag("lane", name)
+                    .register(meterRegistry));
+            Gauge.builder("judge0.jobs.lane.active", state, s -> s.active.get())
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            Gauge.builder("judge0.jobs.lane.backlogged", state, s -> s.isBacklogged() ? 1 : 0)
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            return state;
+        });
+    }
+
+    private String describeLanes() {
+        StringBuilder sb = new StringBuilder();
+        laneConfig.getLanes().forEach((name, lane) -> sb.append(name)
+                .append("(max=").append(lane.getMaxConcurrent())
+                .append(", reserved=").append(lane.getReserved())
+                .append(", priority=").append(lane.getPriority()).append(") "));
+        return sb.toString().trim();
+    }
+
+    /**
+     * 레인별 상태 조회 - Health 모니터링용
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        states.forEach((name, state) -> {
+            Map<String, Object> lane = new LinkedHashMap<>();
+            JobLaneConfig.Lane settings = laneConfig.getLanes().get(name);
+            lane.put("active", state.active.get());
+            lane.put("backlogged", state.isBacklogged());
+            lane.put("deferrals", (long) state.deferrals.count());
+            if (state.queueDepth != null) {
+                lane.put("queued", state.queueDepth().longValue());
+            }
+            if (settings != null) {
+                lane.put("max_concurrent", settings.getMaxConcurrent());
+                lane.put("priority", settings.getPriority());
+            }
+            stats.put(name, lane);
+        });
+        return stats;
+    }
+
+    /**
+     * 레인 입장 허가 - 작업 종료 시 반드시 close
+     */
+    public static final class Permit implements AutoCloseable {
+        private final LaneState state;
+        private boolean closed;
+
+        private Permit(LaneState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                state.active.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class LaneState {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong backlogUntil = new AtomicLong(); // 적체 신호 만료 시각 (epoch 밀리초)
+        private final Counter deferrals;
+        private volatile Supplier<Number> queueDepth;
+
+        private LaneState(Counter deferrals) {
+            this.deferrals = deferrals;
+        }
+
+        private boolean isBacklogged() {
+            return backlogUntil.get() > System.currentTimeMillis();
+        }
+
+        private Number queueDepth() {
+            try {
+                return queueDepth != null ? queueDepth.get() : 0;
+            } catch (Exception e) {
+                return Double.NaN;
+            }
+        }
+    }
+}
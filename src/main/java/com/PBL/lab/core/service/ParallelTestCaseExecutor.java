@@ -0,0 +1,232 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.GradingConfig;
+import com.PBL.lab.core.docker.ContainerManager;
+import com.PBL.lab.core.docker.ContainerPool;
+import com.PBL.lab.core.docker.ContainerReaper;
+import com.PBL.lab.core.dto.CodeExecutionRequest;
+import com.PBL.lab.core.dto.CompilationContext;
+import com.PBL.lab.core.dto.ExecutionInputOutputDTO;
+import com.PBL.lab.core.dto.ExecutionResult;
+import com.PBL.lab.core.enums.Status;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * 테스트케이스 병렬 실행 서비스 (Grade 전용)
+ *
+ * 컴파일된 작업 디렉토리를 풀에서 획득한 형제 컨테이너 N-1개에 복제하고,
+ * 테스트케이스를 여러 컨테이너에 분배하여 동시에 실행합니다.
+ *
+ * 실행 의미:
+ * - 순서 보장 fail-fast: 가장 앞선 실패 케이스까지의 결과만 반환 (순차 실행과 동일한 결과)
+ * - 실패가 발견되면 그 뒤 인덱스의 케이스는 새로 시작하지 않음
+ * - 진행률: 앞에서부터 연속으로 통과한 케이스 수가 늘어날 때마다 호출 스레드에서 콜백 호출
+ * - 전체 실행(failFast=false): 실패와 관계없이 모든 케이스를 실행하고,
+ *   진행률은 앞에서부터 연속으로 실행 완료된 케이스 수 기준
+ *
+ * 형제 컨테이너 획득이나 복제에 실패하면 확보된 컨테이너만으로 실행합니다.
+ *
+ * 분배 스레드 수는 병렬도 × JobRunr 워커 수로 제한합니다 (동시에 실행될 수 있는 채점 수의 최대치).
+ * 상한에 도달하면 작업은 대기열에서 기다리며, 그동안 같은 채점의 다른 분배 스레드가 케이스를 계속 처리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelTestCaseExecutor {
+
+    private final DockerExecutionService dockerExecutionService;
+    private final ContainerManager containerManager;
+    private final ContainerPool containerPool;
+    private final ContainerReaper containerReaper;
+    private final GradingConfig gradingConfig;
+
+    @Value("${org.jobrunr.background-job-server.worker-count:8}")
+    private int jobWorkerCount;
+
+    private ExecutorService fanOutExecutor;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int maxThreads = Math.max(1, gradingConfig.getParallelism()) * Math.max(1, jobWorkerCount);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "grade-fan-out-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        fanOutExecutor = executor;
+        log.info("[PARALLEL] 분배 스레드 상한: {} (병렬도 {} × 워커 {})",
+                maxThreads, gradingConfig.getParallelism(), jobWorkerCount);
+    }
+
+    /**
+     * 병렬 실행 사용 여부 판단
+     *
+     * @param testCaseCount 테스트케이스 수
+     * @return 병렬도 설정이 2 이상이고 테스트케이스 수가 최소 기준 이상이면 true
+     */
+    public boolean isApplicable(int testCaseCount) {
+        return gradingConfig.getParallelism() > 1 && testCaseCount >= gradingConfig.getParallelMinTestCases();
+    }
+
+    /**
+     * 테스트케이스 병렬 실행
+     *
+     * @param context        컴파일이 완료된 기본 컨텍스트
+     * @param request        컴파일 요청 (형제 컨테이너를 같은 리소스 프로파일로 획득하기 위해 사용)
+     * @param testCases      테스트케이스 입력/기대 출력 목록
+     * @param failFast       true면 첫 실패 케이스에서 중단, false면 전체 케이스 실행
+     * @param onPassedPrefix 앞에서부터 연속 통과(전체 실행 시 연속 완료)한 케이스 수가 증가할 때 호출되는 콜백
+     * @return 테스트케이스 순서대로의 실행 결과 (fail-fast: 첫 실패 케이스까지, 모두 통과 또는 전체 실행 시 전체)
+     */
+    public List<ExecutionResult> execute(CompilationContext context, CodeExecutionRequest request,
+                                         List<ExecutionInputOutputDTO> testCases, boolean failFast,
+                                         IntConsumer onPassedPrefix)
+            throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        List<CompilationContext> workers = new ArrayList<>();
+        workers.add(context);
+
+        try {
+            workers.addAll(prepareSiblings(context, request, Math.min(gradingConfig.getParallelism(), testCases.size()) - 1));
+            log.info("[PARALLEL] 병렬 실행 시작 - 컨테이너: {}개, 테스트케이스: {}개", workers.size(), testCases.size());
+
+            int total = testCases.size();
+            AtomicReferenceArray<ExecutionResult> results = new AtomicReferenceArray<>(total);
+            AtomicInteger nextIndex = new AtomicInteger();
+            AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+            BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (CompilationContext worker : workers) {
+                futures.add(fanOutExecutor.submit(() -> {
+                    int index;
+                    while ((index = nextIndex.getAndIncrement()) < total && index < firstFailure.get()) {
+                        ExecutionInputOutputDTO testCase = testCases.get(index);
+                        ExecutionResult result = dockerExecutionService.executeWithCompiledCode(
+                                worker, testCase.getStdin(), testCase.getExpectedOutput());
+                        results.set(index, result);
+                        if (failFast && result.getStatus() != Status.AC) {
+                            firstFailure.accumulateAndGet(index, Math::min);
+                        }
+                        completed.add(index);
+                    }
+                }));
+            }
+
+            // 호출 스레드에서 진행률 보고 (연속 통과 구간이 늘어날 때마다)
+            int passedPrefix = 0;
+            while (!allDone(futures) || !completed.isEmpty()) {
+                if (completed.poll(100, TimeUnit.MILLISECONDS) == null) {
+                    continue;
+                }
+                int advanced = passedPrefix;
+                while (advanced < total && results.get(advanced) != null
+                        && (!failFast || results.get(advanced).getStatus() == Status.AC)) {
+                    advanced++;
+                }
+                if (advanced > passedPrefix) {
+                    passedPrefix = advanced;
+                    onPassedPrefix.accept(passedPrefix);
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    log.error("[PARALLEL] 워커 실행 오류", e.getCause());
+                }
+            }
+
+            // 첫 실패 케이스까지 순서대로 수집 (그 이전 케이스는 모두 실행 완료 상태)
+            int end = Math.min(total, firstFailure.get() == Integer.MAX_VALUE ? total : firstFailure.get() + 1);
+            List<ExecutionResult> ordered = new ArrayList<>(end);
+            for (int i = 0; i < end; i++) {
+                ExecutionResult result = results.get(i);
+                ordered.add(result != null ? result : ExecutionResult.error("Test case " + (i + 1) + " was not executed"));
+            }
+
+            log.info("[PARALLEL] 병렬 실행 완료 - 결과: {}/{}, 총 소요 시간: {}ms",
+                    ordered.size(), total, System.currentTimeMillis() - startTime);
+            return ordered;
+
+        } finally {
+            // 형제 컨테이너 반환 (기본 컨텍스트는 호출 측에서 정리)
+            for (int i = 1; i < workers.size(); i++) {
+                containerReaper.release(workers.get(i).getContainerId());
+            }
+        }
+    }
+
+    /**
+     * 형제 컨테이너 준비 - 풀에서 획득 후 기본 컨테이너의 작업 디렉토리(컴파일 결과물, 실행 스크립트) 복제
+     */
+    private List<CompilationContext> prepareSiblings(CompilationContext context, CodeExecutionRequest request, int count) {
+        List<CompilationContext> siblings = new ArrayList<>();
+        if (count <= 0) {
+            return siblings;
+        }
+
+        byte[] workDirectory;
+        try {
+            workDirectory = containerManager.downloadWorkDirectory(context.getContainerId());
+        } catch (Exception e) {
+            log.warn("[PARALLEL] 작업 디렉토리 수집 실패 - 단일 컨테이너로 실행", e);
+            return siblings;
+        }
+
+        for (int i = 0; i < count; i++) {
+            String containerId = null;
+            try {
+                // 형제 컨테이너는 없어도 진행 가능하므로 동시 사용량 예산을 기다리지 않음
+                containerId = containerPool.tryAcquire(context.getLanguage(), request);
+                containerManager.uploadArchive(containerId, workDirectory);
+                siblings.add(CompilationContext.builder()
+                        .containerId(containerId)
+                        .compileOutput(context.getCompileOutput())
+                        .language(context.getLanguage())
+                        .compileTime(context.getCompileTime())
+                        .outputLimitBytes(context.getOutputLimitBytes())
+                        .cpuTimeLimit(context.getCpuTimeLimit())
+                        .memoryLimitKb(context.getMemoryLimitKb())
+                        .numberOfRuns(context.getNumberOfRuns())
+                        .build());
+            } catch (Exception e) {
+                log.warn("[PARALLEL] 형제 컨테이너 준비 실패 - 확보된 {}개로 실행", siblings.size(), e);
+                containerReaper.invalidate(containerId);
+                break;
+            }
+        }
+        return siblings;
+    }
+
+    private boolean allDone(List<Future<?>> futures) {
+        return futures.stream().allMatch(Future::isDone);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.PBL.lab.core.service;
+
+import com.PBL.lab.core.config.QueueCounterConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 대기열 크기 카운터
+ *
+ * 큐별로 "마지막 재조정 시점의 DB 카운트(baseline) + 이후 이 노드에서 일어난 증감(delta)"을 유지하여
+ * 대기열 크기 조회를 DB 접근 없이 처리합니다.
+ *
+ * 동작 방식:
+ * - 등록(register) 시 DB 카운트로 초기화
+ * - QUEUE 상태로 저장할 때 increment, QUEUE 상태를 벗어날 때 decrement (잠금 없는 원자 연산)
+ * - judge0.queue-counter.reconcile-interval마다 DB 카운트로 baseline을 갱신하고
+ *   그 사이에 반영된 delta를 차감 (다른 노드의 변화, 롤백, 누락된 전이 보정)
+ *
+ * 여러 레플리카가 같은 DB를 쓰는 경우 다른 노드의 증감은 다음 재조정 때 반영되므로,
+ * 대기열 초과 검사는 재조정 주기만큼의 오차를 가질 수 있습니다.
+ *
+ * 메트릭: judge0.queue.depth (태그 queue)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueueDepthCounter {
+
+    private final QueueCounterConfig counterConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reconcileScheduler;
+
+    @PostConstruct
+    public void initialize() {
+        if (!counterConfig.isEnabled()) {
+            log.info("[QUEUE-COUNTER] 비활성화 - 대기열 크기는 매번 DB에서 조회합니다");
+            return;
+        }
+        long interval = Math.max(100, counterConfig.getReconcileInterval());
+        reconcileScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "queue-counter-reconcile");
+            t.setDaemon(true);
+            return t;
+        });
+        reconcileScheduler.scheduleWithFixedDelay(this::reconcileAll, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("[QUEUE-COUNTER] 초기화 완료 - 재조정 주기: {}ms", interval);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reconcileScheduler != null) {
+            reconcileScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 큐 등록
+     *
+     * @param queue   큐 이름 (예: submission, grading)
+     * @param dbCount DB의 QUEUE 상태 카운트 조회 함수 (재조정 기준)
+     */
+    public void register(String queue, Supplier<Long> dbCount) {
+        Counter counter = new Counter(dbCount);
+        if (counters.putIfAbsent(queue, counter) != null) {
+            return;
+        }
+        Gauge.builder("judge0.queue.depth", () -> get(queue))
+                .description("Jobs waiting in queue (in-memory counter reconciled with the database)")
+                .tag("queue", queue)
+                .register(meterRegistry);
+        if (counterConfig.isEnabled()) {
+            reconcile(queue, counter);
+        }
+    }
+
+    /**
+     * 대기열 진입 반영
+     */
+    public void increment(String queue, int count) {
+        Counter counter = counters.get(queue);
+        if (counter != null && count > 0) {
+            counter.delta.addAndGet(count);
+        }
+    }
+
+    /**
+     * 대기열 이탈 반영
+     */
+    public void decrement(String queue) {
+        Counter counter = counters.get(queue);
+        if (counter != null) {
+            counter.delta.decrementAndGet();
+        }
+    }
+
+    /**
+     * 현재 대기열 크기
+     *
+     * 비활성화 상태면 DB에서 바로 조회합니다.
+     *
+     * @param queue 큐 이름
+     * @return 대기 중인 작업 수 (0 이상)
+     */
+    public long get(String queue) {
+        Counter counter = counters.get(queue);
+        if (counter == null) {
+            return 0;
+        }
+        if (!counterConfig.isEnabled()) {
+            return counter.dbCount.get();
+        }
+        return Math.max(0, counter.baseline + counter.delta.get());
+    }
+
+    private void reconcileAll() {
+        counters.forEach(this::reconcile);
+    }
+
+    private void reconcile(String queue, Counter counter) {
+        try {
+            // DB 조회 전에 delta를 확정해 두고, 조회한 카운트에 이미 포함된 만큼만 차감
+            long applied = counter.delta.get();
+            long actual = counter.dbCount.get();
+            long estimated = counter.baseline + applied;
+            counter.baseline = actual;
+            counter.delta.addAndGet(-applied);
+            if (estimated != actual) {
+                log.debug("[QUEUE-COUNTER] 재조정 - queue: {}, 추정: {}, DB: {}", queue, estimated, actual);
+            }
+        } catch (Exception e) {
+            log.warn("[QUEUE-COUNTER] 재조정 실패 - queue: {}: {}", queue, e.getMessage());
+        }
+    }
+
+    /**
+     * 큐별 카운터 상태 조회 - Health 모니터링용
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", counterConfig.isEnabled());
+        counters.forEach((queue, counter) -> stats.put(queue, get(queue)));
+        return stats;
+    }
+
+    private static final class Counter {
+        private final Supplier<Long> dbCount;
+        private final AtomicLong delta = new AtomicLong();
+        private volatile long baseline;
+
+        private Counter(Supplier<Long> dbCount) {
+            this.dbCount = dbCount;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.PBL.lab.grade.config;
+
+import com.PBL.lab.grade.controller.GradeProgressWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 채점 진행상황 WebSocket 설정 - Raw WebSocket 방식
+ *
+ * - ws://localhost:2358/grade/{token}/progress/ws
+ * - ws://localhost:2358/grading/{token}/progress/ws
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class GradeProgressWebSocketConfig implements WebSocketConfigurer {
+
+    private final GradeProgressWebSocketHandler gradeProgressWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(gradeProgressWebSocketHandler, "/grade/*/progress/ws", "/grading/*/progress/ws")
+            .setAllowedOrigins("*");
+    }
+}
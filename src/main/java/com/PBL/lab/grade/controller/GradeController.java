@@ -2,6 +2,7 @@ package com.PBL.lab.grade.controller;
 
 import com.PBL.lab.core.config.FeatureFlagsConfig;
 import com.PBL.lab.core.config.SystemConfig;
+import com.PBL.lab.core.exception.ProgressStreamLimitException;
 import com.PBL.lab.grade.dto.GradeRequest;
 import com.PBL.lab.grade.dto.GradeResponse;
 import com.PBL.lab.grade.service.GradeExecutionService;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -218,37 +220,81 @@ public class GradeController {
         }
     }
 
+    /**
+     * GET /grade/{token}/cases, /grading/{token}/cases
+     * 테스트케이스별 채점 결과 조회 (판정, 실행 시간, 메모리, stdout 해시)
+     * fail-fast 모드에서는 첫 실패 케이스까지만 포함
+     */
+    @GetMapping({"/grade/{token}/cases", "/grading/{token}/cases"})
+    public ResponseEntity<?> cases(
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @PathVariable String token) {
+
+        try {
+            Grade grade = gradeService.findByToken(token);
+            if (grade == null) {
+                return ResponseEntity.notFound().build();
+            }
+
+            // 접근 권한 검증
+            gradeService.validateAccess(grade, userId);
+
+            return ResponseEntity.ok(Map.of(
+                    "token", token,
+                    "passed_test_cases", grade.getPassedTestCases() != null ? grade.getPassedTestCases() : 0,
+                    "total_test_cases", grade.getTotalTestCases() != null ? grade.getTotalTestCases() : 0,
+                    "cases", gradeService.findCaseResults(grade)
+            ));
+        } catch (com.PBL.lab.core.exception.AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "error", e.getMessage()
+            ));
+        } catch (Exception e) {
+            log.error("케이스별 결과 조회 실패 - token: {}", token, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Internal server error"));
+        }
+    }
+
     /**
      * SSE를 통한 채점 진행상황 실시간 스트림
      */
     @GetMapping(value = {"/grade/{token}/progress", "/grading/{token}/progress"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter getGradeProgressSSE(
+    public ResponseEntity<SseEmitter> getGradeProgressSSE(
             @PathVariable String token,
             boolean base64_encoded,
             String fields) {
         try {
             // 채점이 존재하는지 확인 (존재하지 않으면 IllegalArgumentException 발생)
-            gradeService.findByToken(token);
+            Grade grade = gradeService.findByToken(token);
+            if (grade == null) {
+                throw new IllegalArgumentException("Grade not found: " + token);
+            }
 
-            // SSE 연결 등록 및 Emitter 반환
+            // SSE 연결 등록 및 Emitter 반환 (조회한 Grade로 초기 상태 전송, 이후 진행 이벤트는 DB 조회 없이 전송)
             // (내부적으로 onCompletion, onTimeout, onError 핸들러 설정됨)
-            return gradeProgressService.registerProgressListener(token);
+            return ResponseEntity.ok(gradeProgressService.registerProgressListener(grade));
 
+        } catch (ProgressStreamLimitException e) {
+            // 노드의 동시 스트림 수 초과 - 클라이언트가 잠시 후 재연결하도록 503 반환
+            log.warn("Progress stream rejected for grade: {} - {}", token, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
         } catch (com.PBL.lab.core.exception.AccessDeniedException e) {
             log.error("Access denied for grade: {}", token);
             SseEmitter emitter = new SseEmitter();
             emitter.completeWithError(new RuntimeException("Access denied: " + e.getMessage()));
-            return emitter;
+            return ResponseEntity.ok(emitter);
         } catch (IllegalArgumentException e) {
             log.error("Grade not found: {}", token);
             SseEmitter emitter = new SseEmitter();
             emitter.completeWithError(new RuntimeException("Grade not found: " + token));
-            return emitter;
+            return ResponseEntity.ok(emitter);
         } catch (Exception e) {
             log.error("SSE connection setup failed for grade: {}", token, e);
             SseEmitter emitter = new SseEmitter();
             emitter.completeWithError(e);
-            return emitter;
+            return ResponseEntity.ok(emitter);
         }
     }
 
@@ -0,0 +1,66 @@
+package com.PBL.lab.grade.controller;
+
+import com.PBL.lab.core.exception.ProgressStreamLimitException;
+import com.PBL.lab.grade.entity.Grade;
+import com.PBL.lab.grade.service.GradeProgressService;
+import com.PBL.lab.grade.service.GradeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+
+/**
+ * 채점 진행상황 WebSocket Handler
+ *
+ * ws://{host}/grade/{token}/progress/ws 로 연결하면 SSE(/grade/{token}/progress)와 같은
+ * 진행 이벤트(GradeResponse JSON)를 텍스트 메시지로 받습니다. 채점이 끝나면 서버가 연결을 닫습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GradeProgressWebSocketHandler extends TextWebSocketHandler {
+
+    private final GradeService gradeService;
+    private final GradeProgressService gradeProgressService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String token = extractToken(session.getUri());
+        Grade grade = token != null ? gradeService.findByToken(token) : null;
+        if (grade == null) {
+            log.warn("Progress WebSocket rejected - grade not found: {}", token);
+            session.close(CloseStatus.BAD_DATA.withReason("Grade not found"));
+            return;
+        }
+        session.getAttributes().put("token", token);
+        try {
+            gradeProgressService.registerWebSocket(grade, session);
+        } catch (ProgressStreamLimitException e) {
+            log.warn("Progress WebSocket rejected for token: {} - {}", token, e.getMessage());
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many progress streams"));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object token = session.getAttributes().get("token");
+        if (token != null) {
+            gradeProgressService.unregisterWebSocket(token.toString(), session);
+        }
+    }
+
+    /**
+     * /grade/{token}/progress/ws 경로에서 token 추출
+     */
+    private String extractToken(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String[] segments = uri.getPath().split("/");
+        return segments.length >= 3 ? segments[segments.length - 3] : null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.PBL.lab.grade.dto;
+
+import com.PBL.lab.core.dto.ExecutionResult;
+import com.PBL.lab.core.dto.StatusResponse;
+import com.PBL.lab.core.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 테스트케이스별 채점 결과 (grade_case_results 행)
+ *
+ * 입출력 전체 대신 판정, 실행 시간, 메모리, stdout 해시만 보관하는 가벼운 결과입니다.
+ * stdout 해시는 SHA-256 앞 16자리입니다. 배치 하네스는 컨테이너 안에서 전체 stdout으로 계산한 해시를 보내고,
+ * 개별/병렬 실행은 수집한 stdout으로 계산합니다. 출력이 없으면 null입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradeCaseResult {
+
+    private static final int STDOUT_HASH_LENGTH = 16;
+
+    @JsonProperty("case_index")
+    private int caseIndex; // 0부터 시작하는 테스트케이스 순서
+
+    private StatusResponse status;
+
+    private BigDecimal time;
+
+    private Integer memory;
+
+    @JsonProperty("stdout_hash")
+    private String stdoutHash;
+
+    public static GradeCaseResult from(int caseIndex, ExecutionResult result) {
+        return GradeCaseResult.builder()
+                .caseIndex(caseIndex)
+                .status(StatusResponse.from(result.getStatus()))
+                .time(result.getTime())
+                .memory(result.getMemory())
+                .stdoutHash(result.getStdoutHash() != null ? result.getStdoutHash() : hash(result.getStdout()))
+                .build();
+    }
+
+    /**
+     * 실행 중 오류로 결과가 없는 케이스
+     */
+    public static GradeCaseResult error(int caseIndex) {
+        return GradeCaseResult.builder()
+                .caseIndex(caseIndex)
+                .status(StatusResponse.from(Status.BOXERR))
+                .build();
+    }
+
+    private static String hash(String stdout) {
+        if (stdout == null || stdout.isEmpty()) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(stdout.getBytes(StandardCharsets.UTF_8)))
+                    .substring(0, STDOUT_HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
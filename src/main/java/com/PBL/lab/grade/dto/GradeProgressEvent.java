@@ -0,0 +1,34 @@
+package com.PBL.lab.grade.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채점 진행 이벤트 (GradeProgressBus로 노드 간 전달)
+ *
+ * GradeJob이 실행되는 노드에서 발행하고, SSE/WebSocket 구독자를 가진 모든 노드가 수신합니다.
+ * Postgres NOTIFY 페이로드 제한(8000 bytes) 안에 들도록 진행 정보만 담습니다.
+ * terminal 이벤트를 받은 노드는 구독자가 있을 때만 Grade를 DB에서 한 번 읽어 최종 결과를 전송합니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GradeProgressEvent {
+
+    private String token;
+
+    private int doneTestCase;
+
+    private int totalTestCase;
+
+    private Integer lastVerdictId; // 마지막으로 완료한 테스트케이스의 판정 (Status id)
+
+    private String message;
+
+    private boolean terminal; // 채점 종료 여부
+}
@@ -11,6 +11,7 @@ import com.PBL.lab.grade.entity.Grade;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -44,6 +45,14 @@ public class GradeResponse extends BaseExecutionResponse {
 
     private ProgressResponse progress;
 
+    @JsonProperty("passed_test_cases")
+    private Integer passedTestCases;
+
+    @JsonProperty("total_test_cases")
+    private Integer totalTestCases;
+
+    private BigDecimal score;
+
 
     /**
      * Create GradeResponse from Grade entity with encoding option
@@ -71,6 +80,9 @@ public class GradeResponse extends BaseExecutionResponse {
                 .exitCode(grade.getExitCode())
                 .exitSignal(grade.getExitSignal())
                 .problemId(grade.getProblemId())
+                .passedTestCases(grade.getPassedTestCases())
+                .totalTestCases(grade.getTotalTestCases())
+                .score(grade.getScore())
                 .progress(progress);
 
         // Handle text fields with base64 encoding
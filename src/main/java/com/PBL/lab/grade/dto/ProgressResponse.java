@@ -1,5 +1,6 @@
 package com.PBL.lab.grade.dto;
 
+import com.PBL.lab.core.dto.StatusResponse;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
@@ -25,6 +26,9 @@ public class ProgressResponse {
     @JsonProperty("estimated_remaining_time")
     private Long estimatedRemainingTime; // milliseconds
 
+    @JsonProperty("last_verdict")
+    private StatusResponse lastVerdict; // 마지막으로 완료한 테스트케이스의 판정
+
     /**
      * 진행률 자동 계산
      */
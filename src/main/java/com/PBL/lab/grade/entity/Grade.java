@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.math.BigDecimal;
+
 @Entity
 @Table(name = "grade", indexes = {
         @Index(name = "idx_grade_token", columnList = "token"),
@@ -33,4 +35,24 @@ public class Grade extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String message;
 
+    /**
+     * 통과한 테스트케이스 수
+     * - fail-fast 모드에서는 첫 실패 이전까지 통과한 케이스 수
+     */
+    @Column(name = "passed_test_cases")
+    private Integer passedTestCases;
+
+    /**
+     * 전체 테스트케이스 수
+     */
+    @Column(name = "total_test_cases")
+    private Integer totalTestCases;
+
+    /**
+     * 점수 (0~100, 통과 케이스 비율)
+     * - 실행하지 않은 케이스는 미통과로 계산
+     */
+    @Column(precision = 5, scale = 2)
+    private BigDecimal score;
+
 }
@@ -1,21 +1,28 @@
 package com.PBL.lab.grade.job;
 
+import com.PBL.lab.core.config.GradingConfig;
 import com.PBL.lab.core.dto.CodeExecutionRequest;
 import com.PBL.lab.core.dto.CompilationContext;
+import com.PBL.lab.core.dto.ExecutionInputOutputDTO;
 import com.PBL.lab.core.entity.ExecutionInputOutput;
+import com.PBL.lab.grade.dto.GradeCaseResult;
 import com.PBL.lab.grade.entity.Grade;
 import com.PBL.lab.grade.service.*;
 import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.core.exception.AdmissionTimeoutException;
 import com.PBL.lab.core.service.DockerExecutionService;
+import com.PBL.lab.core.service.ParallelTestCaseExecutor;
 import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lecture.entity.TestCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jobrunr.jobs.annotations.Job;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,14 +40,17 @@ import java.util.List;
  * JobRunr 통합:
  * - @Job 어노테이션으로 JobRunr 작업으로 등록
  * - 자동 재시도 기능 (retries = 3)
- * - 트랜잭션 관리로 데이터 일관성 보장
  * - 백그라운드에서 비동기적으로 실행
  *
+ * DB 접근:
+ * - 작업 전체를 하나의 트랜잭션으로 묶지 않음 (Docker 실행 동안 DB 커넥션을 잡지 않도록 GradeService 호출 단위로 짧게 처리)
+ * - 진행 중에는 메시지만 judge0.grading.progress-flush-interval 간격으로 갱신하고, Grade 전체는 종료 시 1회 저장
+ *
  * 채점 과정:
  * 1. Grade 데이터 로드 및 검증
  * 2. 채점 상태를 PROCESS로 변경
- * 3. Docker 컨테이너에서 코드 실행
- * 4. 채점 결과를 데이터베이스에 저장
+ * 3. Docker 컨테이너에서 코드 실행 (judge0.grading.fail-fast=false면 첫 실패 이후에도 전체 케이스 실행)
+ * 4. 채점 결과, 점수와 케이스별 결과(grade_case_results, 배치 insert 1회)를 데이터베이스에 저장
  * 5. 웹훅 콜백 전송 (설정된 경우)
  *
  * 오류 처리:
@@ -56,9 +66,10 @@ public class GradeJob {
     private final GradeService gradeService;
     private final DockerExecutionService dockerExecutionService;
     private final GradeProgressService gradeProgressService;
+    private final GradingConfig gradingConfig;
+    private final ParallelTestCaseExecutor parallelTestCaseExecutor;
 
     @Job(name = "Execute Code Grading", retries = 3)
-    @Transactional
     public void executeGrade(String gradeToken) {
         log.info("[GRADE] ========== 코드 채점 작업 시작 - Grade Token: {} ==========", gradeToken);
 
@@ -79,7 +90,7 @@ public class GradeJob {
             grade.setExecutionHost(getHostname());
 
             log.info("[GRADE] 채점 상태 변경: PROCESS - Token: {}", gradeToken);
-            gradeService.updateStatus(gradeToken, Status.PROCESS);
+            gradeService.markProcessing(grade);
 
             log.info("[GRADE] 테스트케이스 조회 시작 - Problem ID: {}", grade.getProblemId());
             List<TestCase> testCases = gradeService.findTestCasesByLectureId(grade.getProblemId());
@@ -92,7 +103,7 @@ public class GradeJob {
                 grade.setStatus(Status.BOXERR);
                 grade.setMessage("No test cases found for this problem");
                 gradeService.updateResult(grade);
-                gradeProgressService.sendProgress(gradeToken);
+                gradeProgressService.publishCompleted(grade);
                 return;
             }
 
@@ -102,14 +113,16 @@ public class GradeJob {
             log.info("총 {}개의 테스트케이스로 채점 시작 - grade token: {}", totalTestCases, gradeToken);
 
             grade.setMessage("채점을 시작하겠습니다.");
-            gradeService.updateResult(grade);
-            gradeProgressService.updateProgress(gradeToken, 0, totalTestCases);
+            gradeService.updateProgressMessage(gradeToken, grade.getMessage());
+            long lastProgressFlush = System.currentTimeMillis();
+            gradeProgressService.publishProgress(gradeToken, 0, totalTestCases, null, grade.getMessage());
 
             // 1. 컴파일 준비 (1회만)
             CompilationContext compilationContext = null;
+            CodeExecutionRequest compileRequest;
             try {
                 log.info("[GRADE] ===== 1단계: 코드 컴파일 시작 =====");
-                CodeExecutionRequest compileRequest = grade.buildCodeExecutionRequest(grade);
+                compileRequest = grade.buildCodeExecutionRequest(grade);
                 log.debug("[GRADE] CodeExecutionRequest 생성 완료 - 소스코드 길이: {} bytes",
                         compileRequest.getSourceCode() != null ? compileRequest.getSourceCode().length() : 0);
 
@@ -117,12 +130,20 @@ public class GradeJob {
 
                 log.info("[GRADE] 코드 컴파일 완료 - Token: {}, 소요 시간: {}ms, 컨테이너 ID: {}",
                         gradeToken, compilationContext.getCompileTime(), compilationContext.getContainerId());
+            } catch (AdmissionTimeoutException e) {
+                // 실행 용량 부족은 제출 코드의 문제가 아니므로 컴파일 에러(CE)로 판정하지 않음
+                log.warn("[GRADE] 실행 용량 부족으로 채점 불가 - Token: {}, {}", gradeToken, e.getMessage());
+                grade.setStatus(Status.BOXERR);
+                grade.setMessage("채점 서버가 혼잡하여 실행하지 못했습니다. 잠시 후 다시 제출해 주세요.");
+                gradeService.updateResult(grade);
+                gradeProgressService.publishCompleted(grade);
+                return;
             } catch (Exception e) {
                 log.error("[GRADE] 코드 컴파일 실패 - Token: {}", gradeToken, e);
                 grade.setStatus(Status.CE);
                 grade.setMessage("컴파일 실패: " + e.getMessage());
                 gradeService.updateResult(grade);
-                gradeProgressService.sendProgress(gradeToken);
+                gradeProgressService.publishCompleted(grade);
                 return;
             }
 
@@ -134,90 +155,155 @@ public class GradeJob {
                         .message("")
                         .build();
 
+                List<ExecutionInputOutputDTO> caseInputs = testCases.stream()
+                        .map(testCase -> ExecutionInputOutputDTO.builder()
+                                .stdin(testCase.getInput())
+                                .expectedOutput(testCase.getExpectedOutput())
+                                .build())
+                        .toList();
+
+                // 병렬/배치 모드: 전체 테스트케이스를 먼저 실행 (fail-fast면 첫 실패 케이스까지의 결과)
+                boolean failFast = gradingConfig.isFailFast();
+                List<ExecutionResult> batchResults = null;
+                boolean progressStreamed = false; // 실행 중 이미 케이스별 진행을 전송했는지 여부
+                if (parallelTestCaseExecutor.isApplicable(totalTestCases)) {
+                    log.info("[GRADE] 병렬 실행으로 테스트케이스 실행 - Token: {}", gradeToken);
+                    batchResults = parallelTestCaseExecutor.execute(compilationContext, compileRequest, caseInputs, failFast,
+                            done -> gradeProgressService.publishProgress(gradeToken, done, totalTestCases,
+                                    failFast ? Status.AC : null,
+                                    "테스트케이스 " + done + "/" + totalTestCases + (failFast ? " 통과" : " 실행")));
+                    progressStreamed = true;
+                } else if (gradingConfig.isBatchMode()) {
+                    log.info("[GRADE] 배치 하네스로 테스트케이스 실행 - Token: {}", gradeToken);
+                    // 하네스가 결과 행을 출력할 때마다 진행 전송 (실행이 끝난 뒤 몰아서 보내지 않도록)
+                    batchResults = dockerExecutionService.executeBatch(compilationContext, caseInputs, failFast,
+                            (index, result) -> gradeProgressService.publishProgress(gradeToken, index + 1,
+                                    totalTestCases, result.getStatus(),
+                                    "테스트케이스 " + (index + 1) + "/" + totalTestCases
+                                            + (result.getStatus() == Status.AC ? " 통과" : " 실패: " + result.getStatus().getName())));
+                    progressStreamed = true;
+                }
+
+                List<GradeCaseResult> caseResults = new ArrayList<>(totalTestCases);
+                Status failedStatus = null; // 첫 실패 케이스의 판정 (없으면 null)
+                int failedCase = 0;
+                boolean executionError = false;
+
                 for (int i = 0; i < testCases.size(); i++) {
                     TestCase testCase = testCases.get(i);
                     log.info("[GRADE] 테스트케이스 {}/{} 실행 시작 - Token: {}", i + 1, totalTestCases, gradeToken);
 
                     try {
-                        // 컴파일된 코드로 실행 (빠름!)
-                        log.debug("[GRADE] executeWithCompiledCode 호출 - 입력 크기: {} bytes",
-                                testCase.getInput() != null ? testCase.getInput().length() : 0);
-
-                        commonResult = dockerExecutionService.executeWithCompiledCode(
-                                compilationContext,
-                                testCase.getInput(),
-                                testCase.getExpectedOutput());
+                        if (batchResults != null) {
+                            if (i >= batchResults.size()) {
+                                throw new IllegalStateException("Batch harness returned no result for test case " + (i + 1));
+                            }
+                            commonResult = batchResults.get(i);
+                        } else {
+                            // 컴파일된 코드로 실행 (빠름!)
+                            log.debug("[GRADE] executeWithCompiledCode 호출 - 입력 크기: {} bytes",
+                                    testCase.getInput() != null ? testCase.getInput().length() : 0);
+
+                            commonResult = dockerExecutionService.executeWithCompiledCode(
+                                    compilationContext,
+                                    testCase.getInput(),
+                                    testCase.getExpectedOutput());
+                        }
 
                         log.debug("[GRADE] executeWithCompiledCode 완료 - 상태: {}, 종료 코드: {}",
                                 commonResult.getStatus(), commonResult.getExitCode());
 
+                        caseResults.add(GradeCaseResult.from(i, commonResult));
+
+                        // 실행 성능 정보를 Grade에 저장 (최대값 사용)
+                        updateGradePerformanceMetrics(grade, commonResult);
+
                         if (commonResult.getStatus().equals(Status.AC)) {
                             passedTestCases++;
                             log.info("[GRADE] ✅ 테스트케이스 {}/{} 통과 - Token: {}", i + 1, totalTestCases, gradeToken);
-
-                            // 실행 성능 정보를 Grade에 저장 (최대값 사용)
-                            updateGradePerformanceMetrics(grade, commonResult);
-
-                            grade.setMessage("테스트케이스 " + (i + 1) + "/" + totalTestCases + " 통과");
-                            if (totalTestCases != passedTestCases) {
-                                grade.setStatus(Status.PROCESS);
+                            if (failedStatus == null) {
+                                grade.setMessage("테스트케이스 " + (i + 1) + "/" + totalTestCases + " 통과");
                             }
-                            gradeService.updateResult(grade);
-                            gradeProgressService.updateProgress(gradeToken, i + 1, totalTestCases);
                         } else {
                             log.info("[GRADE] ❌ 테스트케이스 {}/{} 실패 - 상태: {}, Token: {}",
                                     i + 1, totalTestCases, commonResult.getStatus().getName(), gradeToken);
 
-                            // 오답일 때 입출력 정보를 Grade에 저장
-                            ExecutionInputOutput errorInputOutput = ExecutionInputOutput.builder()
-                                    .stdin(testCase.getInput())
-                                    .expectedOutput(testCase.getExpectedOutput())
-                                    .stdout(commonResult.getStdout())
-                                    .stderr(commonResult.getStderr())
-                                    .compileOutput(commonResult.getCompileOutput())
-                                    .message(commonResult.getMessage())
-                                    .build();
-
-                            grade.setInputOutput(errorInputOutput);
-
-                            // 실행 성능 정보를 Grade에 저장
-                            updateGradePerformanceMetrics(grade, commonResult);
-
-                            grade.setMessage("테스트케이스 " + (i + 1) + "/" + totalTestCases + " 실패: "
-                                    + commonResult.getStatus().getName());
-                            gradeService.updateResult(grade);
-                            log.info("[GRADE] 첫 번째 실패 테스트케이스로 채점 중단 - Token: {}", gradeToken);
-                            break;
+                            if (failedStatus == null) {
+                                failedStatus = commonResult.getStatus();
+                                failedCase = i + 1;
+
+                                // 첫 번째 오답의 입출력 정보를 Grade에 저장
+                                ExecutionInputOutput errorInputOutput = ExecutionInputOutput.builder()
+                                        .stdin(testCase.getInput())
+                                        .expectedOutput(testCase.getExpectedOutput())
+                                        .stdout(commonResult.getStdout())
+                                        .stderr(commonResult.getStderr())
+                                        .compileOutput(commonResult.getCompileOutput())
+                                        .message(commonResult.getMessage())
+                                        .build();
+
+                                grade.setInputOutput(errorInputOutput);
+                                grade.setMessage("테스트케이스 " + (i + 1) + "/" + totalTestCases + " 실패: "
+                                        + commonResult.getStatus().getName());
+                            }
+
+                            if (failFast) {
+                                log.info("[GRADE] 첫 번째 실패 테스트케이스로 채점 중단 - Token: {}", gradeToken);
+                                break;
+                            }
+                        }
+
+                        // 중간 진행은 메시지만, flush 간격마다 기록 (Grade 전체는 종료 시 저장)
+                        long now = System.currentTimeMillis();
+                        if (now - lastProgressFlush >= gradingConfig.getProgressFlushInterval()) {
+                            gradeService.updateProgressMessage(gradeToken, grade.getMessage());
+                            lastProgressFlush = now;
+                        }
+                        if (!progressStreamed) {
+                            gradeProgressService.publishProgress(gradeToken, i + 1, totalTestCases,
+                                    commonResult.getStatus(), grade.getMessage());
                         }
 
                     } catch (Exception e) {
                         log.error("[GRADE] 테스트케이스 {}/{} 실행 중 오류 발생 - Token: {}",
                                 i + 1, totalTestCases, gradeToken, e);
+                        caseResults.add(GradeCaseResult.error(i));
                         grade.setMessage("테스트케이스 실행 중 오류 발생: " + e.getMessage());
-                        grade.setStatus(Status.BOXERR);
-                        gradeService.updateResult(grade);
-                        gradeProgressService.sendProgress(gradeToken);
+                        executionError = true;
                         break;
                     }
                 }
 
-                if (commonResult.getStatus().equals(Status.AC)) {
+                // 점수 및 케이스별 결과 (실행하지 않은 케이스는 미통과로 계산)
+                grade.setPassedTestCases(passedTestCases);
+                grade.setTotalTestCases(totalTestCases);
+                grade.setScore(BigDecimal.valueOf(passedTestCases * 100L)
+                        .divide(BigDecimal.valueOf(totalTestCases), 2, RoundingMode.HALF_UP));
+                saveCaseResults(grade, caseResults);
+
+                if (executionError) {
+                    grade.setStatus(Status.BOXERR);
+                } else if (failedStatus == null) {
                     grade.setMessage("채점이 완료되었습니다!");
                     grade.setStatus(Status.AC);
-                    grade.setFinishedAt(LocalDateTime.now());
-                    gradeService.updateResult(grade);
-                    gradeProgressService.updateProgress(gradeToken, totalTestCases, totalTestCases);
+                } else {
+                    grade.setStatus(failedStatus);
+                    if (!failFast) {
+                        grade.setMessage("테스트케이스 " + passedTestCases + "/" + totalTestCases + " 통과 (첫 실패: "
+                                + failedCase + "번 " + failedStatus.getName() + ")");
+                    }
+                }
+                grade.setFinishedAt(LocalDateTime.now());
+                gradeService.updateResult(grade);
+                gradeProgressService.publishCompleted(grade);
+
+                if (grade.getStatus() == Status.AC) {
                     log.info("[GRADE] ✅ 채점 성공 - Token: {}, 통과: {}/{}, 최종 상태: {}, Time: {}ms, Memory: {}KB",
                             gradeToken, passedTestCases, totalTestCases, grade.getStatus().getName(),
                             grade.getTime(), grade.getMemory());
                 } else {
-                    grade.setStatus(commonResult.getStatus());
-                    grade.setFinishedAt(LocalDateTime.now());
-                    gradeService.updateResult(grade);
-                    log.error("{} : {}", gradeToken, grade);
-                    gradeProgressService.sendProgress(gradeToken);
-                    log.info("[GRADE] ❌ 채점 실패 - Token: {}, 통과: {}/{}, 최종 상태: {}, Time: {}ms, Memory: {}KB",
-                            gradeToken, passedTestCases, totalTestCases, grade.getStatus().getName(),
+                    log.info("[GRADE] ❌ 채점 실패 - Token: {}, 통과: {}/{}, 점수: {}, 최종 상태: {}, Time: {}ms, Memory: {}KB",
+                            gradeToken, passedTestCases, totalTestCases, grade.getScore(), grade.getStatus().getName(),
                             grade.getTime(), grade.getMemory());
                 }
             } finally {
@@ -251,13 +337,25 @@ public class GradeJob {
             );
 
             gradeService.updateResult(grade);
-            gradeProgressService.sendProgress(grade.getToken());
+            gradeProgressService.publishCompleted(grade);
 
         } catch (Exception e) {
             log.error("채점 실패 처리 중 오류 발생 - grade token: {}", grade.getToken(), e);
         }
     }
 
+    /**
+     * 테스트케이스별 결과 저장
+     * - 저장 실패가 채점 결과(상태, 점수)를 바꾸지 않도록 오류는 기록만 함
+     */
+    private void saveCaseResults(Grade grade, List<GradeCaseResult> caseResults) {
+        try {
+            gradeService.saveCaseResults(grade, caseResults);
+        } catch (Exception e) {
+            log.error("[GRADE] 테스트케이스별 결과 저장 실패 - Token: {}", grade.getToken(), e);
+        }
+    }
+
     private void sendCallback(Grade grade) {
         if (grade.getConstraints().getCallbackUrl() != null
                 && !grade.getConstraints().getCallbackUrl().trim().isEmpty()) {
@@ -0,0 +1,64 @@
+package com.PBL.lab.grade.repository;
+
+import com.PBL.lab.core.dto.StatusResponse;
+import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.grade.dto.GradeCaseResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 테스트케이스별 채점 결과 저장소 (grade_case_results)
+ *
+ * 채점 1건당 케이스 수만큼의 행을 한 번에 기록하므로 JPA(IDENTITY 키 - insert 배치 불가) 대신
+ * JdbcTemplate.batchUpdate()로 단일 배치 insert를 수행합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GradeCaseResultRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO grade_case_results (grade_id, case_index, status_id, time, memory, stdout_hash) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 채점의 케이스별 결과 교체 (재시도 시 이전 결과 삭제 후 배치 insert)
+     */
+    public void replaceAll(Long gradeId, List<GradeCaseResult> results) {
+        jdbcTemplate.update("DELETE FROM grade_case_results WHERE grade_id = ?", gradeId);
+        if (results.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, results, results.size(), (ps, result) -> {
+            ps.setLong(1, gradeId);
+            ps.setInt(2, result.getCaseIndex());
+            ps.setInt(3, result.getStatus().getId());
+            ps.setBigDecimal(4, result.getTime());
+            if (result.getMemory() != null) {
+                ps.setInt(5, result.getMemory());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setString(6, result.getStdoutHash());
+        });
+    }
+
+    public List<GradeCaseResult> findByGradeId(Long gradeId) {
+        return jdbcTemplate.query(
+                "SELECT case_index, status_id, time, memory, stdout_hash FROM grade_case_results "
+                        + "WHERE grade_id = ? ORDER BY case_index",
+                (rs, rowNum) -> GradeCaseResult.builder()
+                        .caseIndex(rs.getInt("case_index"))
+                        .status(StatusResponse.from(Status.fromId(rs.getInt("status_id"))))
+                        .time(rs.getBigDecimal("time"))
+                        .memory((Integer) rs.getObject("memory"))
+                        .stdoutHash(rs.getString("stdout_hash"))
+                        .build(),
+                gradeId);
+    }
+}
@@ -79,6 +79,29 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     @Query("UPDATE Grade g SET g.updatedAt = :updatedAt WHERE g.token = :token")
     void updateUpdatedAtByToken(@Param("token") String token, @Param("updatedAt") LocalDateTime updatedAt);
 
+    /**
+     * 채점 시작 상태 기록 (LOB 필드 접근 없이)
+     * - 상태, 시작 시각, 실행 호스트만 갱신
+     */
+    @Modifying
+    @Query("UPDATE Grade g SET g.statusId = :statusId, g.startedAt = :startedAt, g.executionHost = :executionHost, " +
+           "g.updatedAt = :updatedAt WHERE g.token = :token")
+    int updateStartedByToken(@Param("token") String token,
+                             @Param("statusId") Integer statusId,
+                             @Param("startedAt") LocalDateTime startedAt,
+                             @Param("executionHost") String executionHost,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 채점 진행 메시지만 갱신 (Grade 전체 저장 없이)
+     * - 테스트케이스 진행 중 중간 상태 기록용
+     */
+    @Modifying
+    @Query("UPDATE Grade g SET g.message = :message, g.updatedAt = :updatedAt WHERE g.token = :token")
+    int updateMessageByToken(@Param("token") String token,
+                             @Param("message") String message,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * 토큰 존재 여부 확인
      */
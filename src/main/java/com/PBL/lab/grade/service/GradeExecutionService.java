@@ -3,12 +3,15 @@ package com.PBL.lab.grade.service;
 import com.PBL.lab.core.dto.ValidationResult;
 import com.PBL.lab.core.service.BaseJobScheduler;
 import com.PBL.lab.core.service.DockerExecutionService;
+import com.PBL.lab.core.service.JobLaneManager;
 import com.PBL.lab.grade.entity.Grade;
 import com.PBL.lab.core.enums.Status;
 import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lab.grade.job.GradeJob;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jobrunr.storage.StorageProvider;
 import org.springframework.stereotype.Service;
 import java.util.concurrent.CompletableFuture;
 
@@ -16,19 +19,36 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class GradeExecutionService extends BaseJobScheduler {
     private final GradeJob gradeJob;
+    private final GradeService gradeService;
     private final JobScheduler jobScheduler;// 실제 코드 실행을 담당하는 작업 클래스
 
     public GradeExecutionService(
             JobScheduler jobScheduler,
-            GradeJob gradeJob
+            StorageProvider storageProvider,
+            MeterRegistry meterRegistry,
+            GradeJob gradeJob,
+            GradeService gradeService,
+            JobLaneManager jobLaneManager
     ) {
-        super(jobScheduler);
+        super(jobScheduler, storageProvider, meterRegistry, jobLaneManager, "grading");
         this.gradeJob = gradeJob;
+        this.gradeService = gradeService;
         this.jobScheduler = jobScheduler;
+        jobLaneManager.registerQueueDepth("grading", gradeService::countGradeInQueue);
     }
 
     @Override
     public void executeJob(String token) {
         gradeJob.executeGrade(token);
     }
+
+    @Override
+    public long countInQueue() {
+        return gradeService.countGradeInQueue();
+    }
+
+    @Override
+    public String getProviderName() {
+        return "grading";
+    }
 }
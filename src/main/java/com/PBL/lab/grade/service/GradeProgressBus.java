@@ -0,0 +1,32 @@
+package com.PBL.lab.grade.service;
+
+import com.PBL.lab.grade.dto.GradeProgressEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 채점 진행 이벤트 버스
+ *
+ * GradeJob이 실행되는 노드와 클라이언트의 SSE/WebSocket 연결을 가진 노드가 다를 수 있으므로,
+ * 진행 이벤트를 버스로 발행하고 모든 API 노드가 구독하여 자기 구독자에게 전달합니다.
+ *
+ * 구현 (judge0.progress-bus.type):
+ * - postgres (기본값): PostgresGradeProgressBus - LISTEN/NOTIFY로 모든 노드에 전달
+ * - memory: InMemoryGradeProgressBus - 같은 노드 안에서만 전달 (단일 노드용)
+ */
+public interface GradeProgressBus {
+
+    /**
+     * 이벤트 발행 (발행한 노드를 포함한 모든 구독 노드에 전달)
+     *
+     * @param event 진행 이벤트
+     */
+    void publish(GradeProgressEvent event);
+
+    /**
+     * 이벤트 수신 등록
+     *
+     * @param listener 이벤트 처리 함수 (버스 스레드에서 호출될 수 있음)
+     */
+    void subscribe(Consumer<GradeProgressEvent> listener);
+}
@@ -1,140 +1,408 @@
 package com.PBL.lab.grade.service;
 
+import com.PBL.lab.core.config.ProgressStreamConfig;
+import com.PBL.lab.core.dto.StatusResponse;
+import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.core.exception.ProgressStreamLimitException;
+import com.PBL.lab.grade.dto.GradeProgressEvent;
 import com.PBL.lab.grade.dto.GradeResponse;
 import com.PBL.lab.grade.dto.ProgressResponse;
 import com.PBL.lab.grade.entity.Grade;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * 채점 진행상황 SSE 서비스
+ * 채점 진행상황 SSE/WebSocket 서비스
  *
  * 채점 진행상황을 실시간으로 클라이언트에 전송하기 위한 서비스
- * - SSE 연결 관리
- * - Progress 정보만 캐시 (Grade는 DB에서 읽기)
+ * - 구독 관리 (토큰당 여러 SSE/WebSocket 구독자)
+ * - 진행 중인 채점의 최신 진행 상태만 메모리에 보관 (새 구독자에게 바로 재전송)
+ *
+ * 클러스터 전달:
+ * - GradeJob은 publishProgress()/publishCompleted()로 GradeProgressBus에 이벤트를 발행
+ * - 모든 노드가 버스를 구독하여 자기 노드의 구독자에게 전달 (채점 노드와 연결 노드가 달라도 전달됨)
+ *
+ * 전송 방식:
+ * - 진행 중: 진행 상태(완료/전체 케이스, 마지막 판정, 메시지)만 담은 가벼운 "progress" 이벤트
+ *   (DB 조회 없음, 소스코드 등 Grade 전체 필드 미포함)
+ * - 종료 시: 구독자가 있는 노드만 Grade를 한 번 조회하여 전체 GradeResponse를 보낸 뒤 연결 종료
+ *
+ * 연결 수명 관리 (judge0.progress-stream):
+ * - 노드당 최대 동시 스트림 수 초과 시 ProgressStreamLimitException (SSE 503, WebSocket 1013)
+ * - 주기적으로 하트비트 전송 (SSE 주석 이벤트 / WebSocket ping), 전송 실패한 연결은 정리
+ * - 유휴 타임아웃 동안 진행 이벤트가 없거나 최대 연결 시간을 넘긴 연결은 정리
+ * - 종료 이벤트를 받지 못한 채 오래된 진행 상태도 함께 정리
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GradeProgressService {
 
-    // 토큰별 SSE Emitter 저장
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final GradeProgressBus gradeProgressBus;
+    private final GradeService gradeService;
+    private final ObjectMapper objectMapper;
+    private final ProgressStreamConfig progressStreamConfig;
+    private final MeterRegistry meterRegistry;
+
+    // 토큰별 구독자 (SSE / WebSocket)
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
 
-    // 토큰별 ProgressResponse 캐시 (Grade 엔티티에 없는 진행률 정보만)
-    private final Map<String, ProgressResponse> progressCache = new ConcurrentHashMap<>();
+    // 진행 중인 채점의 최신 진행 상태 (버스로 받은 이벤트 기준, 구독 시 재전송)
+    private final Map<String, ProgressState> progressStates = new ConcurrentHashMap<>();
 
-    // 스케줄러 (주기적으로 연결 상태 확인)
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    // 현재 열린 스트림 수 (구독 등록 시 증가, 실제로 해제될 때 한 번만 감소)
+    private final AtomicInteger activeStreams = new AtomicInteger();
 
-    private final GradeService gradeService;
+    // 스케줄러 (주기적으로 하트비트 전송 및 유휴 연결 정리)
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "grade-progress-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Counter rejectedStreams;
+
+    @PostConstruct
+    public void initialize() {
+        gradeProgressBus.subscribe(this::onEvent);
+
+        Gauge.builder("judge0.grade.progress.streams.active", activeStreams, AtomicInteger::get)
+                .description("Open grade progress streams (SSE and WebSocket) on this node")
+                .register(meterRegistry);
+        rejectedStreams = Counter.builder("judge0.grade.progress.streams.rejected")
+                .description("Grade progress streams rejected because max-connections was reached")
+                .register(meterRegistry);
+
+        long interval = progressStreamConfig.getHeartbeatInterval();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("[PROGRESS-STREAM] Initialized - maxConnections: {}, heartbeat: {}ms, idleTimeout: {}ms, maxDuration: {}ms",
+                progressStreamConfig.getMaxConnections(), interval,
+                progressStreamConfig.getIdleTimeout(), progressStreamConfig.getMaxDuration());
+    }
 
     /**
-     * SSE 연결 등록
+     * SSE 구독 등록
+     *
+     * 진행 중인 채점이면 최신 진행 상태를, 아니면 전달받은 Grade로 초기 상태를 전송합니다.
+     * 이미 종료된 채점이면 최종 결과를 보내고 바로 연결을 종료합니다.
+     *
+     * @param grade 컨트롤러에서 조회한 채점 정보
+     * @throws ProgressStreamLimitException 노드의 최대 동시 스트림 수에 도달한 경우
      */
-    public SseEmitter registerProgressListener(String token) {
-        SseEmitter emitter = new SseEmitter(Long.MAX_VALUE);
-        emitters.put(token, emitter);
-
-        // Progress 정보 초기화
-        ProgressResponse progress = ProgressResponse.builder()
-                .totalTestCase(0)
-                .doneTestCase(0)
-                .currentTestCase(0)
-                .progressPercentage(0.0)
-                .build();
-        progressCache.put(token, progress);
+    public SseEmitter registerProgressListener(Grade grade) {
+        String token = grade.getToken();
+        SseEmitter emitter = new SseEmitter(progressStreamConfig.getMaxDuration());
+        SseSubscriber subscriber = new SseSubscriber(emitter);
 
-        emitter.onCompletion(() -> cleanup(token));
-        emitter.onTimeout(() -> cleanup(token));
-        emitter.onError(e -> cleanup(token));
+        emitter.onCompletion(() -> unsubscribe(token, subscriber));
+        emitter.onTimeout(() -> unsubscribe(token, subscriber));
+        emitter.onError(e -> unsubscribe(token, subscriber));
 
+        subscribe(grade, subscriber);
         log.info("Progress listener registered for token: {}", token);
+        return emitter;
+    }
 
-        // 초기 상태 전송
-        sendProgress(token);
+    /**
+     * WebSocket 구독 등록
+     *
+     * @param grade   구독할 채점 정보
+     * @param session 클라이언트 WebSocket 세션
+     * @throws ProgressStreamLimitException 노드의 최대 동시 스트림 수에 도달한 경우
+     */
+    public void registerWebSocket(Grade grade, WebSocketSession session) {
+        subscribe(grade, new WebSocketSubscriber(session, objectMapper));
+        log.info("Progress WebSocket registered for token: {}, session: {}", grade.getToken(), session.getId());
+    }
 
-        return emitter;
+    /**
+     * WebSocket 구독 해제 (연결 종료 시)
+     */
+    public void unregisterWebSocket(String token, WebSocketSession session) {
+        Set<Subscriber> tokenSubscribers = subscribers.get(token);
+        if (tokenSubscribers != null) {
+            tokenSubscribers.stream()
+                    .filter(s -> s instanceof WebSocketSubscriber ws && ws.sessionId.equals(session.getId()))
+                    .findFirst()
+                    .ifPresent(s -> unsubscribe(token, s));
+        }
     }
 
     /**
-     * SSE 연결 해제
+     * 진행 상태 발행 (테스트케이스 진행)
+     *
+     * @param token         채점 토큰
+     * @param doneTestCase  완료한 테스트케이스 수
+     * @param totalTestCase 전체 테스트케이스 수
+     * @param lastVerdict   마지막으로 완료한 테스트케이스의 판정 (시작 전이면 null)
+     * @param message       진행 메시지
+     */
+    public void publishProgress(String token, int doneTestCase, int totalTestCase, Status lastVerdict, String message) {
+        gradeProgressBus.publish(GradeProgressEvent.builder()
+                .token(token)
+                .doneTestCase(doneTestCase)
+                .totalTestCase(totalTestCase)
+                .lastVerdictId(lastVerdict != null ? lastVerdict.getId() : null)
+                .message(message)
+                .build());
+    }
+
+    /**
+     * 채점 종료 발행
+     *
+     * 구독자를 가진 노드가 최종 결과를 조회하여 전송하고 연결을 종료합니다.
+     * GradeJob이 결과를 저장한 뒤 호출해야 합니다.
+     *
+     * @param grade 최종 상태가 저장된 채점 정보
      */
-    public void unregisterProgressListener(String token) {
-        cleanup(token);
-        log.info("Progress listener unregistered for token: {}", token);
+    public void publishCompleted(Grade grade) {
+        gradeProgressBus.publish(GradeProgressEvent.builder()
+                .token(grade.getToken())
+                .terminal(true)
+                .build());
     }
 
     /**
-     * Progress 업데이트 (테스트케이스 진행)
+     * 버스 이벤트 처리 (모든 노드에서 호출)
      */
-    public void updateProgress(String token, int doneTestCase, int totalTestCase) {
-        ProgressResponse progress = progressCache.get(token);
-        if (progress != null) {
-            progress.setTotalTestCase(totalTestCase);
-            progress.setDoneTestCase(doneTestCase);
-            progress.setCurrentTestCase(doneTestCase < totalTestCase ? doneTestCase + 1 : totalTestCase);
-            progress.setProgressPercentage((double) doneTestCase / totalTestCase * 100);
-
-            log.debug("Progress updated for token: {} - {}/{} ({}%)",
-                    token, doneTestCase, totalTestCase, progress.getProgressPercentage());
-
-            sendProgress(token);
+    private void onEvent(GradeProgressEvent event) {
+        String token = event.getToken();
+        if (event.isTerminal()) {
+            ProgressState state = progressStates.remove(token);
+            Set<Subscriber> tokenSubscribers = subscribers.remove(token);
+            if (tokenSubscribers == null || tokenSubscribers.isEmpty()) {
+                return;
+            }
+            tokenSubscribers.forEach(this::release);
+            Grade grade = gradeService.findByToken(token);
+            if (grade == null) {
+                tokenSubscribers.forEach(Subscriber::close);
+                return;
+            }
+            GradeResponse response = GradeResponse.from(grade, false, null);
+            response.setUpdatedAt(LocalDateTime.now());
+            if (state != null) {
+                response.setProgress(toProgress(state));
+            }
+            for (Subscriber subscriber : tokenSubscribers) {
+                send(token, subscriber, response);
+                subscriber.close();
+            }
+            return;
+        }
+
+        ProgressState state = new ProgressState(event.getDoneTestCase(), event.getTotalTestCase(),
+                event.getLastVerdictId() != null ? Status.fromId(event.getLastVerdictId()) : null, event.getMessage(),
+                System.currentTimeMillis());
+        progressStates.put(token, state);
+
+        Set<Subscriber> tokenSubscribers = subscribers.get(token);
+        if (tokenSubscribers == null || tokenSubscribers.isEmpty()) {
+            return;
+        }
+        GradeResponse response = progressResponse(token, state);
+        for (Subscriber subscriber : tokenSubscribers) {
+            send(token, subscriber, response);
+        }
+        log.debug("Progress sent for token: {} - {}/{} to {} subscriber(s)",
+                token, state.doneTestCase(), state.totalTestCase(), tokenSubscribers.size());
+    }
+
+    private void subscribe(Grade grade, Subscriber subscriber) {
+        String token = grade.getToken();
+
+        // 초기 상태 전송 (최신 진행 상태 재전송, 없으면 조회한 Grade)
+        ProgressState state = progressStates.get(token);
+        if (state != null) {
+            add(token, subscriber);
+            send(token, subscriber, progressResponse(token, state));
+        } else if (grade.getStatus().isTerminal()) {
+            send(token, subscriber, GradeResponse.from(grade, false, null));
+            subscriber.close();
         } else {
-            log.warn("Cannot update progress: no cache found for token: {}", token);
+            add(token, subscriber);
+            GradeResponse response = GradeResponse.from(grade, false, null);
+            response.setUpdatedAt(LocalDateTime.now());
+            send(token, subscriber, response);
+        }
+
+        // 조회 후 등록 전에 종료 이벤트가 지나갔을 수 있으므로 등록 후 상태를 다시 확인
+        if (!grade.getStatus().isTerminal()) {
+            completeIfFinished(token, subscriber);
         }
     }
 
     /**
-     * 진행상황 전송
-     * DB에서 최신 Grade를 읽고, 캐시된 Progress와 합쳐서 SSE로 전송
+     * 등록 직후 종료 여부 재확인
+     *
+     * 컨트롤러가 Grade를 조회한 뒤 add() 전에 종료 이벤트가 처리되면 그 구독자는 최종 결과를 받지 못합니다.
+     * 등록 후 상태를 다시 조회하여 이미 종료된 채점이면 직접 최종 결과를 보내고 닫습니다.
+     * 구독자 제거는 종료 이벤트의 subscribers.remove()와 원자적으로 처리되므로 최종 결과는 한 번만 전송됩니다.
      */
-    public void sendProgress(String token) {
-        SseEmitter emitter = emitters.get(token);
-        if (emitter == null) {
-            log.debug("No SSE emitter found for token: {}", token);
+    private void completeIfFinished(String token, Subscriber subscriber) {
+        Grade latest = gradeService.findByToken(token);
+        if (latest == null || !latest.getStatus().isTerminal()) {
             return;
         }
+        AtomicBoolean claimed = new AtomicBoolean();
+        subscribers.computeIfPresent(token, (key, set) -> {
+            claimed.set(set.remove(subscriber));
+            return set.isEmpty() ? null : set;
+        });
+        if (!claimed.get()) {
+            return; // 종료 이벤트 처리 쪽에서 전송
+        }
+        release(subscriber);
+        GradeResponse response = GradeResponse.from(latest, false, null);
+        response.setUpdatedAt(LocalDateTime.now());
+        send(token, subscriber, response);
+        subscriber.close();
+        log.debug("[PROGRESS-STREAM] Grade already finished at registration - token: {}", token);
+    }
+
+    /**
+     * 동시 스트림 수 한도 안에서 구독자 등록
+     *
+     * 종료 이벤트의 subscribers.remove()와 원자적으로 처리되도록 compute로 등록합니다.
+     */
+    private void add(String token, Subscriber subscriber) {
+        if (activeStreams.incrementAndGet() > progressStreamConfig.getMaxConnections()) {
+            activeStreams.decrementAndGet();
+            rejectedStreams.increment();
+            throw new ProgressStreamLimitException(
+                    "Too many progress streams (max " + progressStreamConfig.getMaxConnections() + ")");
+        }
+        subscriber.register();
+        subscribers.compute(token, (key, set) -> {
+            Set<Subscriber> tokenSubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            tokenSubscribers.add(subscriber);
+            return tokenSubscribers;
+        });
+    }
+
+    private void unsubscribe(String token, Subscriber subscriber) {
+        subscribers.computeIfPresent(token, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        release(subscriber);
+    }
 
+    /**
+     * 활성 스트림 수 감소 (등록된 구독자당 한 번만)
+     */
+    private void release(Subscriber subscriber) {
+        if (subscriber.release()) {
+            activeStreams.decrementAndGet();
+        }
+    }
+
+    /**
+     * 구독자 강제 정리 (연결을 닫고 사유별로 집계)
+     */
+    private void evict(String token, Subscriber subscriber, String reason) {
+        unsubscribe(token, subscriber);
+        subscriber.close();
+        Counter.builder("judge0.grade.progress.streams.evicted")
+                .description("Grade progress streams closed by the server before the grade finished")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.debug("[PROGRESS-STREAM] Evicted stream for token: {} - reason: {}", token, reason);
+    }
+
+    /**
+     * 하트비트 전송 및 유휴 연결 정리 (스케줄러 스레드)
+     *
+     * - 최대 연결 시간을 넘긴 연결: max-duration
+     * - 유휴 타임아웃 동안 진행 이벤트를 받지 못한 연결: idle
+     * - 하트비트 전송에 실패한 연결 (클라이언트가 사라짐): heartbeat
+     */
+    private void heartbeat() {
         try {
-            // 1. DB에서 최신 Grade 읽기
-            Grade grade = gradeService.findByToken(token);
+            long now = System.currentTimeMillis();
+            long idleTimeout = progressStreamConfig.getIdleTimeout();
+            long maxDuration = progressStreamConfig.getMaxDuration();
 
-            // 2. GradeResponse 생성
-            GradeResponse response = GradeResponse.from(grade, false, null);
-            response.setUpdatedAt(LocalDateTime.now());
+            subscribers.forEach((token, tokenSubscribers) -> {
+                for (Subscriber subscriber : tokenSubscribers) {
+                    if (now - subscriber.createdAt >= maxDuration) {
+                        evict(token, subscriber, "max-duration");
+                    } else if (now - subscriber.lastActivity >= idleTimeout) {
+                        evict(token, subscriber, "idle");
+                    } else {
+                        try {
+                            subscriber.heartbeat();
+                        } catch (Exception e) {
+                            evict(token, subscriber, "heartbeat");
+                        }
+                    }
+                }
+            });
+
+            // 종료 이벤트를 받지 못한 진행 상태 정리 (채점 노드 장애, NOTIFY 유실 등)
+            progressStates.entrySet().removeIf(entry -> now - entry.getValue().updatedAt() >= idleTimeout);
+        } catch (Exception e) {
+            log.error("[PROGRESS-STREAM] Heartbeat sweep failed", e);
+        }
+    }
 
-            // 3. 캐시에서 Progress 가져와서 설정
-            ProgressResponse progress = progressCache.get(token);
-            response.setProgress(progress);
+    private GradeResponse progressResponse(String token, ProgressState state) {
+        return GradeResponse.builder()
+                .token(token)
+                .status(StatusResponse.from(Status.PROCESS))
+                .message(state.message())
+                .updatedAt(LocalDateTime.now())
+                .progress(toProgress(state))
+                .build();
+    }
 
-            // 4. SSE 전송
-            emitter.send(SseEmitter.event()
-                    .name("progress")
-                    .data(response));
+    private ProgressResponse toProgress(ProgressState state) {
+        int done = state.doneTestCase();
+        int total = state.totalTestCase();
+        return ProgressResponse.builder()
+                .totalTestCase(total)
+                .doneTestCase(done)
+                .currentTestCase(done < total ? done + 1 : total)
+                .progressPercentage(total > 0 ? (double) done / total * 100 : 0.0)
+                .lastVerdict(StatusResponse.from(state.lastVerdict()))
+                .build();
+    }
 
-            if (progress != null) {
-                log.debug("Progress sent for token: {} - {}/{} ({}%)",
-                        token, progress.getDoneTestCase(), progress.getTotalTestCase(),
-                        progress.getProgressPercentage());
-            }
+    private void send(String token, Subscriber subscriber, GradeResponse response) {
+        try {
+            subscriber.send(response);
+            subscriber.lastActivity = System.currentTimeMillis();
         } catch (IOException e) {
             log.warn("Failed to send progress for token: {}", token, e);
-            cleanup(token);
+            evict(token, subscriber, "error");
         } catch (Exception e) {
             log.error("Unexpected error sending progress for token: {}", token, e);
-            cleanup(token);
+            evict(token, subscriber, "error");
         }
     }
 
@@ -142,21 +410,99 @@ public class GradeProgressService {
      * 현재 등록된 연결 수 반환
      */
     public int getActiveConnectionCount() {
-        return emitters.size();
+        return activeStreams.get();
+    }
+
+    /**
+     * 진행 상태 (완료/전체 테스트케이스, 마지막 판정, 메시지, 갱신 시각)
+     */
+    private record ProgressState(int doneTestCase, int totalTestCase, Status lastVerdict, String message,
+                                 long updatedAt) {
     }
 
     /**
-     * 리소스 정리
+     * 진행상황 구독자 (SSE / WebSocket)
      */
-    private void cleanup(String token) {
-        SseEmitter emitter = emitters.remove(token);
-        progressCache.remove(token);
+    private abstract static class Subscriber {
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastActivity = createdAt; // 마지막 진행 이벤트 전송 시각 (하트비트 제외)
+        private final AtomicBoolean registered = new AtomicBoolean();
 
-        if (emitter != null) {
+        abstract void send(GradeResponse response) throws IOException;
+
+        abstract void heartbeat() throws IOException;
+
+        abstract void close();
+
+        void register() {
+            registered.set(true);
+        }
+
+        /**
+         * 활성 스트림으로 집계된 구독자가 처음 해제될 때만 true
+         */
+        boolean release() {
+            return registered.compareAndSet(true, false);
+        }
+    }
+
+    private static final class SseSubscriber extends Subscriber {
+        private final SseEmitter emitter;
+
+        private SseSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        void send(GradeResponse response) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(response));
+        }
+
+        @Override
+        void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        void close() {
             try {
                 emitter.complete();
             } catch (Exception e) {
-                log.warn("Error completing SSE emitter for token: {}", token, e);
+                log.warn("Error completing SSE emitter", e);
+            }
+        }
+    }
+
+    private static final class WebSocketSubscriber extends Subscriber {
+        private final String sessionId;
+        private final WebSocketSession session;
+        private final ObjectMapper objectMapper;
+
+        private WebSocketSubscriber(WebSocketSession session, ObjectMapper objectMapper) {
+            this.sessionId = session.getId();
+            // 버스 스레드와 등록 스레드가 동시에 보낼 수 있으므로 전송을 직렬화
+            this.session = new ConcurrentWebSocketSessionDecorator(session, 10_000, 512 * 1024);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        void send(GradeResponse response) throws IOException {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        }
+
+        @Override
+        void heartbeat() throws IOException {
+            session.sendMessage(new PingMessage());
+        }
+
+        @Override
+        void close() {
+            try {
+                session.close(CloseStatus.NORMAL);
+            } catch (Exception e) {
+                log.warn("Error closing progress WebSocket: {}", sessionId, e);
             }
         }
     }
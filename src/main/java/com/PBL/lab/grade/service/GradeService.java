@@ -5,18 +5,22 @@ import com.PBL.lab.core.config.FeatureFlagsConfig;
 import com.PBL.lab.core.entity.Language;
 import com.PBL.lab.core.entity.Constraints;
 import com.PBL.lab.core.exception.AccessDeniedException;
+import com.PBL.lab.grade.dto.GradeCaseResult;
 import com.PBL.lab.grade.dto.GradeRequest;
 import com.PBL.lab.grade.entity.Grade;
 import com.PBL.lab.core.enums.Status;
+import com.PBL.lab.grade.repository.GradeCaseResultRepository;
 import com.PBL.lab.grade.repository.GradeRepository;
 import com.PBL.lab.core.repository.ConstraintsRepository;
 import com.PBL.lab.core.service.LanguageService;
+import com.PBL.lab.core.service.QueueDepthCounter;
 import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lecture.LectureService;
 import com.PBL.lecture.entity.TestCase;
 import com.PBL.lecture.repository.TestCaseRepository;
 import com.PBL.user.User;
 import com.PBL.user.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -34,6 +38,7 @@ import java.util.UUID;
 @Transactional
 public class GradeService {
     private final GradeRepository gradeRepository;
+    private final GradeCaseResultRepository gradeCaseResultRepository;
     private final TestCaseRepository testCaseRepository;
     private final LanguageService languageService;
     private final ConstraintsRepository constraintsRepository;
@@ -41,7 +46,14 @@ public class GradeService {
     private final SystemConfig systemConfig;
     private final LectureService lectureService;
     private final UserRepository userRepository;
+    private final QueueDepthCounter queueDepthCounter;
 
+    static final String QUEUE_NAME = "grading";
+
+    @PostConstruct
+    public void registerQueueCounter() {
+        queueDepthCounter.register(QUEUE_NAME, gradeRepository::countGradesInQueue);
+    }
 
     public Page<Grade> findAll(Pageable pageable) {
         return gradeRepository.findAllWithFetch(pageable);
@@ -58,6 +70,9 @@ public class GradeService {
     public void deleteGrade(String token) {
         Grade grade = findByToken(token);
         if (grade != null) {
+            if (grade.getStatus() == Status.QUEUE) {
+                queueDepthCounter.decrement(QUEUE_NAME);
+            }
             gradeRepository.delete(grade);
         }
     }
@@ -66,10 +81,10 @@ public class GradeService {
      * 대기열에 있는 채점 개수 조회
      * - 현재 큐에 대기 중인 채점들의 개수를 반환
      * - 시스템 부하 관리 및 큐 크기 제한에 사용
+     * - DB를 조회하지 않고 QueueDepthCounter 값을 반환 (재조정 주기만큼의 오차 가능)
      */
-    @Transactional(readOnly = true)
     public long countGradeInQueue() {
-        return gradeRepository.countGradesInQueue();
+        return queueDepthCounter.get(QUEUE_NAME);
     }
 
     /**
@@ -132,6 +147,7 @@ public class GradeService {
 
         // 10) 영속화
         grade = gradeRepository.save(grade);
+        queueDepthCounter.increment(QUEUE_NAME, 1);
         log.info("Created grade with token: {}", grade.getToken());
 
 
@@ -163,6 +179,9 @@ public class GradeService {
 
     public void updateStatus(String token, Status status) {
         Grade grade = findByToken(token);
+        if (grade.getStatus() == Status.QUEUE && status != Status.QUEUE) {
+            queueDepthCounter.decrement(QUEUE_NAME);
+        }
         grade.setStatus(status);
         if (status.isTerminal()) {
             // 종결 상태로 전환 시 완료 시각 기록
@@ -172,16 +191,57 @@ public class GradeService {
         log.debug("Updated grade {} status to {}", token, status.getName());
     }
 
+    /**
+     * 채점 시작 기록
+     * - Grade 전체를 저장하지 않고 상태(PROCESS), 시작 시각, 실행 호스트만 갱신
+     * - 전달받은 Grade에도 같은 값을 반영하여 이후 updateResult()에서 되돌리지 않도록 함
+     *
+     * @param grade 채점 정보 (startedAt, executionHost 설정 후 전달)
+     */
+    public void markProcessing(Grade grade) {
+        if (grade.getStatus() == Status.QUEUE) {
+            queueDepthCounter.decrement(QUEUE_NAME);
+        }
+        grade.setStatus(Status.PROCESS);
+        gradeRepository.updateStartedByToken(grade.getToken(), Status.PROCESS.getId(),
+                grade.getStartedAt(), grade.getExecutionHost(), LocalDateTime.now());
+    }
+
+    /**
+     * 채점 진행 메시지 갱신
+     * - 테스트케이스 진행 중에는 Grade 전체(소스코드, 입출력) 대신 메시지만 갱신
+     *
+     * @param token   채점 토큰
+     * @param message 진행 메시지
+     */
+    public void updateProgressMessage(String token, String message) {
+        gradeRepository.updateMessageByToken(token, message, LocalDateTime.now());
+    }
+
     /**
      * 채점 결과를 업데이트하는 메서드
      *
-     * @param token 채점 토큰
-     * @param result 실행 결과
+     * @param grade 채점 결과가 반영된 채점 정보
      */
     public void updateResult(Grade grade) {
         gradeRepository.save(grade);
     }
 
+    /**
+     * 테스트케이스별 채점 결과 저장 (단일 배치 insert, 재시도 시 이전 결과 교체)
+     *
+     * @param grade   채점 정보
+     * @param results 실행된 케이스 순서대로의 결과
+     */
+    public void saveCaseResults(Grade grade, List<GradeCaseResult> results) {
+        gradeCaseResultRepository.replaceAll(grade.getId(), results);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeCaseResult> findCaseResults(Grade grade) {
+        return gradeCaseResultRepository.findByGradeId(grade.getId());
+    }
+
     /**
      * 특정 사용자의 채점 목록을 조회합니다.
      *
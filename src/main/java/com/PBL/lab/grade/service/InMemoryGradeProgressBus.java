@@ -0,0 +1,35 @@
+package com.PBL.lab.grade.service;
+
+import com.PBL.lab.grade.dto.GradeProgressEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 메모리 채점 진행 이벤트 버스 (단일 노드용)
+ *
+ * 발행한 스레드에서 구독자를 바로 호출합니다. 다른 노드로는 전달되지 않습니다.
+ */
+@Slf4j
+public class InMemoryGradeProgressBus implements GradeProgressBus {
+
+    private final List<Consumer<GradeProgressEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(GradeProgressEvent event) {
+        for (Consumer<GradeProgressEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("[PROGRESS-BUS] 이벤트 처리 실패 - token: {}", event.getToken(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<GradeProgressEvent> listener) {
+        listeners.add(listener);
+    }
+}
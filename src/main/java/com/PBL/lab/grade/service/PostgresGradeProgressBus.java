@@ -0,0 +1,176 @@
+package com.PBL.lab.grade.service;
+
+import com.PBL.lab.grade.dto.GradeProgressEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 채점 진행 이벤트 버스
+ *
+ * 발행: pg_notify(channel, JSON)으로 이벤트 전송 (트랜잭션 안에서 발행하면 커밋 시 전달)
+ * 수신: 전용 커넥션 하나로 LISTEN 후 리스너 스레드에서 주기적으로 알림을 가져와 구독자 호출
+ *
+ * 주의:
+ * - 수신용으로 커넥션 풀의 커넥션 1개를 계속 점유
+ * - 재연결하는 동안 발행된 이벤트는 받지 못함 (다음 진행 이벤트 또는 구독 시 DB 조회로 보정)
+ * - 페이로드는 8000 bytes 이하여야 하므로 메시지는 MAX_MESSAGE_LENGTH로 자름
+ */
+@Slf4j
+public class PostgresGradeProgressBus implements GradeProgressBus {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final int pollTimeout;
+
+    private final List<Consumer<GradeProgressEvent>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    /**
+     * @param dataSource   애플리케이션 데이터소스 (PostgreSQL)
+     * @param objectMapper 이벤트 직렬화
+     * @param channel      NOTIFY 채널 이름 (소문자 식별자)
+     * @param pollTimeout  알림 대기 시간 (밀리초)
+     */
+    public PostgresGradeProgressBus(DataSource dataSource, ObjectMapper objectMapper, String channel, int pollTimeout) {
+        if (channel == null || !CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid judge0.progress-bus.channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.pollTimeout = Math.max(100, pollTimeout);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "grade-progress-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(GradeProgressEvent event) {
+        Connection connection = null;
+        try {
+            String payload = objectMapper.writeValueAsString(truncate(event));
+            connection = DataSourceUtils.getConnection(dataSource);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (Exception e) {
+            log.warn("[PROGRESS-BUS] 이벤트 발행 실패 - token: {}: {}", event.getToken(), e.getMessage());
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<GradeProgressEvent> listener) {
+        listeners.add(listener);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("[PROGRESS-BUS] LISTEN 시작 - channel: {}", channel);
+                try {
+                    while (running) {
+                        PGNotification[] notifications = pgConnection.getNotifications(pollTimeout);
+                        if (notifications == null) {
+                            continue;
+                        }
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                } finally {
+                    // 풀로 돌아가는 커넥션이 계속 알림을 받지 않도록 해제
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("UNLISTEN *");
+                    } catch (SQLException ignored) {
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("[PROGRESS-BUS] LISTEN 연결 오류, {}ms 후 재연결: {}", RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("[PROGRESS-BUS] LISTEN 종료 - channel: {}", channel);
+    }
+
+    private void dispatch(String payload) {
+        GradeProgressEvent event;
+        try {
+            event = objectMapper.readValue(payload, GradeProgressEvent.class);
+        } catch (Exception e) {
+            log.warn("[PROGRESS-BUS] 잘못된 이벤트 무시: {}", e.getMessage());
+            return;
+        }
+        for (Consumer<GradeProgressEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                log.warn("[PROGRESS-BUS] 이벤트 처리 실패 - token: {}", event.getToken(), e);
+            }
+        }
+    }
+
+    private GradeProgressEvent truncate(GradeProgressEvent event) {
+        String message = event.getMessage();
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return event;
+        }
+        return GradeProgressEvent.builder()
+                .token(event.getToken())
+                .doneTestCase(event.getDoneTestCase())
+                .totalTestCase(event.getTotalTestCase())
+                .lastVerdictId(event.getLastVerdictId())
+                .message(message.substring(0, MAX_MESSAGE_LENGTH))
+                .terminal(event.isTerminal())
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.PBL.lab.judge0.controller;
 
 import com.PBL.lab.core.docker.ContainerManager;
+import com.PBL.lab.core.docker.ContainerPool;
+import com.PBL.lab.core.docker.ContainerReaper;
 import com.PBL.lab.core.config.SystemConfig;
 import com.PBL.lab.core.dto.QueueStatistics;
+import com.PBL.lab.core.service.JobLaneManager;
 import com.PBL.lab.judge0.service.SubmissionExecutionService;
 import com.PBL.lab.judge0.service.SubmissionService;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +20,7 @@ import java.util.Map;
  * Health Controller
  *
  * Health check endpoints for system monitoring.
- * Simplified version without container pooling.
+ * Reports execution container pool state when pooling is enabled.
  */
 @RestController
 @RequiredArgsConstructor
@@ -25,8 +28,11 @@ public class HealthController {
 
     private final SubmissionService submissionService;
     private final ContainerManager containerManager;
+    private final ContainerPool containerPool;
+    private final ContainerReaper containerReaper;
     private final SystemConfig systemConfig;
     private final SubmissionExecutionService submissionExecutionService;
+    private final JobLaneManager jobLaneManager;
 
     /**
      * GET /workers
@@ -35,7 +41,7 @@ public class HealthController {
     @GetMapping("/workers")
     public ResponseEntity<Map<String, Object>> workers() {
         try {
-            QueueStatistics queueStats = submissionExecutionService.getStatistics();
+            QueueStatistics queueStats = submissionExecutionService.getQueueStatistics();
             
             Map<String, Object> response = Map.of(
                 "queue", Map.of(
@@ -44,13 +50,19 @@ public class HealthController {
                     "enqueued_jobs", queueStats.getEnqueuedJobs(),
                     "processing_jobs", queueStats.getProcessingJobs(),
                     "succeeded_jobs", queueStats.getSucceededJobs(),
-                    "failed_jobs", queueStats.getFailedJobs()
+                    "failed_jobs", queueStats.getFailedJobs(),
+                    "retried_jobs", queueStats.getRetriedJobs()
                 ),
                 "containers", Map.of(
                     "active", containerManager.getActiveContainerCount(),
-                    "execution_mode", "one-time",
-                    "pool_enabled", false
+                    "execution_mode", getExecutionMode(),
+                    "pool_enabled", containerPool.isEnabled(),
+                    "pool", containerPool.getStatistics(),
+                    "reaper", containerReaper.getStatistics()
                 ),
+                "jobs", submissionExecutionService.getStatistics(),
+                "sync_execution", submissionExecutionService.getSyncExecutionStatistics(),
+                "lanes", jobLaneManager.getStatistics(),
                 "timestamp", LocalDateTime.now(),
                 "status", "healthy"
             );
@@ -78,7 +90,7 @@ public class HealthController {
                 "timestamp", LocalDateTime.now(),
                 "version", "1.13.1-spring-simplified",
                 "uptime", getUptime(),
-                "execution_mode", "one-time-containers"
+                "execution_mode", getExecutionMode()
             );
             
             return ResponseEntity.ok(response);
@@ -113,8 +125,10 @@ public class HealthController {
                 "timestamp", LocalDateTime.now(),
                 "components", components,
                 "execution_info", Map.of(
-                    "mode", "one-time-containers",
-                    "description", "Fresh container created for each execution"
+                    "mode", getExecutionMode(),
+                    "description", containerPool.isEnabled()
+                            ? "Warm containers reused per image and resource profile"
+                            : "Fresh container created for each execution"
                 )
             );
             
@@ -135,7 +149,7 @@ public class HealthController {
      */
     private Map<String, Object> checkDatabaseHealth() {
         try {
-            long totalSubmissions = submissionService.countSubmissionsInQueue(); // Simple DB query
+            long totalSubmissions = submissionService.countSubmissionsInQueueFromDatabase(); // Simple DB query
             return Map.of(
                 "status", "healthy",
                 "total_submissions", totalSubmissions
@@ -157,7 +171,8 @@ public class HealthController {
             return Map.of(
                 "status", "healthy",
                 "active_containers", activeContainers,
-                "mode", "one-time-execution"
+                "idle_pooled_containers", containerPool.getIdleCount(),
+                "mode", getExecutionMode()
             );
         } catch (Exception e) {
             return Map.of(
@@ -172,7 +187,7 @@ public class HealthController {
      */
     private Map<String, Object> checkQueueHealth() {
         try {
-            QueueStatistics stats = submissionExecutionService.getStatistics();
+            QueueStatistics stats = submissionExecutionService.getQueueStatistics();
             long queueSize = submissionService.countSubmissionsInQueue();
 
             return Map.of(
@@ -189,6 +204,13 @@ public class HealthController {
         }
     }
 
+    /**
+     * Current container execution mode
+     */
+    private String getExecutionMode() {
+        return containerPool.isEnabled() ? "pooled-containers" : "one-time-containers";
+    }
+
     /**
      * Get system uptime (simplified)
      */
@@ -1,7 +1,10 @@
 package com.PBL.lab.judge0.controller;
 
 import com.PBL.lab.core.config.FeatureFlagsConfig;
+import com.PBL.lab.core.config.SyncExecutionConfig;
 import com.PBL.lab.core.config.SystemConfig;
+import com.PBL.lab.core.dto.ExecutionResult;
+import com.PBL.lab.core.enums.Status;
 import com.PBL.lab.judge0.dto.SubmissionRequest;
 import com.PBL.lab.judge0.dto.SubmissionResponse;
 import com.PBL.lab.judge0.entity.Submission;
@@ -18,8 +21,11 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +65,7 @@ public class SubmissionsController {
     private final SubmissionExecutionService submissionExecutionService;
     private final SystemConfig systemConfig;
     private final FeatureFlagsConfig featureFlagsConfig;
+    private final SyncExecutionConfig syncExecutionConfig;
     private final Base64Service base64Service;
 
     /**
@@ -139,9 +146,14 @@ public class SubmissionsController {
     /**
      * POST /submissions
      * 단일 새로운 제출 생성
+     *
+     * wait=true 동기 실행은 요청 스레드에서 기다리지 않고 동기 실행기에서 수행한 뒤
+     * DeferredResult로 응답합니다 (judge0.sync-execution).
+     * - 실행 대기열이 가득 차면 비동기 실행으로 전환하고 토큰을 반환
+     * - 응답 대기 시간을 넘기면 토큰을 반환하고 실행은 계속
      */
     @PostMapping("/submissions")
-    public ResponseEntity<?> create(
+    public DeferredResult<ResponseEntity<?>> create(
             @RequestHeader(value = "X-User-Id", required = false) Long userId,
             @RequestBody SubmissionRequest request,
             @RequestParam(defaultValue = "false") boolean wait,
@@ -150,19 +162,19 @@ public class SubmissionsController {
 
         // 유지보수 모드 확인
         if (systemConfig.isMaintenanceMode()) {
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body(Map.of("error", systemConfig.getMaintenanceMessage()));
+            return completed(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", systemConfig.getMaintenanceMessage())));
         }
 
         // wait 파라미터 허용 여부 확인
         if (wait && !featureFlagsConfig.isEnableWaitResult()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "wait not allowed"));
+            return completed(ResponseEntity.badRequest().body(Map.of("error", "wait not allowed")));
         }
 
         // 대기열 크기 확인
         if (submissionService.countSubmissionsInQueue() >= systemConfig.getMaxQueueSize()) {
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body(Map.of("error", "queue is full"));
+            return completed(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "queue is full")));
         }
 
         try {
@@ -177,33 +189,78 @@ public class SubmissionsController {
             Submission submission = submissionService.createSubmission(request, userId);
 
             if (wait) {
-                // 동기 실행
-                try {
-                    submissionExecutionService.executeSync(submission);
-                    submission = submissionService.findByToken(submission.getToken());
-                    SubmissionResponse response = SubmissionResponse.from(submission, base64_encoded, parseFields(fields));
-                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
-                } catch (Exception e) {
-                    log.error("동기 실행 실패 - submission: {}", submission.getToken(), e);
-                    return ResponseEntity.status(HttpStatus.CREATED)
-                            .body(Map.of("token", submission.getToken(),
-                                    "error", "execution failed, check submission status"));
-                }
+                // 동기 실행 (동기 실행기에서 수행, 요청 스레드는 바로 반환)
+                return executeAndWait(submission, base64_encoded, fields);
             } else {
                 // 비동기 실행
                 submissionExecutionService.schedule(submission.getToken());
-                return ResponseEntity.status(HttpStatus.CREATED)
-                        .body(SubmissionResponse.minimal(submission.getToken()));
+                return completed(ResponseEntity.status(HttpStatus.CREATED)
+                        .body(SubmissionResponse.minimal(submission.getToken())));
             }
 
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+            return completed(ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage())));
         } catch (Exception e) {
             log.error("제출 생성 실패", e);
             log.info(e.getMessage());
-            return ResponseEntity.internalServerError().body(Map.of("error", "Internal server error"));
+            return completed(ResponseEntity.internalServerError().body(Map.of("error", "Internal server error")));
+        }
+    }
+
+    /**
+     * wait=true 제출을 동기 실행기에서 실행하고 완료 시 응답
+     */
+    private DeferredResult<ResponseEntity<?>> executeAndWait(Submission submission, boolean base64_encoded, String fields) {
+        String token = submission.getToken();
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>(syncExecutionConfig.getResponseTimeout());
+        deferred.onTimeout(() -> deferred.setResult(ResponseEntity.status(HttpStatus.CREATED)
+                .body(Map.of("token", token,
+                        "error", "execution is still running, check submission status"))));
+
+        CompletableFuture<ExecutionResult> future;
+        try {
+            future = submissionExecutionService.executeSyncAsync(submission);
+        } catch (RejectedExecutionException e) {
+            // 동기 실행 대기열 포화: 비동기 실행으로 전환
+            log.warn("동기 실행 대기열 포화 - 비동기 실행으로 전환, submission: {}", token);
+            submissionExecutionService.schedule(token);
+            deferred.setResult(ResponseEntity.status(HttpStatus.CREATED)
+                    .body(Map.of("token", token,
+                            "error", "too many waiting submissions, check submission status")));
+            return deferred;
         }
+
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("동기 실행 실패 - submission: {}", token, error);
+                deferred.setResult(ResponseEntity.status(HttpStatus.CREATED)
+                        .body(Map.of("token", token,
+                                "error", "execution failed, check submission status")));
+                return;
+            }
+            try {
+                Submission finished = submissionService.findByToken(token);
+                deferred.setResult(ResponseEntity.status(HttpStatus.CREATED)
+                        .body(SubmissionResponse.from(finished, base64_encoded, parseFields(fields))));
+            } catch (Exception e) {
+                log.error("동기 실행 결과 조회 실패 - submission: {}", token, e);
+                deferred.setResult(ResponseEntity.status(HttpStatus.CREATED)
+                        .body(Map.of("token", token,
+                                "error", "execution failed, check submission status")));
+            }
+        });
+        return deferred;
     }
+
+    /**
+     * 즉시 완료된 비동기 응답 생성
+     */
+    private DeferredResult<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+        DeferredResult<ResponseEntity<?>> deferred = new DeferredResult<>();
+        deferred.setResult(response);
+        return deferred;
+    }
+
     /**
      * DELETE /submissions/{token}
      * 제출 삭제
@@ -248,122 +305,185 @@ public class SubmissionsController {
     /**
      * POST /submissions/batch
      * 다중 제출 일괄 생성
-     * 다중 제출 필요성 필요없다고 생각되어서 주석처리 다양한언어를 일괄처리시 사용
+     *
+     * 요청 본문: {"submissions": [SubmissionRequest, ...]}
+     * - 유효한 제출은 saveAll 1회로 저장하고 JobRunr에 한 번에 등록
+     * - 등록에 실패하면 저장된 제출은 BOXERR로 종결 (GET /submissions/{token}에서 확인 가능)
+     * - 응답은 요청 순서대로 {"token": ...} 또는 {"error": ...}
      */
-//    @PostMapping("/submissions/batch")
-//    public ResponseEntity<?> batchCreate(@RequestBody Map<String, List<SubmissionRequest>> requestBody) {
-//
-//        // 배치 제출 기능 활성화 여부 확인
-//        if (!configService.isBatchedSubmissionsEnabled()) {
-//            return ResponseEntity.badRequest().body(Map.of("error", "batched submissions are not allowed"));
-//        }
-//
-//        List<SubmissionRequest> submissions = requestBody.get("submissions");
-//        if (submissions == null) {
-//            submissions = new ArrayList<>();
-//        }
-//
-//        int numberOfSubmissions = submissions.size();
-//
-//        // 배치 크기 제한 확인
-//        if (numberOfSubmissions > configService.getMaxSubmissionBatchSize()) {
-//            return ResponseEntity.badRequest().body(Map.of(
-//                    "error", "number of submissions in a batch should be less than or equal to " +
-//                            configService.getMaxSubmissionBatchSize()
-//            ));
-//        }
-//
-//        if (numberOfSubmissions == 0) {
-//            return ResponseEntity.badRequest().body(Map.of(
-//                    "error", "there should be at least one submission in a batch"
-//            ));
-//        }
-//
-//        // 전체 대기열 크기 확인
-//        if (submissionService.countSubmissionsInQueue() + numberOfSubmissions > configService.getMaxQueueSize()) {
-//            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-//                    .body(Map.of("error", "queue is full"));
-//        }
-//
-//        List<Object> response = new ArrayList<>();
-//        boolean hasValidSubmission = false;
-//
-//        for (SubmissionRequest request : submissions) {
-//            try {
-//                Submission submission = submissionService.createSubmission(request);
-//                executionService.executeAsync(submission);
-//                response.add(Map.of("token", submission.getToken()));
-//                hasValidSubmission = true;
-//            } catch (Exception e) {
-//                response.add(Map.of("error", e.getMessage()));
-//            }
-//        }
-//
-//        HttpStatus status = hasValidSubmission ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY;
-//        return ResponseEntity.status(status).body(response);
-//    }
+    @PostMapping("/submissions/batch")
+    public ResponseEntity<?> batchCreate(
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @RequestBody Map<String, List<SubmissionRequest>> requestBody,
+            @RequestParam(defaultValue = "false") boolean base64_encoded) {
+
+        // 배치 제출 기능 활성화 여부 확인
+        if (!featureFlagsConfig.isEnableBatchedSubmissions()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "batched submissions are not allowed"));
+        }
+
+        // 유지보수 모드 확인
+        if (systemConfig.isMaintenanceMode()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", systemConfig.getMaintenanceMessage()));
+        }
+
+        List<SubmissionRequest> requests = requestBody.get("submissions");
+        if (requests == null) {
+            requests = new ArrayList<>();
+        }
+
+        ResponseEntity<?> sizeError = validateBatchSize(requests.size());
+        if (sizeError != null) {
+            return sizeError;
+        }
+
+        // 전체 대기열 크기 확인
+        if (submissionService.countSubmissionsInQueue() + requests.size() > systemConfig.getMaxQueueSize()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "queue is full"));
+        }
+
+        try {
+            // Base64 디코딩 처리 (요청 시)
+            if (base64_encoded) {
+                for (SubmissionRequest request : requests) {
+                    request.setSourceCode(base64Service.decode(request.getSourceCode()));
+                    request.setStdin(base64Service.decode(request.getStdin()));
+                    request.setExpectedOutput(base64Service.decode(request.getExpectedOutput()));
+                }
+            }
+
+            // 제출 일괄 생성 (saveAll 1회)
+            List<SubmissionService.BatchEntry> entries = submissionService.createSubmissions(requests, userId);
+
+            // 비동기 실행 일괄 등록 (JobRunr 1회)
+            List<String> tokens = entries.stream()
+                    .filter(entry -> entry.submission() != null)
+                    .map(entry -> entry.submission().getToken())
+                    .collect(Collectors.toList());
+            if (!submissionExecutionService.scheduleAll(tokens)) {
+                // 실행되지 않을 제출이 QUEUE로 남아 대기열 크기를 차지하지 않도록 시스템 오류로 종결
+                log.error("배치 제출 스케줄링 실패 - BOXERR로 종결, tokens: {}", tokens);
+                for (String token : tokens) {
+                    try {
+                        submissionService.updateResult(token, ExecutionResult.builder()
+                                .status(Status.BOXERR)
+                                .message("작업 스케줄링 실패")
+                                .build());
+                    } catch (Exception e) {
+                        log.error("스케줄링 실패 제출 상태 갱신 실패 - token: {}", token, e);
+                    }
+                }
+            }
+
+            List<Object> response = new ArrayList<>();
+            for (SubmissionService.BatchEntry entry : entries) {
+                response.add(entry.submission() != null
+                        ? SubmissionResponse.minimal(entry.submission().getToken())
+                        : Map.of("error", entry.error()));
+            }
+
+            HttpStatus status = tokens.isEmpty() ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CREATED;
+            return ResponseEntity.status(status).body(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("배치 제출 생성 실패", e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Internal server error"));
+        }
+    }
 
     /**
      * GET /submissions/batch
-     * 다중 제출 일괄 조회
+     * 다중 제출 일괄 조회 (쿼리 1회)
+     *
+     * - tokens: 쉼표로 구분한 토큰 목록 (쿼리 파라미터 또는 헤더)
+     * - 응답은 토큰 순서대로이며, 없거나 접근 권한이 없는 제출은 null
+     */
+    @GetMapping("/submissions/batch")
+    public ResponseEntity<?> batchShow(
+            @RequestHeader(value = "X-User-Id", required = false) Long userId,
+            @RequestParam(required = false) String tokens,
+            @RequestHeader(value = "tokens", required = false) String headerTokens,
+            @RequestParam(defaultValue = "false") boolean base64_encoded,
+            @RequestParam(required = false) String fields) {
+
+        // 배치 조회 기능 활성화 여부 확인
+        if (!featureFlagsConfig.isEnableBatchedSubmissions()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "batched submissions are not allowed"));
+        }
+
+        String tokenStr = tokens != null ? tokens : headerTokens;
+        if (tokenStr == null) {
+            tokenStr = "";
+        }
+
+        List<String> tokenList = Arrays.stream(tokenStr.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+
+        ResponseEntity<?> sizeError = validateBatchSize(tokenList.size());
+        if (sizeError != null) {
+            return sizeError;
+        }
+
+        try {
+            Map<String, Submission> submissionMap = submissionService.findByTokens(tokenList);
+
+            List<Object> submissions = new ArrayList<>();
+            for (String token : tokenList) {
+                Submission submission = submissionMap.get(token);
+                if (submission == null || !canAccess(submission, userId)) {
+                    submissions.add(null);
+                } else {
+                    submissions.add(SubmissionResponse.from(submission, base64_encoded, parseFields(fields)));
+                }
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("submissions", submissions);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "some attributes for one or more submissions cannot be converted to UTF-8, use base64_encoded=true query parameter"
+            ));
+        }
+    }
+
+    /**
+     * 배치 크기 검증 (1개 이상, max-submission-batch-size 이하)
+     *
+     * @return 검증 실패 시 오류 응답, 통과 시 null
      */
-//    @GetMapping("/submissions/batch")
-//    public ResponseEntity<?> batchShow(
-//            @RequestParam(required = false) String tokens,
-//            @RequestHeader(value = "tokens", required = false) String headerTokens,
-//            @RequestParam(defaultValue = "false") boolean base64_encoded,
-//            @RequestParam(required = false) String fields) {
-//
-//        // 배치 조회 기능 활성화 여부 확인
-//        if (!configService.isBatchedSubmissionsEnabled()) {
-//            return ResponseEntity.badRequest().body(Map.of("error", "batched submissions are not allowed"));
-//        }
-//
-//        String tokenStr = tokens != null ? tokens : headerTokens;
-//        if (tokenStr == null) {
-//            tokenStr = "";
-//        }
-//
-//        List<String> tokenList = Arrays.stream(tokenStr.split(","))
-//                .map(String::trim)
-//                .filter(s -> !s.isEmpty())
-//                .collect(Collectors.toList());
-//
-//        // 배치 크기 제한 확인
-//        if (tokenList.size() > configService.getMaxSubmissionBatchSize()) {
-//            return ResponseEntity.badRequest().body(Map.of(
-//                    "error", "number of submissions in a batch should be less than or equal to " +
-//                            configService.getMaxSubmissionBatchSize()
-//            ));
-//        }
-//
-//        if (tokenList.isEmpty()) {
-//            return ResponseEntity.badRequest().body(Map.of(
-//                    "error", "there should be at least one submission in a batch"
-//            ));
-//        }
-//
-//        try {
-//            Map<String, Submission> submissionMap = submissionService.findByTokens(tokenList);
-//
-//            List<Object> submissions = new ArrayList<>();
-//            for (String token : tokenList) {
-//                if (submissionMap.containsKey(token)) {
-//                    Submission submission = submissionMap.get(token);
-//                    submissions.add(SubmissionResponse.from(submission, base64_encoded, parseFields(fields)));
-//                } else {
-//                    submissions.add(null);
-//                }
-//            }
-//
-//            return ResponseEntity.ok(Map.of("submissions", submissions));
-//        } catch (Exception e) {
-//            return ResponseEntity.badRequest().body(Map.of(
-//                    "error", "some attributes for one or more submissions cannot be converted to UTF-8, use base64_encoded=true query parameter"
-//            ));
-//        }
-//    }
+    private ResponseEntity<?> validateBatchSize(int size) {
+        if (size > systemConfig.getMaxSubmissionBatchSize()) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "number of submissions in a batch should be less than or equal to " +
+                            systemConfig.getMaxSubmissionBatchSize()
+            ));
+        }
+        if (size == 0) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "there should be at least one submission in a batch"
+            ));
+        }
+        return null;
+    }
 
+    /**
+     * 배치 조회용 접근 권한 확인 (권한이 없으면 해당 항목을 null로 응답)
+     */
+    private boolean canAccess(Submission submission, Long userId) {
+        try {
+            submissionService.validateAccess(submission, userId);
+            return true;
+        } catch (com.PBL.lab.core.exception.AccessDeniedException e) {
+            return false;
+        }
+    }
 
     /**
      * fields 파라미터 파싱
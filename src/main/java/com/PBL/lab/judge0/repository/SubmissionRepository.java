@@ -82,9 +82,13 @@ public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     Page<Submission> findByLanguageId(@Param("languageId") Integer languageId, Pageable pageable);
 
     /**
-     * Find submissions by multiple tokens
+     * Find submissions by multiple tokens (single query with related entities for batch responses)
      */
-    @Query("SELECT s FROM Submission s WHERE s.token IN :tokens")
+    @Query("SELECT s FROM Submission s " +
+           "LEFT JOIN FETCH s.constraints " +
+           "LEFT JOIN FETCH s.inputOutput " +
+           "LEFT JOIN FETCH s.language " +
+           "WHERE s.token IN :tokens")
     List<Submission> findByTokenIn(@Param("tokens") List<String> tokens);
 
     /**
@@ -1,17 +1,30 @@
 package com.PBL.lab.judge0.service;
 
+import com.PBL.lab.core.config.SyncExecutionConfig;
 import com.PBL.lab.core.dto.CodeExecutionRequest;
 import com.PBL.lab.core.service.BaseJobScheduler;
 import com.PBL.lab.core.service.DockerExecutionService;
+import com.PBL.lab.core.service.JobLaneManager;
 import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lab.judge0.entity.Submission;
 import com.PBL.lab.core.enums.Status;
 import com.PBL.lab.judge0.job.SubmissionJob;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.jobrunr.scheduling.JobScheduler;
+import org.jobrunr.storage.StorageProvider;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Execution Service - 코드 실행 오케스트레이션 서비스
@@ -28,6 +41,7 @@ import java.util.concurrent.CompletableFuture;
  * 핵심 기능:
  * - executeAsync(): 비동기 코드 실행 (대기열에 작업 예약하여 백그라운드 처리)
  * - executeSync(): 동기 코드 실행 (즉시 결과 반환, wait=true일 때 사용)
+ * - executeSyncAsync(): 동기 실행을 전용 실행기에서 수행 (요청 스레드를 점유하지 않음)
  * - validateSubmission(): 제출 내용 사전 유효성 검증 (언어, 소스코드, 파일 등)
  * - CodeExecutionRequest: 실행 요청 데이터 구조체 (Docker 실행에 필요한 모든 정보)
  * - SecurityConstraints: 보안 제약 설정 (시간/메모리/프로세스/네트워크 제한)
@@ -60,19 +74,87 @@ public class SubmissionExecutionService extends BaseJobScheduler {
     private final SubmissionService submissionService;
     private final JobScheduler jobScheduler;  // JobRunr의 작업 스케줄러 (작업 등록/관리)
     private final SubmissionJob executionJob;  // 실제 코드 실행을 담당하는 작업 클래스
+    private final SyncExecutionConfig syncExecutionConfig;  // wait=true 동기 실행 설정
 
-    public SubmissionExecutionService(DockerExecutionService dockerExecutionService, SubmissionService submissionService, JobScheduler jobScheduler, SubmissionJob executionJob) {
-        super(jobScheduler);
+    private ThreadPoolExecutor syncExecutor;  // 동기 실행 전용 실행기 (요청 스레드 대신 실행)
+
+    public SubmissionExecutionService(DockerExecutionService dockerExecutionService, SubmissionService submissionService, JobScheduler jobScheduler, SubmissionJob executionJob, SyncExecutionConfig syncExecutionConfig, JobLaneManager jobLaneManager, StorageProvider storageProvider, MeterRegistry meterRegistry) {
+        super(jobScheduler, storageProvider, meterRegistry, jobLaneManager, "submissions");
         this.dockerExecutionService = dockerExecutionService;
         this.submissionService = submissionService;
         this.jobScheduler = jobScheduler;
         this.executionJob = executionJob;
+        this.syncExecutionConfig = syncExecutionConfig;
+        jobLaneManager.registerQueueDepth("submissions", submissionService::countSubmissionsInQueue);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int maxConcurrent = Math.max(1, syncExecutionConfig.getMaxConcurrent());
+        syncExecutor = new ThreadPoolExecutor(
+                maxConcurrent, maxConcurrent,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, syncExecutionConfig.getMaxWaiting())),
+                r -> {
+                    Thread t = new Thread(r, "sync-execution-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        syncExecutor.allowCoreThreadTimeOut(true);
+        log.info("동기 실행기 초기화 - 동시 실행: {}, 대기열: {}", maxConcurrent, syncExecutionConfig.getMaxWaiting());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
     }
+
     @Override
     public void executeJob(String token) {
         executionJob.executeSubmission(token);
     }
+
+    @Override
+    public long countInQueue() {
+        return submissionService.countSubmissionsInQueue();
+    }
+
+    @Override
+    public String getProviderName() {
+        return "submission";
+    }
     
+    /**
+     * 동기 코드 실행을 전용 실행기에서 수행하는 메서드 (wait=true 요청용)
+     *
+     * 요청 스레드는 실행을 기다리지 않고 바로 반환되며, 컨트롤러는 반환된 Future가 완료될 때
+     * 비동기 응답(DeferredResult)을 채웁니다. 실행 내용은 executeSync()와 동일합니다.
+     *
+     * @param submission 실행할 코드 제출 정보
+     * @return 실행 결과 Future
+     * @throws RejectedExecutionException 동기 실행 대기열(judge0.sync-execution.max-waiting)이 가득 찬 경우
+     */
+    public CompletableFuture<ExecutionResult> executeSyncAsync(Submission submission) {
+        return CompletableFuture.supplyAsync(() -> executeSync(submission), syncExecutor);
+    }
+
+    /**
+     * 동기 실행기 상태 조회 - Health 모니터링용
+     */
+    public Map<String, Object> getSyncExecutionStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", syncExecutor.getActiveCount());
+        stats.put("waiting", syncExecutor.getQueue().size());
+        stats.put("max_concurrent", syncExecutor.getMaximumPoolSize());
+        stats.put("max_waiting", syncExecutionConfig.getMaxWaiting());
+        stats.put("completed", syncExecutor.getCompletedTaskCount());
+        return stats;
+    }
+
     /**
      * 동기 코드 실행 메서드
      *
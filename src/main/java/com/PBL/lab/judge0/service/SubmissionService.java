@@ -7,6 +7,7 @@ import com.PBL.lab.core.exception.AccessDeniedException;
 import com.PBL.lab.core.service.Base64Service;
 import com.PBL.lab.core.dto.ExecutionResult;
 import com.PBL.lab.core.service.LanguageService;
+import com.PBL.lab.core.service.QueueDepthCounter;
 import com.PBL.lab.judge0.dto.SubmissionRequest;
 import com.PBL.lab.core.entity.Language;
 import com.PBL.lab.judge0.entity.Submission;
@@ -16,6 +17,7 @@ import com.PBL.lab.core.repository.ConstraintsRepository;
 import com.PBL.lab.core.entity.Constraints;
 import com.PBL.user.User;
 import com.PBL.user.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -37,6 +39,7 @@ import java.util.*;
  *
  * 핵심 기능:
  * - createSubmission(): 새로운 제출 생성 및 유효성 검증
+ * - createSubmissions(): 배치 제출 생성 (요청별 검증 후 saveAll 1회)
  * - findByToken(): 토큰으로 제출 조회 (캐시 적용)
  * - updateStatus()/updateResult(): 실행 상태/결과 업데이트 및 타임스탬프 관리
  * - findAll(): 페이지네이션/정렬 기반 제출 목록 조회
@@ -57,6 +60,7 @@ import java.util.*;
  * - @Cacheable 로 자주 조회되는 단건 제출 캐시
  * - @Transactional 로 일관된 트랜잭션 경계 설정
  * - 큐 상태 조회/집계, 상태별 카운트 통계 제공
+ * - 대기열 크기는 QueueDepthCounter로 관리 (QUEUE 진입/이탈 시 증감, 주기적으로 DB와 재조정)
  *
  * 트랜잭션/캐시 주의:
  * - 읽기 전용 메서드는 readOnly=true 로 지정 (스냅샷/플러시 최소화)
@@ -77,6 +81,14 @@ public class SubmissionService {
     private final SystemConfig systemConfig;
     private final com.PBL.lab.core.repository.ExecutionInputOutputRepository executionInputOutputRepository;
     private final UserRepository userRepository;
+    private final QueueDepthCounter queueDepthCounter;
+
+    static final String QUEUE_NAME = "submission";
+
+    @PostConstruct
+    public void registerQueueCounter() {
+        queueDepthCounter.register(QUEUE_NAME, submissionRepository::countSubmissionsInQueue);
+    }
 
     /**
      * 새로운 제출을 생성합니다.
@@ -97,6 +109,80 @@ public class SubmissionService {
     public Submission createSubmission(SubmissionRequest request, Long userId) {
         log.debug("Creating submission for language ID: {}, userId: {}", request.getLanguageId(), userId);
 
+        User user = findUser(userId);
+        Submission submission = buildSubmission(request, user);
+
+        // 10) 영속화
+        submission = submissionRepository.save(submission);
+        queueDepthCounter.increment(QUEUE_NAME, 1);
+        log.debug("Created a new submission : {}", submission.getConstraints() );
+        log.info("Created submission with token: {}", submission.getToken());
+
+        return submission;
+    }
+
+    /**
+     * 여러 제출을 한 번에 생성합니다 (배치 제출).
+     *
+     * 처리 방식:
+     * - 사용자 조회는 배치당 1회
+     * - 요청마다 createSubmission()과 동일한 검증을 수행하고, 실패한 요청은 오류 메시지로 기록
+     * - 검증을 통과한 제출은 saveAll() 1회로 저장
+     *
+     * @param requests 제출 생성 요청 목록
+     * @param userId 제출 사용자 ID (nullable)
+     * @return 요청 순서대로의 생성 결과 (제출 또는 오류 메시지)
+     * @throws IllegalArgumentException 사용자 미존재 시
+     */
+    @Transactional
+    public List<BatchEntry> createSubmissions(List<SubmissionRequest> requests, Long userId) {
+        log.debug("Creating {} submissions in batch, userId: {}", requests.size(), userId);
+
+        User user = findUser(userId);
+        List<BatchEntry> entries = new ArrayList<>(requests.size());
+        List<Submission> valid = new ArrayList<>();
+        for (SubmissionRequest request : requests) {
+            try {
+                Submission submission = buildSubmission(request, user);
+                valid.add(submission);
+                entries.add(new BatchEntry(submission, null));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                entries.add(new BatchEntry(null, e.getMessage()));
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            submissionRepository.saveAll(valid);
+            queueDepthCounter.increment(QUEUE_NAME, valid.size());
+        }
+        log.info("Created {} of {} submissions in batch", valid.size(), requests.size());
+
+        return entries;
+    }
+
+    /**
+     * 배치 제출 생성 결과 (submission, error 중 하나만 값을 가짐)
+     */
+    public record BatchEntry(Submission submission, String error) {
+    }
+
+    private User findUser(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User with id " + userId + " doesn't exist"));
+    }
+
+    /**
+     * 요청을 검증하고 저장 전 Submission 엔터티를 구성합니다.
+     *
+     * @param request 제출 생성 요청 DTO
+     * @param user 제출 사용자 (nullable)
+     * @return 영속화되지 않은 Submission 엔터티
+     * @throws IllegalArgumentException 잘못된 언어 ID, 상호배타성 위반, 제약 위반 시
+     */
+    private Submission buildSubmission(SubmissionRequest request, User user) {
         // 1) 언어 검증: 존재 여부 + 아카이브(사용 불가) 여부
         Language language = languageService.findById(request.getLanguageId());
         if (language == null) {
@@ -113,9 +199,7 @@ public class SubmissionService {
         submission.setLanguage(language);
 
         // 3) User 설정 (userId가 제공된 경우)
-        if (userId != null) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("User with id " + userId + " doesn't exist"));
+        if (user != null) {
             submission.setUser(user);
         }
 
@@ -155,11 +239,6 @@ public class SubmissionService {
         
         // queuedAt 설정 (이미 @PrePersist에서 자동 설정됨)
 
-        // 10) 영속화
-        submission = submissionRepository.save(submission);
-        log.debug("Created a new submission : {}", submission.getConstraints() );
-        log.info("Created submission with token: {}", submission.getToken());
-
         return submission;
     }
 
@@ -222,6 +301,9 @@ public class SubmissionService {
      */
     public void updateStatus(String token, Status status) {
         Submission submission = findByToken(token);
+        if (submission.getStatus() == Status.QUEUE && status != Status.QUEUE) {
+            queueDepthCounter.decrement(QUEUE_NAME);
+        }
         submission.setStatus(status);
         if (status.isTerminal()) {
             // 종결 상태로 전환 시 완료 시각 기록
@@ -263,6 +345,9 @@ public class SubmissionService {
         submission.setFinishedAt(LocalDateTime.now());
 
         // 상태 설정
+        if (submission.getStatus() == Status.QUEUE && result.getStatus() != Status.QUEUE) {
+            queueDepthCounter.decrement(QUEUE_NAME);
+        }
         submission.setStatus(result.getStatus());
 
         submissionRepository.save(submission);
@@ -306,11 +391,21 @@ public class SubmissionService {
 
     /**
      * 큐에 대기 중인 제출 개수를 반환합니다.
+     * - DB를 조회하지 않고 QueueDepthCounter 값을 반환 (재조정 주기만큼의 오차 가능)
      *
      * @return QUEUE 상태 개수
      */
-    @Transactional(readOnly = true)
     public long countSubmissionsInQueue() {
+        return queueDepthCounter.get(QUEUE_NAME);
+    }
+
+    /**
+     * 큐에 대기 중인 제출 개수를 DB에서 직접 조회합니다 (DB 상태 점검용).
+     *
+     * @return QUEUE 상태 개수
+     */
+    @Transactional(readOnly = true)
+    public long countSubmissionsInQueueFromDatabase() {
         return submissionRepository.countSubmissionsInQueue();
     }
 
@@ -1,5 +1,6 @@
 package com.PBL.recommendation.job;
 
+import com.PBL.lab.core.service.JobLaneManager;
 import com.PBL.recommendation.service.RecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,7 +9,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 추천 결과 워밍업 백그라운드 작업
@@ -31,22 +31,22 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RecommendationWarmupJob {
 
     private final RecommendationService recommendationService;
+    private final JobLaneManager jobLaneManager; // 동시 실행 제한 (warmup 레인, judge0.job-lanes)
     
     // 동시 실행 작업 추적 (리소스 제한)
     private static final ConcurrentHashMap<Long, Boolean> activeWarmups = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Long, Long> warmupTimestamps = new ConcurrentHashMap<>();
     
     // 리소스 제한 설정
-    private static final int MAX_CONCURRENT_JOBS = 3; // 동시 실행 작업 수 제한 (시스템 부하 방지)
+    private static final String LANE = "warmup"; // 동시 실행 작업 수는 warmup 레인 설정으로 제한
     private static final long MIN_WARMUP_INTERVAL_MS = 5 * 60 * 1000; // 5분간 중복 워밍업 방지
-    private static final AtomicInteger jobCount = new AtomicInteger(0);
 
     /**
      * 사용자 추천 결과 워밍업
      * 통합 추천, 커리큘럼 추천, 강의 추천을 각각 첫 페이지로 미리 계산하여 캐시에 저장
      * 
      * 리소스 제한:
-     * - 동시에 최대 3개의 워밍업 작업만 실행 (시스템 부하 방지)
+     * - warmup 레인 한도만큼만 동시 실행하고, 채점/제출 레인이 밀려 있으면 양보 (시스템 부하 방지)
      * - 5분 내 중복 워밍업 방지 (불필요한 리소스 사용 방지)
      * - 우선순위가 높은 첫 페이지만 계산 (page=0, size=12)
      * - 통합, 커리큘럼, 강의 추천 모두 미리 준비하여 로그인 시 빠른 조회 가능
@@ -65,25 +65,23 @@ public class RecommendationWarmupJob {
             return;
         }
         
-        // 동시 실행 작업 수 제한 확인
-        int currentJobs = jobCount.get();
-        if (currentJobs >= MAX_CONCURRENT_JOBS) {
-            log.warn("워밍업 작업 제한 초과 - 현재 실행 중: {}, 최대: {}, 사용자 ID: {} 재시도 대기", 
-                    currentJobs, MAX_CONCURRENT_JOBS, userId);
-            // JobRunr가 자동으로 재시도하므로 여기서는 건너뜀
-            throw new RuntimeException("워밍업 작업 큐가 가득 참. 잠시 후 재시도됩니다.");
-        }
-        
         // 중복 실행 방지
         if (activeWarmups.putIfAbsent(userId, true) != null) {
             log.debug("워밍업 이미 진행 중 - 사용자 ID: {}", userId);
             return;
         }
-        
-        jobCount.incrementAndGet();
+
+        // 동시 실행 작업 수 제한 확인 (warmup 레인)
+        JobLaneManager.Permit permit = jobLaneManager.tryEnter(LANE);
+        if (permit == null) {
+            activeWarmups.remove(userId);
+            log.warn("워밍업 작업 제한 초과 - 사용자 ID: {} 재시도 대기", userId);
+            // JobRunr가 자동으로 재시도하므로 여기서는 건너뜀
+            throw new RuntimeException("워밍업 작업 큐가 가득 참. 잠시 후 재시도됩니다.");
+        }
+
         warmupTimestamps.put(userId, currentTime);
-        log.info("추천 결과 워밍업 시작 - 사용자 ID: {}, 현재 실행 중인 작업 수: {}/{}", 
-                userId, jobCount.get(), MAX_CONCURRENT_JOBS);
+        log.info("추천 결과 워밍업 시작 - 사용자 ID: {}", userId);
         long startTime = System.currentTimeMillis();
         
         try {
@@ -125,7 +123,7 @@ public class RecommendationWarmupJob {
         } finally {
             // 작업 완료 후 정리
             activeWarmups.remove(userId);
-            jobCount.decrementAndGet();
+            permit.close();
         }
     }
     
@@ -133,7 +131,7 @@ public class RecommendationWarmupJob {
      * 워밍업 작업 큐 상태 확인 (모니터링용)
      */
     public int getActiveWarmupCount() {
-        return jobCount.get();
+        return activeWarmups.size();
     }
     
     /**
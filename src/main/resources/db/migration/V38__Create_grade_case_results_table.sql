@@ -0,0 +1,20 @@
+-- Add score summary columns to grade table
+ALTER TABLE grade
+ADD COLUMN IF NOT EXISTS passed_test_cases INTEGER,
+ADD COLUMN IF NOT EXISTS total_test_cases INTEGER,
+ADD COLUMN IF NOT EXISTS score NUMERIC(5, 2);
+
+-- Create grade_case_results table for per-test-case verdicts
+-- (compact rows only: stdout is stored as a truncated SHA-256 hash, not the full output)
+CREATE TABLE IF NOT EXISTS grade_case_results (
+    id BIGSERIAL PRIMARY KEY,
+    grade_id BIGINT NOT NULL,
+    case_index INTEGER NOT NULL,
+    status_id INTEGER NOT NULL,
+    time NUMERIC(10, 6),
+    memory INTEGER,
+    stdout_hash VARCHAR(16),
+
+    FOREIGN KEY (grade_id) REFERENCES grade(id) ON DELETE CASCADE,
+    UNIQUE (grade_id, case_index)
+);
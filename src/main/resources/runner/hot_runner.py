@@ -0,0 +1,104 @@
+# Persistent Python runner for the batch grading harness (judge0.grading.hot-mode).
+#
+# Usage: python3 hot_runner.py <script>
+#
+# Prints READY once the interpreter is warm, then serves one request per line on stdin:
+#   "<stdin file> <stdout file> <stderr file> <time limit seconds>"
+# and answers each with:
+#   "<exit code> <cpu ms> <peak rss kb>"
+#
+# Every test case runs in a freshly forked child, so module state never leaks between
+# cases while interpreter startup and common imports are paid only once.
+import os
+import sys
+import time
+import runpy
+import signal
+import traceback
+
+# Warm commonly used standard modules in the parent; children inherit them via fork.
+import bisect, collections, functools, heapq, itertools, math, re, string  # noqa: E401,F401
+
+SCRIPT = sys.argv[1]
+PROTOCOL = sys.stdout
+
+
+def run_child(stdin_path, stdout_path, stderr_path):
+    os.setpgid(0, 0)
+    signal.signal(signal.SIGPIPE, signal.SIG_DFL)
+    os.dup2(os.open(stdin_path, os.O_RDONLY), 0)
+    os.dup2(os.open(stdout_path, os.O_WRONLY | os.O_CREAT | os.O_TRUNC, 0o644), 1)
+    os.dup2(os.open(stderr_path, os.O_WRONLY | os.O_CREAT | os.O_TRUNC, 0o644), 2)
+    sys.stdin = sys.__stdin__ = open(0, "r", closefd=False)
+    sys.stdout = sys.__stdout__ = open(1, "w", closefd=False)
+    sys.stderr = sys.__stderr__ = open(2, "w", closefd=False)
+    sys.argv = [SCRIPT]
+
+    code = 0
+    try:
+        runpy.run_path(SCRIPT, run_name="__main__")
+    except SystemExit as e:
+        if e.code is None:
+            code = 0
+        elif isinstance(e.code, int):
+            code = e.code & 0xFF
+        else:
+            print(e.code, file=sys.stderr)
+            code = 1
+    except BaseException:
+        traceback.print_exc()
+        code = 1
+    try:
+        sys.stdout.flush()
+        sys.stderr.flush()
+    except BaseException:
+        pass
+    os._exit(code)
+
+
+def run_case(stdin_path, stdout_path, stderr_path, limit_seconds):
+    deadline = time.monotonic() + limit_seconds
+    pid = os.fork()
+    if pid == 0:
+        try:
+            run_child(stdin_path, stdout_path, stderr_path)
+        finally:
+            os._exit(1)
+
+    timed_out = False
+    while True:
+        waited, status, usage = os.wait4(pid, os.WNOHANG)
+        if waited == pid:
+            break
+        if time.monotonic() >= deadline:
+            timed_out = True
+            try:
+                os.killpg(pid, signal.SIGKILL)
+            except OSError:
+                os.kill(pid, signal.SIGKILL)
+            _, status, usage = os.wait4(pid, 0)
+            break
+        time.sleep(0.001)
+
+    if timed_out:
+        code = 124
+    elif os.WIFSIGNALED(status):
+        code = 128 + os.WTERMSIG(status)
+    else:
+        code = os.WEXITSTATUS(status)
+    cpu_ms = int((usage.ru_utime + usage.ru_stime) * 1000)
+    return code, cpu_ms, usage.ru_maxrss
+
+
+def main():
+    print("READY", file=PROTOCOL, flush=True)
+    for line in sys.stdin:
+        parts = line.split()
+        if len(parts) != 4:
+            continue
+        code, cpu_ms, mem_kb = run_case(parts[0], parts[1], parts[2], float(parts[3]))
+        print(code, cpu_ms, mem_kb, file=PROTOCOL, flush=True)
+
+
+if __name__ == "__main__":
+    main()